@@ -0,0 +1,36 @@
+-- sensor_data 를 시간 RANGE 파티션 테이블로 1회 변환 (sensor.partitioning.enabled=true 사용 전)
+-- - MySQL 파티션 테이블은 FK 를 가질 수 없고, 모든 UNIQUE/PK 에 파티션 컬럼이 포함돼야 합니다.
+--   → patient_id FK 제거, PK 를 (id, timestamp) 로 변경
+--   (엔티티에는 FK 가 그대로 있으므로 FK 는 파티션 모드로 바꾸는 DB 에서만 이 스크립트로 제거합니다.
+--    파티션 모드에서는 spring.jpa.hibernate.ddl-auto 를 validate/none 으로 두세요.
+--    update 로 두면 기동할 때마다 FK 를 다시 추가하려다 실패 경고가 남습니다.)
+-- - 처음에는 pmax 하나로 만들고, 이후 파티션은 애플리케이션(SensorPartitionManager)이
+--   pmax 를 나눠 미리 생성하고 보관 기간이 지난 파티션은 DROP 합니다.
+-- - 기존 행이 많으면 ALTER 에 시간이 걸리므로 점검 시간에 실행하세요.
+USE smart_pad_db;
+
+-- 1) patient_id FK 제거 (Hibernate 가 만든 이름은 환경마다 다르므로 조회해서 삭제)
+SET @fk := (SELECT CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS
+            WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'sensor_data'
+              AND REFERENCED_TABLE_NAME = 'patient_detail' LIMIT 1);
+SET @sql := IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE `sensor_data` DROP FOREIGN KEY `', @fk, '`'));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2) PK 에 파티션 컬럼 포함
+ALTER TABLE `sensor_data` MODIFY `timestamp` DATETIME(6) NOT NULL;
+ALTER TABLE `sensor_data` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `timestamp`);
+
+-- 3) (patient_id, timestamp) 복합 인덱스 (이미 있으면 생략)
+-- CREATE INDEX `idx_sensor_data_patient_ts` ON `sensor_data` (`patient_id`, `timestamp`);
+
+-- 4) 파티션 테이블로 변환 (기존 행은 모두 pmax 에 들어가고, 첫 REORGANIZE 때 시간 파티션으로 나뉨)
+ALTER TABLE `sensor_data`
+    PARTITION BY RANGE COLUMNS (`timestamp`) (
+        PARTITION `pmax` VALUES LESS THAN (MAXVALUE)
+    );
+
+SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS
+FROM information_schema.PARTITIONS
+WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'sensor_data';
@@ -0,0 +1,14 @@
+-- sensor_data 의 ID 전략을 IDENTITY → SEQUENCE(풀링)로 바꾸면서 필요한 시퀀스 테이블
+-- (MySQL은 시퀀스가 없어 Hibernate가 테이블로 에뮬레이션합니다.)
+-- 기존 AUTO_INCREMENT 값과 겹치지 않도록 현재 최대 ID 다음 값으로 시작합니다.
+USE smart_pad_db;
+
+CREATE TABLE IF NOT EXISTS `sensor_data_seq` (
+    `next_val` BIGINT NULL
+);
+
+DELETE FROM `sensor_data_seq`;
+INSERT INTO `sensor_data_seq` (`next_val`)
+SELECT COALESCE(MAX(`id`), 0) + 1 FROM `sensor_data`;
+
+SELECT * FROM `sensor_data_seq`;
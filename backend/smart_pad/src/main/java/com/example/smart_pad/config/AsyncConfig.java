@@ -0,0 +1,26 @@
+package com.example.smart_pad.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 비동기 응답 완료용 실행기
+ * - long-poll 응답은 새 측정값 커밋(수집 writer 스레드)에서 깨어나므로, 응답 생성은 이 풀에서 수행
+ *   (SensorReadingListener 는 빠르게 반환해야 함)
+ */
+@Configuration
+public class AsyncConfig {
+
+    public static final String LONG_POLL_EXECUTOR = "longPollExecutor";
+
+    @Bean(name = LONG_POLL_EXECUTOR)
+    public ThreadPoolTaskExecutor longPollExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("long-poll-");
+        return executor;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.smart_pad.config;
+
+import java.security.Principal;
+
+/**
+ * JWT 클레임으로 만든 인증 주체 (DB 조회 없이 생성)
+ * - patientId 는 토큰에 담긴 경우에만 채워짐 (이전 토큰/환자 상세 미등록이면 null → PatientIdCache 로 해석)
+ * - getName() = username 이므로 Authentication.getName() 동작은 기존과 동일
+ */
+public record AuthenticatedUser(Long userId,
+                                String username,
+                                String role,
+                                Long patientId) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.smart_pad.config;
+
+import com.example.smart_pad.controller.DeviceIngestController;
+import com.example.smart_pad.service.DeviceRegistry;
+import com.example.smart_pad.service.DeviceRegistry.DeviceBinding;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * STOMP CONNECT 시 장치 키 인증 (장치당 연결 1회)
+ * - CONNECT 헤더의 X-Device-Key 를 DeviceRegistry 로 확인하고 세션 속성에 보관
+ * - 이후 /app/ingest 메시지는 세션 속성만 읽음 (메시지마다 인증/필터 체인 없음)
+ * - 키가 없는 CONNECT(앱 구독용)는 StompAuthInterceptor 가 JWT 로 인증, 잘못된 키는 연결 거부
+ */
+@Component
+@RequiredArgsConstructor
+public class DeviceStompInterceptor implements ChannelInterceptor {
+
+    public static final String DEVICE_BINDING_ATTR = "deviceBinding";
+
+    private final DeviceRegistry deviceRegistry;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) return message;
+
+        String deviceKey = accessor.getFirstNativeHeader(DeviceIngestController.DEVICE_KEY_HEADER);
+        if (deviceKey == null) return message;
+
+        DeviceBinding binding = deviceRegistry.authenticate(deviceKey);
+        if (binding == null) {
+            throw new MessagingException(message, "등록되지 않은 장치 키입니다.");
+        }
+        Map<String, Object> attrs = accessor.getSessionAttributes();
+        if (attrs != null) attrs.put(DEVICE_BINDING_ATTR, binding);
+        return message;
+    }
+}
@@ -22,11 +22,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider jwtTokenProvider;
 
     private static final AntPathMatcher PM = new AntPathMatcher();
+    private static final WebAuthenticationDetailsSource DETAILS_SOURCE = new WebAuthenticationDetailsSource();
 
     /**
      * 필터를 스킵할 공개 경로
      * - 로그인/회원가입 API
      * - WebSocket 핸드셰이크
+     * - 장치 전용 수집 채널 (X-Device-Key 로 자체 인증)
      * - 정적/에러/헬스체크
      *
      * ※ "센서 데이터 API"는 여기 넣지 말 것!
@@ -34,6 +36,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String[] OPEN = new String[] {
             "/api/auth/**",
             "/ws/**",
+            "/api/ingest/**",
             "/actuator/health",
             "/error",
             "/favicon.ico",
@@ -54,6 +57,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return false;
     }
 
+    /**
+     * 비동기 재디스패치(스트리밍 응답 완료 등)도 토큰으로 다시 인증 → 인가 규칙이 그대로 적용됨
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -64,12 +75,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 이미 컨텍스트에 인증이 있다면 재설정 불필요
             if (SecurityContextHolder.getContext().getAuthentication() == null) {
                 final String token = resolveToken(request);
-                if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-                    final var principal   = jwtTokenProvider.getUserDetails(token);
-                    final var authorities = jwtTokenProvider.getAuthorities(token);
+                // 검증/파싱은 한 번만 (반복 토큰은 캐시에서 바로 반환)
+                final VerifiedToken verified = StringUtils.hasText(token) ? jwtTokenProvider.verify(token) : null;
+                if (verified != null) {
+                    // 클레임 기반 주체 (userId/role/patientId 포함 → 이후 사용자/환자 조회 불필요)
+                    final var principal = verified.toPrincipal();
 
-                    final var auth = new UsernamePasswordAuthenticationToken(principal, null, authorities);
-                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    final var auth = new UsernamePasswordAuthenticationToken(principal, null, verified.authorities());
+                    auth.setDetails(DETAILS_SOURCE.buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(auth);
                 }
             }
@@ -1,6 +1,7 @@
 package com.example.smart_pad.config;
 
 import com.example.smart_pad.domain.User;
+import com.example.smart_pad.repository.UserRepository;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,26 +15,44 @@ import java.security.Key;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Component
 public class JwtTokenProvider {
 
     private final Key key;
+    // 파서는 불변/스레드 안전 → 한 번만 생성해 공유
+    private final JwtParser parser;
+    private final VerifiedTokenCache cache;
+    private final UserRepository userRepository;
+    // 탈퇴 등으로 무효화된 사용자 → 무효화 시각 (그때까지 발급된 토큰은 만료 전이라도 거부)
+    // 메모리에만 있으므로 재시작 후에는 캐시 미스 때 사용자 존재 확인으로 대신함
+    private final ConcurrentMap<Long, Long> revokedUsers = new ConcurrentHashMap<>();
     // 만료시간: 24시간 (원하면 @Value 로 빼도 됨)
     private static final long TOKEN_VALIDITY_MS = 1000L * 60 * 60 * 24;
 
-    public JwtTokenProvider(@Value("${jwt.secret}") String secretKey) {
+    public JwtTokenProvider(@Value("${jwt.secret}") String secretKey,
+                            @Value("${jwt.cache.max-size:10000}") int cacheMaxSize,
+                            UserRepository userRepository) {
         // HS256용 키 생성 (32바이트 이상 권장)
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.cache = new VerifiedTokenCache(cacheMaxSize);
+        this.userRepository = userRepository;
     }
 
-    /** 로그인 성공 시 토큰 생성 */
-    public String createToken(User user) {
+    /**
+     * 로그인 성공 시 토큰 생성
+     * - patientId(환자 상세 PK)를 함께 담아 센서 API에서 DB 조회 없이 환자를 결정
+     */
+    public String createToken(User user, Long patientId) {
         Date now = new Date();
         Claims claims = Jwts.claims().setSubject(user.getUsername());
         claims.put("userId", user.getId());             // 선택: 필요하면 사용
         claims.put("name", user.getName());             // 선택
         claims.put("role", user.getRole().name());      // 예: PATIENT / ADMIN
+        if (patientId != null) claims.put("patientId", patientId);
 
         return Jwts.builder()
                 .setClaims(claims)
@@ -43,64 +62,115 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    /** 토큰 유효성 검증 */
-    public boolean validateToken(String token) {
+    /**
+     * 토큰을 한 번만 검증/파싱하여 불변 클레임 객체로 반환
+     * - 이미 검증한 토큰이면 캐시에서 바로 반환 (HMAC 검증 생략, exp 는 매번 확인)
+     * - 캐시 미스면 사용자가 아직 있는지 한 번 확인 (탈퇴한 사용자의 토큰은 캐시하지 않음)
+     * - 서명 불일치/만료/형식 오류/탈퇴한 사용자면 null
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null) return null;
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = cache.get(token, now);
+        if (cached != null) return isRevoked(cached) ? null : cached;
+
+        final Claims claims;
         try {
-            parser().parseClaimsJws(token); // 서명/만료/구조 검증
-            return true;
+            claims = parser.parseClaimsJws(token).getBody(); // 서명/만료/구조 검증
         } catch (ExpiredJwtException e) {
             // 만료
-            return false;
+            return null;
         } catch (JwtException | IllegalArgumentException e) {
             // 서명 불일치, 형식 오류 등
-            return false;
+            return null;
+        }
+
+        String role = (String) claims.get("role");
+        Object name = claims.get("name");
+        Date exp = claims.getExpiration();
+        Date iat = claims.getIssuedAt();
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                toLong(claims.get("userId")),
+                name != null ? name.toString() : null,
+                role,
+                toLong(claims.get("patientId")),
+                // Spring Security 규칙에 맞춰 ROLE_ 접두사 권장
+                List.of(new SimpleGrantedAuthority("ROLE_" + role)),
+                exp != null ? exp.getTime() : now + TOKEN_VALIDITY_MS,
+                iat != null ? iat.getTime() : 0L
+        );
+        if (verified.userId() != null && !userRepository.existsById(verified.userId())) {
+            return null;
         }
+        cache.put(token, verified, now);
+        return isRevoked(verified) ? null : verified;
+    }
+
+    /**
+     * 사용자의 기존 토큰 무효화 (회원 탈퇴 시)
+     * - 지금까지 발급된 토큰은 exp 전이라도 verify 가 null → 인증되지 않음
+     * - 토큰 유효 기간이 지난 기록은 다음 무효화 때 정리
+     */
+    public void revokeUser(Long userId) {
+        if (userId == null) return;
+        long now = System.currentTimeMillis();
+        revokedUsers.values().removeIf(at -> now - at > TOKEN_VALIDITY_MS);
+        revokedUsers.put(userId, now);
+    }
+
+    /** 토큰 유효성 검증 */
+    public boolean validateToken(String token) {
+        return verify(token) != null;
     }
 
     /** Username (subject) 추출 */
     public String getUsername(String token) {
-        return getAllClaims(token).getSubject();
+        return requireVerified(token).username();
     }
 
     /** 권한 목록 추출 (JWT의 role 클레임 기반) */
     public Collection<? extends GrantedAuthority> getAuthorities(String token) {
-        String role = (String) getAllClaims(token).get("role");
-        // Spring Security 규칙에 맞춰 ROLE_ 접두사 권장
-        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+        return requireVerified(token).authorities();
     }
 
     /** Spring Security에서 사용할 UserDetails 생성 */
     public UserDetails getUserDetails(String token) {
-        String username = getUsername(token);
-        Collection<? extends GrantedAuthority> authorities = getAuthorities(token);
+        VerifiedToken v = requireVerified(token);
         // 비밀번호는 토큰 검증 단계에선 필요 없음 -> 빈 문자열
-        return new org.springframework.security.core.userdetails.User(username, "", authorities);
+        return new org.springframework.security.core.userdetails.User(v.username(), "", v.authorities());
     }
 
     /** (선택) name / userId 등 추가 클레임 필요시 꺼내서 사용 */
     public Long getUserId(String token) {
-        Object v = getAllClaims(token).get("userId");
-        if (v == null) return null;
-        if (v instanceof Integer i) return i.longValue();
-        if (v instanceof Long l) return l;
-        if (v instanceof String s) {
-            try { return Long.parseLong(s); } catch (NumberFormatException ignored) {}
-        }
-        return null;
+        return requireVerified(token).userId();
     }
 
     public String getName(String token) {
-        Object v = getAllClaims(token).get("name");
-        return v != null ? v.toString() : null;
+        return requireVerified(token).name();
     }
 
     // ===== 내부 유틸 =====
 
-    private JwtParser parser() {
-        return Jwts.parserBuilder().setSigningKey(key).build();
+    private boolean isRevoked(VerifiedToken v) {
+        if (revokedUsers.isEmpty() || v.userId() == null) return false;
+        Long at = revokedUsers.get(v.userId());
+        return at != null && v.issuedAt() <= at;
     }
 
-    private Claims getAllClaims(String token) {
-        return parser().parseClaimsJws(token).getBody();
+    private VerifiedToken requireVerified(String token) {
+        VerifiedToken v = verify(token);
+        if (v == null) throw new JwtException("유효하지 않은 토큰입니다.");
+        return v;
+    }
+
+    private static Long toLong(Object v) {
+        if (v == null) return null;
+        if (v instanceof Integer i) return i.longValue();
+        if (v instanceof Long l) return l;
+        if (v instanceof String s) {
+            try { return Long.parseLong(s); } catch (NumberFormatException ignored) {}
+        }
+        return null;
     }
 }
@@ -0,0 +1,34 @@
+package com.example.smart_pad.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * @Scheduled 작업 활성화
+ * - 기본 스케줄러(taskScheduler): 스레드 풀 크기는 application.properties 의 spring.task.scheduling.pool.size
+ *   (스케줄러 빈을 직접 등록하면 Boot 기본 스케줄러가 빠지므로 같은 설정의 builder 로 직접 생성)
+ * - 병동/위험 환자 tick 은 전용 스케줄러(wardScheduler) → 보관 정리/프레임 저장처럼 오래 걸리는 작업에 밀리지 않음
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    public static final String WARD_SCHEDULER = "wardScheduler";
+
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = WARD_SCHEDULER)
+    public ThreadPoolTaskScheduler wardScheduler(@Value("${ward.scheduler.pool-size:2}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, poolSize));
+        scheduler.setThreadNamePrefix("ward-tick-");
+        return scheduler;
+    }
+}
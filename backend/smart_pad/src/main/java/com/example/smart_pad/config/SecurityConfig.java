@@ -1,5 +1,6 @@
 package com.example.smart_pad.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,6 +8,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -17,17 +19,31 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
+import java.util.Set;
 
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    // 비동기로 오래 열려 있는 응답 (long-poll, SSE)
+    private static final Set<String> LONG_LIVED_PATHS = Set.of("/api/sensor-data/latest", "/api/sensor-data/stream");
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
     public PasswordEncoder passwordEncoder() { return new BCryptPasswordEncoder(); }
 
+    /**
+     * 장치 전용 수집 채널은 보안 필터 체인 자체를 건너뜀
+     * - 인증은 DeviceIngestController 가 X-Device-Key 로 직접 처리 (메모리 인덱스 조회 1번)
+     * - 1Hz × 수백 대 요청마다 필터 체인을 타지 않도록 하기 위함
+     */
+    @Bean
+    public WebSecurityCustomizer deviceIngestSecurityCustomizer() {
+        return web -> web.ignoring().requestMatchers("/api/ingest/**");
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration c = new CorsConfiguration();
@@ -38,7 +54,8 @@ public class SecurityConfig {
                 "*" // dev only
         ));
         c.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-        c.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept", "Origin"));
+        c.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept", "Origin", "If-None-Match", "Last-Event-ID"));
+        c.setExposedHeaders(List.of("ETag", "Retry-After", "Content-Disposition"));
         c.setAllowCredentials(true);
         c.setMaxAge(3600L);
 
@@ -65,13 +82,25 @@ public class SecurityConfig {
                         // ✅ 에러 디스패치 경로는 항상 허용 (Lazy 직렬화 예외가 403로 포장되는 것 방지)
                         .requestMatchers("/error").permitAll()
 
+                        // ✅ long-poll / SSE 의 비동기 재디스패치는 최초 요청에서 이미 인가됨
+                        //    (대기 중 토큰이 만료돼도 완료 응답이 막히지 않도록, 그 외 비동기 응답은 다시 인증/인가)
+                        .requestMatchers(request -> request.getDispatcherType() == DispatcherType.ASYNC
+                                && LONG_LIVED_PATHS.contains(request.getRequestURI())).permitAll()
+
                         // Static/health
                         .requestMatchers(HttpMethod.GET, "/", "/index.html", "/favicon.ico", "/static/**").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
 
                         // Ingest(데모: 무인증)
+                        // 배치 수집은 로그인한 환자 본인만 (여러 환자 중계는 /api/ingest/** 장치 키)
                         .requestMatchers(HttpMethod.POST, "/api/sensor-data").permitAll()
 
+                        // 장치 등록/해지는 관리자만
+                        .requestMatchers("/api/devices/**").hasRole("ADMIN")
+
+                        // 병동 현황은 관리자만
+                        .requestMatchers("/api/ward/**").hasRole("ADMIN")
+
                         // ✅ 조회는 '인증만' 요구(명시)
                         .requestMatchers(HttpMethod.GET, "/api/sensor-data/**").authenticated()
 
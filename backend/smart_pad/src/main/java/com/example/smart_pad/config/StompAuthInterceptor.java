@@ -0,0 +1,163 @@
+package com.example.smart_pad.config;
+
+import com.example.smart_pad.service.AlertEngine;
+import com.example.smart_pad.service.AtRiskIndex;
+import com.example.smart_pad.service.AuthService;
+import com.example.smart_pad.service.PressureFrameService;
+import com.example.smart_pad.service.PressureRiskEngine;
+import com.example.smart_pad.service.SensorBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * STOMP 사용자 인증 + 구독 권한 확인
+ * <pre>
+ * CONNECT    Authorization: Bearer &lt;JWT&gt; 를 검증해 세션 사용자로 설정
+ *            장치 키(DeviceStompInterceptor)도 JWT 도 없으면 연결 거부
+ * SUBSCRIBE  /user/queue/**                                  인증된 세션 모두 (장치 수집 결과 회신)
+ *            /topic/ward/**, /topic/at-risk                   관리자(ADMIN)
+ *            /topic/sensordata/{id}[/delta|/5s|/30s],
+ *            /topic/risk/{id}, /topic/frames/{id},
+ *            /topic/alerts/{id}                               본인 환자 또는 관리자
+ *            그 외 목적지                                      거부
+ * </pre>
+ * - 검증은 CONNECT / SUBSCRIBE 때만 (세션 사용자는 STOMP 세션에 보관, 메시지마다 토큰 검증 없음)
+ * - 거부하면 예외 → 클라이언트에 ERROR 프레임, 구독은 등록되지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthInterceptor implements ChannelInterceptor {
+
+    private static final String BEARER = "Bearer ";
+    private static final String USER_QUEUE_PREFIX = "/user/queue/";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final AuthService authService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) return message;
+        if (accessor.getCommand() == StompCommand.CONNECT) {
+            connect(message, accessor);
+        } else if (accessor.getCommand() == StompCommand.SUBSCRIBE) {
+            subscribe(message, accessor);
+        }
+        return message;
+    }
+
+    private void connect(Message<?> message, StompHeaderAccessor accessor) {
+        String token = bearerToken(accessor.getFirstNativeHeader("Authorization"));
+        if (token == null) {
+            if (isDevice(accessor)) return;
+            throw new MessagingException(message, "인증 토큰 또는 장치 키가 필요합니다.");
+        }
+        VerifiedToken verified = jwtTokenProvider.verify(token);
+        if (verified == null) {
+            throw new MessagingException(message, "유효하지 않은 토큰입니다.");
+        }
+        accessor.setUser(new UsernamePasswordAuthenticationToken(verified.toPrincipal(), null, verified.authorities()));
+    }
+
+    private void subscribe(Message<?> message, StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (destination == null) {
+            throw new MessagingException(message, "구독 목적지가 없습니다.");
+        }
+        if (destination.startsWith(USER_QUEUE_PREFIX)) {
+            if (authentication(accessor) == null && !isDevice(accessor)) {
+                throw new MessagingException(message, "인증이 필요합니다.");
+            }
+            return;
+        }
+
+        Authentication auth = authentication(accessor);
+        if (auth == null) {
+            throw new MessagingException(message, "구독하려면 로그인이 필요합니다: " + destination);
+        }
+        if (isAdminTopic(destination)) {
+            if (!authService.isAdmin(auth)) {
+                throw new MessagingException(message, "관리자만 구독할 수 있습니다: " + destination);
+            }
+            return;
+        }
+        Long patientId = patientTopicId(destination);
+        if (patientId == null) {
+            throw new MessagingException(message, "구독할 수 없는 목적지입니다: " + destination);
+        }
+        try {
+            authService.resolveViewablePatientId(auth, patientId);
+        } catch (AccessDeniedException e) {
+            throw new MessagingException(message, e.getMessage());
+        }
+    }
+
+    static boolean isAdminTopic(String destination) {
+        return destination.startsWith(AlertEngine.WARD_TOPIC_PREFIX)
+                || destination.equals(AtRiskIndex.AT_RISK_TOPIC);
+    }
+
+    /**
+     * 환자별 토픽의 환자 PK (해당 토픽이 아니거나 PK 형식이 아니면 null)
+     */
+    static Long patientTopicId(String destination) {
+        String rest;
+        boolean subTopics = false;
+        if (destination.startsWith(SensorBroadcaster.SENSOR_TOPIC_PREFIX)) {
+            rest = destination.substring(SensorBroadcaster.SENSOR_TOPIC_PREFIX.length());
+            subTopics = true;
+        } else if (destination.startsWith(PressureRiskEngine.RISK_TOPIC_PREFIX)) {
+            rest = destination.substring(PressureRiskEngine.RISK_TOPIC_PREFIX.length());
+        } else if (destination.startsWith(PressureFrameService.FRAME_TOPIC_PREFIX)) {
+            rest = destination.substring(PressureFrameService.FRAME_TOPIC_PREFIX.length());
+        } else if (destination.startsWith(AlertEngine.ALERT_TOPIC_PREFIX)) {
+            rest = destination.substring(AlertEngine.ALERT_TOPIC_PREFIX.length());
+        } else {
+            return null;
+        }
+        int slash = rest.indexOf('/');
+        if (slash >= 0) {
+            // 센서 토픽만 하위 목적지(/delta, /5s, /30s) 허용
+            if (!subTopics || rest.indexOf('/', slash + 1) >= 0) return null;
+            rest = rest.substring(0, slash);
+        }
+        if (rest.isEmpty() || rest.length() > 18) return null;
+        for (int i = 0; i < rest.length(); i++) {
+            if (!Character.isDigit(rest.charAt(i))) return null;
+        }
+        return Long.parseLong(rest);
+    }
+
+    private static Authentication authentication(StompHeaderAccessor accessor) {
+        Principal user = accessor.getUser();
+        return (user instanceof Authentication auth && auth.isAuthenticated()) ? auth : null;
+    }
+
+    private static boolean isDevice(StompHeaderAccessor accessor) {
+        Map<String, Object> attrs = accessor.getSessionAttributes();
+        return attrs != null && attrs.get(DeviceStompInterceptor.DEVICE_BINDING_ATTR) != null;
+    }
+
+    private static String bearerToken(String header) {
+        if (!StringUtils.hasText(header)) return null;
+        header = header.trim();
+        if (header.length() <= BEARER.length() || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return null;
+        }
+        return header.substring(BEARER.length()).trim();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.smart_pad.config;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+/**
+ * 서명/만료 검증을 마친 JWT의 클레임 (불변)
+ * - 한 번 파싱한 결과를 필터/서비스에서 그대로 재사용
+ * - expiresAt / issuedAt 은 epoch millis (issuedAt 은 초 단위로 내림, 없으면 0)
+ * - patientId 는 환자 토큰에만 있음 (이전에 발급된 토큰은 null)
+ */
+public record VerifiedToken(String username,
+                            Long userId,
+                            String name,
+                            String role,
+                            Long patientId,
+                            List<GrantedAuthority> authorities,
+                            long expiresAt,
+                            long issuedAt) {
+
+    /** Security 컨텍스트에 넣을 인증 주체 */
+    public AuthenticatedUser toPrincipal() {
+        return new AuthenticatedUser(userId, username, role, patientId);
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAt;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.smart_pad.config;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 이미 검증한 토큰 → 클레임 캐시 (크기 제한 + 만료 인식)
+ * - 1초 주기 폴링처럼 같은 토큰이 반복될 때 HMAC 검증/파싱을 건너뜀
+ * - 토큰의 exp 이후에는 캐시에 있어도 사용하지 않음
+ * - 가득 차면 만료된 항목부터 지우고, 그래도 넘치면 임의 항목을 지워 상한 유지
+ */
+class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final ConcurrentMap<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    VerifiedToken get(String token, long nowMillis) {
+        VerifiedToken v = entries.get(token);
+        if (v == null) return null;
+        if (v.isExpired(nowMillis)) {
+            entries.remove(token, v);
+            return null;
+        }
+        return v;
+    }
+
+    void put(String token, VerifiedToken verified, long nowMillis) {
+        if (entries.size() >= maxSize) {
+            evict(nowMillis);
+        }
+        entries.put(token, verified);
+    }
+
+    private void evict(long nowMillis) {
+        entries.values().removeIf(v -> v.isExpired(nowMillis));
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
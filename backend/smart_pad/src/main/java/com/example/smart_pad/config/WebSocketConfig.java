@@ -1,15 +1,22 @@
 package com.example.smart_pad.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final DeviceStompInterceptor deviceStompInterceptor;
+    private final StompAuthInterceptor stompAuthInterceptor;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // 클라이언트가 서버로 메시지를 보낼 때 사용하는 prefix.
@@ -18,7 +25,27 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
         // 서버가 클라이언트에게 메시지를 보낼 때 사용하는 prefix.
         // 예를 들어, /topic/sensordata 로 메시지를 구독할 수 있습니다.
-        config.enableSimpleBroker("/topic");
+        // /queue 는 세션 단위 회신용 (예: 장치 수집 결과 /user/queue/ingest)
+        config.enableSimpleBroker("/topic", "/queue");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // 장치 연결은 CONNECT 때 한 번만 장치 키 인증, 이어서 사용자 JWT 인증 + 구독 권한 확인 (순서 유지)
+        registration.interceptors(deviceStompInterceptor, stompAuthInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // 브로커 → 세션 전송 스레드 (SensorBroadcaster 가 토픽별로 합쳐서 넘기므로 작은 풀로 충분)
+        registration.taskExecutor().corePoolSize(4).maxPoolSize(8);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // 느린 클라이언트 1명이 전송 스레드를 붙잡지 않도록 세션별 버퍼/전송 시간 제한
+        registration.setSendTimeLimit(10_000)
+                .setSendBufferSizeLimit(256 * 1024);
     }
 
     @Override
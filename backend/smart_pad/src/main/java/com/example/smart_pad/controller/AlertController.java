@@ -0,0 +1,44 @@
+package com.example.smart_pad.controller;
+
+import com.example.smart_pad.service.AlertEngine;
+import com.example.smart_pad.service.AuthService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/alerts")
+@RequiredArgsConstructor
+public class AlertController {
+
+    private final AlertEngine alertEngine;
+    private final AuthService authService;
+
+    /**
+     * (인증 필수) 현재 발생 중인 알림 (구독 시작 전에 이미 발생한 알림 확인용)
+     * - 환자는 본인 알림만, 관리자는 patientId 또는 ward 로 지정 (둘 다 없으면 전체)
+     * GET /api/alerts?patientId=3
+     * GET /api/alerts?ward=A동
+     */
+    @GetMapping
+    public ResponseEntity<?> getActiveAlerts(
+            @RequestParam(name = "patientId", required = false) Long requestedPatientId,
+            @RequestParam(name = "ward", required = false) String ward,
+            Authentication authentication
+    ) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요합니다.");
+        }
+        if (authService.isAdmin(authentication) && requestedPatientId == null) {
+            return ResponseEntity.ok(alertEngine.active(null, ward));
+        }
+
+        Long patientId = authService.resolveViewablePatientId(authentication, requestedPatientId);
+        if (patientId == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("환자 정보를 찾을 수 없습니다.");
+        }
+        return ResponseEntity.ok(alertEngine.active(patientId, null));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.smart_pad.controller;
+
+import com.example.smart_pad.controller.dto.DeviceCalibrationDto;
+import com.example.smart_pad.controller.dto.DeviceRegisterRequest;
+import com.example.smart_pad.controller.dto.DeviceResponse;
+import com.example.smart_pad.service.DeviceRegistry;
+import com.example.smart_pad.service.PressureCalibrator;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/devices")
+@RequiredArgsConstructor
+public class DeviceController {
+
+    private final DeviceRegistry deviceRegistry;
+    private final PressureCalibrator pressureCalibrator;
+
+    /**
+     * (관리자) 장치 등록 → 장치 키 발급
+     * POST /api/devices
+     * Body: { "patientId": 3, "name": "301호 2번 침대" }
+     */
+    @PostMapping
+    public ResponseEntity<?> registerDevice(@Valid @RequestBody DeviceRegisterRequest request) {
+        try {
+            DeviceResponse created = deviceRegistry.register(request.getPatientId(), request.getName());
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * (관리자) 등록된 장치 목록
+     * GET /api/devices
+     */
+    @GetMapping
+    public ResponseEntity<?> listDevices() {
+        return ResponseEntity.ok(deviceRegistry.list());
+    }
+
+    /**
+     * (관리자) 장치 해지
+     * DELETE /api/devices/{deviceId}
+     */
+    @DeleteMapping("/{deviceId}")
+    public ResponseEntity<String> revokeDevice(@PathVariable Long deviceId) {
+        try {
+            deviceRegistry.revoke(deviceId);
+            pressureCalibrator.remove(deviceId);
+            return ResponseEntity.ok("장치가 해지되었습니다.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * (관리자) 장치 보정 테이블 조회
+     * GET /api/devices/{deviceId}/calibration
+     */
+    @GetMapping("/{deviceId}/calibration")
+    public ResponseEntity<?> getCalibration(@PathVariable Long deviceId) {
+        DeviceCalibrationDto calibration = pressureCalibrator.get(deviceId);
+        if (calibration == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("보정 테이블이 없습니다.");
+        }
+        return ResponseEntity.ok(calibration);
+    }
+
+    /**
+     * (관리자) 장치 보정 테이블 등록/교체 (다음 측정값부터 mmHg 로 변환)
+     * PUT /api/devices/{deviceId}/calibration
+     * Body: { "rows": 2, "cols": 2, "offsets": [12, 10, 11, 9], "gains": [0.05, 0.05, 0.052, 0.049],
+     *         "temperatureCoefficient": 0.002, "referenceTemperature": 25 }
+     */
+    @PutMapping("/{deviceId}/calibration")
+    public ResponseEntity<?> saveCalibration(@PathVariable Long deviceId, @RequestBody DeviceCalibrationDto request) {
+        if (!deviceRegistry.exists(deviceId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("장치를 찾을 수 없습니다.");
+        }
+        try {
+            return ResponseEntity.ok(pressureCalibrator.save(deviceId, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * (관리자) 장치 보정 테이블 삭제 (다시 ADC raw 값으로 저장)
+     * DELETE /api/devices/{deviceId}/calibration
+     */
+    @DeleteMapping("/{deviceId}/calibration")
+    public ResponseEntity<String> deleteCalibration(@PathVariable Long deviceId) {
+        if (!pressureCalibrator.remove(deviceId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("보정 테이블이 없습니다.");
+        }
+        return ResponseEntity.ok("보정 테이블이 삭제되었습니다.");
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.smart_pad.controller;
+
+import com.example.smart_pad.controller.dto.SensorDataRequest;
+import com.example.smart_pad.domain.SensorReading;
+import com.example.smart_pad.service.DeviceIngestService;
+import com.example.smart_pad.service.DeviceIngestService.IngestResult;
+import com.example.smart_pad.service.DeviceRegistry;
+import com.example.smart_pad.service.DeviceRegistry.DeviceBinding;
+import com.example.smart_pad.service.PressureFrameDecoder;
+import com.example.smart_pad.service.SensorFrameDecoder;
+import com.example.smart_pad.service.SensorIngestPipeline;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 장치 전용 수집 채널
+ * - X-Device-Key 헤더의 장치 키로 인증 (JWT/보안 필터 체인을 거치지 않음, SecurityConfig 참고)
+ * - 키 → 환자 매핑은 DeviceRegistry 메모리 인덱스에서 조회 (DB 조회 없음)
+ * - app.ingest.key(게이트웨이 키)로 보내면 측정값의 deviceId 로 환자 결정
+ * - JSON 외에 24바이트 고정 바이너리 프레임(application/octet-stream)도 수신
+ * - 다중 셀 압력 매트릭스 프레임은 /api/ingest/frames 로 수신
+ */
+@RestController
+@RequestMapping("/api/ingest")
+@RequiredArgsConstructor
+public class DeviceIngestController {
+
+    public static final String DEVICE_KEY_HEADER = "X-Device-Key";
+
+    // 매트릭스 프레임 요청 최대 크기 (64x64 프레임 약 128장)
+    private static final int MAX_FRAME_BODY_BYTES = 1 << 20;
+
+    private final DeviceRegistry deviceRegistry;
+    private final DeviceIngestService deviceIngestService;
+    private final SensorIngestPipeline ingestPipeline;
+
+    /**
+     * 단건 수집
+     * POST /api/ingest
+     * X-Device-Key: <장치 키>
+     * Body: { "pressure_raw": 512, "temperature": 23.1, "humidity": 54.2 }
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> ingest(
+            @RequestHeader(name = DEVICE_KEY_HEADER, required = false) String deviceKey,
+            @Valid @RequestBody SensorDataRequest request
+    ) {
+        DeviceBinding caller = deviceRegistry.authenticate(deviceKey);
+        if (caller == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("등록되지 않은 장치 키입니다.");
+        }
+        SensorReading reading = deviceIngestService.toReading(caller, request, System.currentTimeMillis());
+        if (reading == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("등록되지 않은 장치입니다.");
+        }
+        if (!ingestPipeline.offer(reading)) {
+            return IngestResponses.queueFull();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+    }
+
+    /**
+     * 배치 수집 (게이트웨이가 여러 장치의 측정값을 모아 전송할 때)
+     * POST /api/ingest/batch
+     * X-Device-Key: <장치 키 또는 게이트웨이 키>
+     * Body: [ { "deviceId": 7, "pressure_raw": .., "temperature": .., "humidity": .. }, ... ]
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> ingestBatch(
+            @RequestHeader(name = DEVICE_KEY_HEADER, required = false) String deviceKey,
+            @RequestBody List<SensorDataRequest> requests
+    ) {
+        DeviceBinding caller = deviceRegistry.authenticate(deviceKey);
+        if (caller == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("등록되지 않은 장치 키입니다.");
+        }
+        if (requests.size() > IngestResponses.MAX_BATCH_SIZE) {
+            return IngestResponses.batchTooLarge();
+        }
+        return toResponse(deviceIngestService.ingestJson(caller, requests));
+    }
+
+    /**
+     * 바이너리 프레임 수집 (24바이트 고정 프레임 N개, 형식은 SensorFrameDecoder 참고)
+     * POST /api/ingest
+     * Content-Type: application/octet-stream
+     * X-Device-Key: <장치 키 또는 게이트웨이 키>
+     */
+    @PostMapping(consumes = SensorFrameDecoder.CONTENT_TYPE)
+    public ResponseEntity<?> ingestFrames(
+            @RequestHeader(name = DEVICE_KEY_HEADER, required = false) String deviceKey,
+            @RequestBody byte[] body
+    ) {
+        DeviceBinding caller = deviceRegistry.authenticate(deviceKey);
+        if (caller == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("등록되지 않은 장치 키입니다.");
+        }
+        if (body.length > IngestResponses.MAX_BATCH_SIZE * SensorFrameDecoder.FRAME_SIZE) {
+            return IngestResponses.batchTooLarge();
+        }
+        try {
+            return toResponse(deviceIngestService.ingestFrames(caller, body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * 압력 매트릭스 프레임 수집 (헤더 24바이트 + rows*cols 셀, 형식은 PressureFrameDecoder 참고)
+     * POST /api/ingest/frames
+     * Content-Type: application/vnd.smartpad.frame
+     * X-Device-Key: <장치 키 또는 게이트웨이 키>
+     */
+    @PostMapping(value = "/frames", consumes = PressureFrameDecoder.CONTENT_TYPE)
+    public ResponseEntity<?> ingestMatrixFrames(
+            @RequestHeader(name = DEVICE_KEY_HEADER, required = false) String deviceKey,
+            @RequestBody byte[] body
+    ) {
+        DeviceBinding caller = deviceRegistry.authenticate(deviceKey);
+        if (caller == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("등록되지 않은 장치 키입니다.");
+        }
+        if (body.length > MAX_FRAME_BODY_BYTES) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body("한 번에 최대 " + (MAX_FRAME_BODY_BYTES >> 20) + "MB 까지 전송할 수 있습니다.");
+        }
+        try {
+            return toResponse(deviceIngestService.ingestMatrixFrames(caller, body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    private ResponseEntity<?> toResponse(IngestResult result) {
+        if (result.backpressure()) {
+            return IngestResponses.queueFull();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(IngestResponses.body(result));
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.smart_pad.controller;
+
+import com.example.smart_pad.service.AuthService;
+import com.example.smart_pad.service.DataExportService;
+import com.example.smart_pad.service.DataExportService.Format;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 연구용 대량 내보내기 (CSV / NDJSON 스트리밍)
+ * - 본문은 비동기 스레드에서 행 단위로 기록 (StreamingResponseBody) → 요청 스레드/힙을 점유하지 않음
+ * - Accept-Encoding 에 gzip 이 있으면 기록하면서 바로 압축 (Content-Encoding: gzip)
+ * - 환자 본인 데이터만, 관리자는 대상 지정 가능 (생략 시 전체)
+ * - 동시 내보내기 수 초과 시 503 + Retry-After
+ * - 슬롯은 요청이 끝날 때(완료/타임아웃/오류) 반납 → 본문이 실행되지 못한 경우에도 새지 않음
+ * - 타임아웃은 내보내기 요청에만 export.timeout-minutes 적용
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    // 한 번에 내보낼 수 있는 최대 기간
+    private static final Duration MAX_RANGE = Duration.ofDays(366);
+
+    private final DataExportService exportService;
+    private final AuthService authService;
+
+    /**
+     * (인증 필수) 센서 측정값 내보내기
+     * GET /api/export/sensor-data?from=2025-01-01T00:00:00&to=2025-02-01T00:00:00&format=csv&patientId=3
+     * Accept-Encoding: gzip
+     */
+    @GetMapping("/sensor-data")
+    public ResponseEntity<StreamingResponseBody> exportSensorData(
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "patientId", required = false) Long requestedPatientId,
+            @RequestParam(name = "format", defaultValue = "csv") String format,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request,
+            Authentication authentication
+    ) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Format fmt = parseFormat(format);
+        if (fmt == null || !from.isBefore(to) || Duration.between(from, to).compareTo(MAX_RANGE) > 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<Long> patientIds;
+        if (requestedPatientId == null && authService.isAdmin(authentication)) {
+            patientIds = null; // 관리자: 전체 환자
+        } else {
+            Long patientId = authService.resolveViewablePatientId(authentication, requestedPatientId);
+            if (patientId == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+            patientIds = List.of(patientId);
+        }
+
+        String name = "sensor-data-" + (patientIds == null ? "all" : patientIds.get(0));
+        return stream(request, name, fmt, acceptEncoding,
+                out -> exportService.exportSensorData(patientIds, from, to, fmt, out));
+    }
+
+    /**
+     * (인증 필수) 식단 기록 내보내기 (from/to 는 날짜, 양 끝 포함)
+     * GET /api/export/diet?from=2025-01-01&to=2025-01-31&format=ndjson&userId=5
+     */
+    @GetMapping("/diet")
+    public ResponseEntity<StreamingResponseBody> exportDiet(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "userId", required = false) Long requestedUserId,
+            @RequestParam(name = "format", defaultValue = "csv") String format,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request,
+            Authentication authentication
+    ) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Format fmt = parseFormat(format);
+        if (fmt == null || (from != null && to != null && from.isAfter(to))) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Long userId;
+        if (authService.isAdmin(authentication)) {
+            userId = requestedUserId; // 관리자: 생략 시 전체 사용자
+        } else {
+            userId = authService.getUserIdFromAuthentication(authentication);
+            if (requestedUserId != null && !requestedUserId.equals(userId)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+        }
+
+        String name = "diet-" + (userId == null ? "all" : userId);
+        return stream(request, name, fmt, acceptEncoding,
+                out -> exportService.exportDiet(userId, from, to, fmt, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(HttpServletRequest request, String name, Format format,
+                                                         String acceptEncoding, StreamingResponseBody writer) {
+        AsyncWebRequest asyncRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        if (asyncRequest == null) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+        if (!exportService.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        // 완료 콜백(타임아웃/오류 뒤에도 호출)과 본문 종료 중 먼저 오는 쪽에서 한 번만 반납
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) exportService.release();
+        };
+        asyncRequest.setTimeout(exportService.timeoutMs());
+        asyncRequest.addCompletionHandler(release);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            try {
+                if (gzip) {
+                    try (GZIPOutputStream gz = new GZIPOutputStream(nonClosing(out), 64 * 1024)) {
+                        writer.writeTo(gz);
+                    }
+                } else {
+                    writer.writeTo(out);
+                }
+            } finally {
+                release.run();
+            }
+        };
+
+        String filename = name + (format == Format.NDJSON ? ".ndjson" : ".csv");
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(format == Format.NDJSON ? APPLICATION_NDJSON : TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header("X-Accel-Buffering", "no");
+        if (gzip) builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return builder.body(body);
+    }
+
+    private static Format parseFormat(String format) {
+        return switch (format.toLowerCase(Locale.ROOT)) {
+            case "csv" -> Format.CSV;
+            case "ndjson", "jsonl" -> Format.NDJSON;
+            default -> null;
+        };
+    }
+
+    // 응답 스트림은 컨테이너가 닫음 → gzip 트레일러만 쓰고 원본은 닫지 않음
+    private static OutputStream nonClosing(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
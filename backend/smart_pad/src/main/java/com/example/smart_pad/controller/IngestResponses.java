@@ -0,0 +1,38 @@
+package com.example.smart_pad.controller;
+
+import com.example.smart_pad.controller.dto.BatchIngestResponse;
+import com.example.smart_pad.service.DeviceIngestService.IngestResult;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 수집 엔드포인트 공통 제한/응답 (앱 수집 SensorDataController, 장치 수집 REST/STOMP)
+ */
+final class IngestResponses {
+
+    // 배치 요청(메시지) 한 번에 받을 수 있는 최대 측정값 수
+    static final int MAX_BATCH_SIZE = 5000;
+
+    private IngestResponses() {
+    }
+
+    static ResponseEntity<?> batchTooLarge() {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body("한 번에 최대 " + MAX_BATCH_SIZE + "개까지 전송할 수 있습니다.");
+    }
+
+    /**
+     * 수집 큐 포화/종료 중 → 잠시 후 재전송하도록 503 + Retry-After
+     */
+    static ResponseEntity<?> queueFull() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("수집 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    static BatchIngestResponse body(IngestResult result) {
+        return new BatchIngestResponse(result.accepted(), result.rejected(), result.invalid(),
+                result.firstRejected(), result.lastSequence());
+    }
+}
@@ -1,39 +1,116 @@
 package com.example.smart_pad.controller;
 
+import com.example.smart_pad.config.AsyncConfig;
+import com.example.smart_pad.controller.dto.BatchIngestResponse;
+import com.example.smart_pad.controller.dto.PressureFrameResponse;
+import com.example.smart_pad.controller.dto.RiskScoreResponse;
+import com.example.smart_pad.controller.dto.SensorAggregateResponse;
 import com.example.smart_pad.controller.dto.SensorDataRequest;
-import com.example.smart_pad.domain.PatientDetail;
-import com.example.smart_pad.domain.SensorData;
+import com.example.smart_pad.controller.dto.SensorDataResponse;
+import com.example.smart_pad.controller.dto.SensorRangeResponse;
+import com.example.smart_pad.domain.PressureFrame;
+import com.example.smart_pad.domain.SensorReading;
 import com.example.smart_pad.service.AuthService;
+import com.example.smart_pad.service.LatestReadingCache;
+import com.example.smart_pad.service.PressureFrameService;
+import com.example.smart_pad.service.PressureRiskEngine;
 import com.example.smart_pad.service.SensorDataService;
+import com.example.smart_pad.service.SensorEventStream;
+import com.example.smart_pad.service.SensorIngestPipeline;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.security.PermitAll;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @RestController
 @RequestMapping("/api/sensor-data")
 public class SensorDataController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    // 기간 조회: 한 번에 돌려줄 최대 구간 수 / bucket 자동 선택 시 목표 구간 수 / 최대 조회 기간
+    private static final int MAX_BUCKETS = 1000;
+    private static final int TARGET_BUCKETS = 360;
+    private static final Duration MAX_RANGE = Duration.ofDays(366);
+
+    // 원본 이력 조회: 최대 기간 / 최대 건수 (1Hz 기준 6시간 = 21,600건)
+    private static final Duration MAX_HISTORY = Duration.ofHours(6);
+    private static final int MAX_HISTORY_ROWS = 25_000;
+
+    // 저장된 압력 프레임 조회: 최대 기간 / 최대 장수 (기본 1분 간격 저장 기준 24시간 = 1,440장)
+    private static final Duration MAX_FRAME_HISTORY = Duration.ofHours(24);
+    private static final int MAX_FRAME_ROWS = 1440;
+
+    // long-poll 최대 대기 시간 (프록시/앱 HTTP 타임아웃보다 짧게)
+    private static final int MAX_WAIT_SECONDS = 30;
+
     private final SensorDataService sensorDataService;
+    private final SensorIngestPipeline ingestPipeline;
+    private final LatestReadingCache latestReadingCache;
+    private final SensorEventStream sensorEventStream;
+    private final PressureRiskEngine pressureRiskEngine;
+    private final PressureFrameService pressureFrameService;
     private final AuthService authService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    // long-poll 응답 생성 (수집 writer 스레드에서 응답을 만들지 않도록)
+    private final Executor asyncExecutor;
 
     @Value("${sensor.default-patient-id:#{null}}")
     private Long defaultPatientId; // Use a default patient ID if no auth is provided
 
-    public SensorDataController(SensorDataService sensorDataService, AuthService authService) {
+    public SensorDataController(SensorDataService sensorDataService,
+                                SensorIngestPipeline ingestPipeline,
+                                LatestReadingCache latestReadingCache,
+                                SensorEventStream sensorEventStream,
+                                PressureRiskEngine pressureRiskEngine,
+                                PressureFrameService pressureFrameService,
+                                AuthService authService,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                @Qualifier(AsyncConfig.LONG_POLL_EXECUTOR) Executor asyncExecutor) {
         this.sensorDataService = sensorDataService;
+        this.ingestPipeline = ingestPipeline;
+        this.latestReadingCache = latestReadingCache;
+        this.sensorEventStream = sensorEventStream;
+        this.pressureRiskEngine = pressureRiskEngine;
+        this.pressureFrameService = pressureFrameService;
         this.authService = authService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.asyncExecutor = asyncExecutor;
     }
 
     /**
      * (익명/인증 모두 허용) 센서데이터 수집
      * - 로그인한 사용자는 자동으로 자신의 환자 레코드에 저장
      * - 익명 요청은 application.properties에 설정된 default-patient-id에 저장
+     * - Authorization 헤더를 보냈는데 토큰이 무효(만료/탈퇴로 무효화)면 401 (기본 환자로 저장하지 않음)
+     * - 저장은 비동기(write-behind): 큐가 가득 차면 503 + Retry-After
      *
      * POST /api/sensor-data
      * Body: { "pressure": 0.., "temperature": 23.1, "humidity": 54.2 }
@@ -42,15 +119,20 @@ public class SensorDataController {
     @PostMapping
     public ResponseEntity<?> receiveSensorData(
             @Valid @RequestBody SensorDataRequest request,
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
             Authentication authentication
     ) {
-        PatientDetail patient;
+        Long patientId;
 
-        // If an authenticated user is logged in, use their details
+        // 토큰을 보냈는데 인증되지 않음(만료/탈퇴로 무효화) → 익명(기본 환자)으로 저장하지 않음
+        if (authorization != null && (authentication == null || !authentication.isAuthenticated())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("유효하지 않은 토큰입니다.");
+        }
+
+        // If an authenticated user is logged in, use their details (토큰 클레임/캐시 → DB 조회 없음)
         if (authentication != null && authentication.isAuthenticated()) {
-            Long userId = authService.getUserIdFromAuthentication(authentication);
-            patient = authService.getPatientDetailById(userId);
-            if (patient == null) {
+            patientId = authService.getPatientIdFromAuthentication(authentication);
+            if (patientId == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Patient not found.");
             }
         } else {
@@ -59,53 +141,401 @@ public class SensorDataController {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                         .body("Anonymous requests require a default patient ID configured in application.properties.");
             }
-            patient = authService.getPatientDetailById(defaultPatientId);
-            if (patient == null) {
+            patientId = authService.getPatientIdByUserId(defaultPatientId);
+            if (patientId == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Default patient not found.");
             }
         }
 
-        // Convert and save sensor data
-        Integer pressureInt = request.getPressure();
-        Integer temperatureInt = (request.getTemperature() == null)
-                ? null : (int) Math.round(request.getTemperature());
-        Integer humidityInt = (request.getHumidity() == null)
-                ? null : (int) Math.round(request.getHumidity());
+        // 큐에 적재만 하고 응답 (저장/전송/보관 정책은 write-behind writer가 처리)
+        SensorReading reading = request.toReading(patientId, System.currentTimeMillis());
+        if (!ingestPipeline.offer(reading)) {
+            return IngestResponses.queueFull();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+    }
 
-        SensorData saved = sensorDataService.saveAndProcessSensorData(
-                pressureInt,
-                temperatureInt,
-                humidityInt,
-                patient
-        );
+    /**
+     * (인증 필수) 로그인한 환자 본인의 센서데이터 일괄 수집
+     * - 앱/패드가 모아 둔 측정값을 한 번에 전송
+     * - 환자는 토큰의 주체로만 결정 (본문의 patientId 가 본인이 아니면 rejected)
+     *   여러 환자의 측정값을 중계하는 게이트웨이는 장치 채널(/api/ingest/batch, 장치 키 + deviceId) 사용
+     * - 검증 실패 항목은 건너뛰고 rejected 로 집계
+     * - 큐 포화 시 앞에서부터 들어간 만큼만 accepted, 하나도 못 넣으면 503 + Retry-After
+     *
+     * POST /api/sensor-data/batch
+     * Authorization: Bearer <JWT>
+     * Content-Type: application/json → [ { "pressure": .., "temperature": .., "humidity": .. }, ... ]
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> receiveSensorDataBatch(
+            @RequestBody List<SensorDataRequest> requests,
+            Authentication authentication
+    ) {
+        if (requests.size() > IngestResponses.MAX_BATCH_SIZE) {
+            return IngestResponses.batchTooLarge();
+        }
+        return ingestBatch(requests, authentication);
+    }
 
-        return ResponseEntity.status(HttpStatus.ACCEPTED).body(saved.getId());
+    /**
+     * (인증 필수) NDJSON 스트림 일괄 수집
+     * - 한 줄에 하나의 JSON 객체, 전체 바디를 배열로 만들지 않고 순차 파싱
+     *
+     * POST /api/sensor-data/batch
+     * Content-Type: application/x-ndjson
+     */
+    @PostMapping(value = "/batch", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> receiveSensorDataStream(
+            InputStream body,
+            Authentication authentication
+    ) throws IOException {
+        List<SensorDataRequest> requests = new ArrayList<>();
+        try (MappingIterator<SensorDataRequest> it =
+                     objectMapper.readerFor(SensorDataRequest.class).readValues(body)) {
+            while (it.hasNextValue()) {
+                if (requests.size() == IngestResponses.MAX_BATCH_SIZE) {
+                    return IngestResponses.batchTooLarge();
+                }
+                requests.add(it.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("잘못된 NDJSON 형식입니다.");
+        }
+        return ingestBatch(requests, authentication);
     }
 
     /**
      * (인증 필수) 최신 센서데이터 조회
+     * - 환자별 메모리 링 버퍼에서 응답 (DB는 최초 1회 버퍼를 채울 때만 조회)
+     * - ETag = 환자 스트림 버전, If-None-Match 가 같으면 본문 없이 304
      * GET /api/sensor-data/latest?limit=1
      * Authorization: Bearer <JWT>
      */
     @GetMapping("/latest")
     public ResponseEntity<?> getLatestSensorData(
             @RequestParam(name = "limit", defaultValue = "1") int limit,
+            Authentication authentication,
+            WebRequest webRequest
+    ) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요합니다.");
+        }
+
+        limit = clampLimit(limit);
+
+        Long patientId = authService.getPatientIdFromAuthentication(authentication);
+        if (patientId == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("환자 정보를 찾을 수 없습니다.");
+        }
+
+        // 변화 없음 → 버퍼/직렬화 없이 304 (ETag 헤더는 checkNotModified 가 설정)
+        if (webRequest.checkNotModified(etag(patientId, latestReadingCache.version(patientId), limit))) {
+            return null;
+        }
+        return latestResponse(patientId, limit);
+    }
+
+    /**
+     * (인증 필수) 최신 센서데이터 long-poll
+     * - If-None-Match 가 현재 ETag 와 다르면 바로 응답
+     * - 같으면 새 측정값이 커밋될 때까지 요청을 비동기로 보류 (스레드/DB 사용 없음)
+     * - wait 초 안에 새 값이 없으면 304
+     * GET /api/sensor-data/latest?limit=1&wait=25
+     * If-None-Match: "<이전 응답의 ETag>"
+     */
+    @GetMapping(value = "/latest", params = "wait")
+    public DeferredResult<ResponseEntity<?>> pollLatestSensorData(
+            @RequestParam(name = "limit", defaultValue = "1") int limit,
+            @RequestParam(name = "wait") int waitSeconds,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Authentication authentication
+    ) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return completed(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요합니다."));
+        }
+
+        int lim = clampLimit(limit);
+
+        Long patientId = authService.getPatientIdFromAuthentication(authentication);
+        if (patientId == null) {
+            return completed(ResponseEntity.status(HttpStatus.NOT_FOUND).body("환자 정보를 찾을 수 없습니다."));
+        }
+
+        long version = latestReadingCache.version(patientId);
+        String current = etag(patientId, version, lim);
+        if (ifNoneMatch == null || !ifNoneMatch.contains(current)) {
+            return completed(latestResponse(patientId, lim));
+        }
+
+        long timeoutMs = Math.max(1, Math.min(waitSeconds, MAX_WAIT_SECONDS)) * 1000L;
+        DeferredResult<ResponseEntity<?>> result = new DeferredResult<>(timeoutMs,
+                () -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build());
+
+        CompletableFuture<Long> newer = latestReadingCache.awaitNewer(patientId, version);
+        // future 는 수집 writer 스레드에서 완료됨 → 응답(최대 600건) 생성은 비동기 실행기에서
+        newer.thenRunAsync(() -> result.setResult(latestResponse(patientId, lim)), asyncExecutor);
+        result.onCompletion(() -> latestReadingCache.cancelWait(patientId, newer));
+        return result;
+    }
+
+    /**
+     * (인증 필수) 실시간 측정값 SSE 스트림
+     * - 기본은 로그인한 환자 본인, 관리자는 patientId 로 다른 환자 지정 가능
+     * - 재연결 시 Last-Event-ID 이후 측정값을 최근 버퍼에서 이어서 전송
+     * GET /api/sensor-data/stream?patientId=3
+     * Accept: text/event-stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSensorData(
+            @RequestParam(name = "patientId", required = false) Long requestedPatientId,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+            Authentication authentication
+    ) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Long patientId = authService.resolveViewablePatientId(authentication, requestedPatientId);
+        if (patientId == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(sensorEventStream.subscribe(patientId, lastEventId));
+    }
+
+    /**
+     * (인증 필수) 기간 조회 - 구간별 min/max/avg/count
+     * - bucket(초)을 생략하면 약 TARGET_BUCKETS 개 구간이 되도록 자동 선택
+     *   (1분 이상이면 분/시간 단위로 올림 → 집계 테이블에서 조회)
+     * - 한 번에 최대 MAX_BUCKETS 구간, 더 있으면 nextFrom 으로 이어서 조회 (keyset)
+     * - 기본은 로그인한 환자 본인, 관리자는 patientId 로 다른 환자 지정 가능
+     * GET /api/sensor-data/range?from=2025-01-01T20:00:00&to=2025-01-02T08:00:00&bucket=120
+     */
+    @GetMapping("/range")
+    public ResponseEntity<?> getSensorDataRange(
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "bucket", required = false) Long bucketSeconds,
+            @RequestParam(name = "patientId", required = false) Long requestedPatientId,
+            Authentication authentication
+    ) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요합니다.");
+        }
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().body("from 은 to 보다 이전이어야 합니다.");
+        }
+        long rangeSeconds = Duration.between(from, to).getSeconds();
+        if (rangeSeconds > MAX_RANGE.getSeconds()) {
+            return ResponseEntity.badRequest().body("한 번에 최대 " + MAX_RANGE.toDays() + "일까지 조회할 수 있습니다.");
+        }
+        long bucket = (bucketSeconds == null) ? autoBucketSeconds(rangeSeconds) : bucketSeconds;
+        if (bucket < 1) {
+            return ResponseEntity.badRequest().body("bucket 은 1초 이상이어야 합니다.");
+        }
+
+        Long patientId = authService.resolveViewablePatientId(authentication, requestedPatientId);
+        if (patientId == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("환자 정보를 찾을 수 없습니다.");
+        }
+
+        List<SensorAggregateResponse> buckets =
+                sensorDataService.aggregateRange(patientId, from, to, bucket, MAX_BUCKETS);
+        LocalDateTime nextFrom = null;
+        if (buckets.size() == MAX_BUCKETS) {
+            LocalDateTime last = buckets.get(buckets.size() - 1).getTo();
+            if (last.isBefore(to)) nextFrom = last;
+        }
+        return ResponseEntity.ok(new SensorRangeResponse(from, to, bucket, buckets, nextFrom));
+    }
+
+    /**
+     * (인증 필수) 기간 측정값 원본 이력 (오래된 순)
+     * - 청크 저장소가 켜져 있으면 원본 보관 기간이 지난 구간도 압축 청크에서 복원
+     * - 한 번에 최대 MAX_HISTORY 기간 / MAX_HISTORY_ROWS 개
+     * - 기본은 로그인한 환자 본인, 관리자는 patientId 로 다른 환자 지정 가능
+     * GET /api/sensor-data/history?from=2025-01-01T20:00:00&to=2025-01-01T21:00:00
+     */
+    @GetMapping("/history")
+    public ResponseEntity<?> getSensorDataHistory(
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "patientId", required = false) Long requestedPatientId,
             Authentication authentication
     ) {
         if (authentication == null || !authentication.isAuthenticated()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요합니다.");
         }
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().body("from 은 to 보다 이전이어야 합니다.");
+        }
+        if (Duration.between(from, to).compareTo(MAX_HISTORY) > 0) {
+            return ResponseEntity.badRequest().body("한 번에 최대 " + MAX_HISTORY.toHours() + "시간까지 조회할 수 있습니다.");
+        }
 
-        if (limit < 1) limit = 1;
-        if (limit > 600) limit = 600;
+        Long patientId = authService.resolveViewablePatientId(authentication, requestedPatientId);
+        if (patientId == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("환자 정보를 찾을 수 없습니다.");
+        }
 
-        Long userId = authService.getUserIdFromAuthentication(authentication);
-        PatientDetail patient = authService.getPatientDetailById(userId);
-        if (patient == null) {
+        List<SensorDataResponse> result = sensorDataService.history(patientId, from, to, MAX_HISTORY_ROWS).stream()
+                .map(SensorDataResponse::from)
+                .toList();
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * (인증 필수) 현재 욕창 위험 점수 (서버에서 측정값마다 갱신, 실시간은 /topic/risk/{patientId})
+     * - 아직 측정값이 없으면 204
+     * - 기본은 로그인한 환자 본인, 관리자는 patientId 로 다른 환자 지정 가능
+     * GET /api/sensor-data/risk?patientId=3
+     */
+    @GetMapping("/risk")
+    public ResponseEntity<?> getRiskScore(
+            @RequestParam(name = "patientId", required = false) Long requestedPatientId,
+            Authentication authentication
+    ) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요합니다.");
+        }
+        Long patientId = authService.resolveViewablePatientId(authentication, requestedPatientId);
+        if (patientId == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("환자 정보를 찾을 수 없습니다.");
+        }
+
+        RiskScoreResponse risk = pressureRiskEngine.current(patientId);
+        if (risk == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(risk);
+    }
+
+    /**
+     * (인증 필수) 최신 압력 매트릭스 프레임 (실시간은 /topic/frames/{patientId})
+     * - 아직 프레임이 없으면 204
+     * - 기본은 로그인한 환자 본인, 관리자는 patientId 로 다른 환자 지정 가능
+     * GET /api/sensor-data/frame?patientId=3
+     */
+    @GetMapping("/frame")
+    public ResponseEntity<?> getLatestFrame(
+            @RequestParam(name = "patientId", required = false) Long requestedPatientId,
+            Authentication authentication
+    ) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요합니다.");
+        }
+        Long patientId = authService.resolveViewablePatientId(authentication, requestedPatientId);
+        if (patientId == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("환자 정보를 찾을 수 없습니다.");
         }
 
-        List<SensorData> result = sensorDataService.getLatestForPatient(patient, limit);
+        PressureFrame frame = pressureFrameService.latest(patientId);
+        if (frame == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(PressureFrameResponse.from(frame));
+    }
+
+    /**
+     * (인증 필수) 기간 압력 매트릭스 프레임 이력 (오래된 순, sensor.frames.store-interval-seconds 간격으로 저장된 프레임)
+     * - 한 번에 최대 MAX_FRAME_HISTORY 기간 / MAX_FRAME_ROWS 장
+     * - 기본은 로그인한 환자 본인, 관리자는 patientId 로 다른 환자 지정 가능
+     * GET /api/sensor-data/frames?from=2025-01-01T20:00:00&to=2025-01-02T08:00:00
+     */
+    @GetMapping("/frames")
+    public ResponseEntity<?> getFrameHistory(
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "patientId", required = false) Long requestedPatientId,
+            Authentication authentication
+    ) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요합니다.");
+        }
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().body("from 은 to 보다 이전이어야 합니다.");
+        }
+        if (Duration.between(from, to).compareTo(MAX_FRAME_HISTORY) > 0) {
+            return ResponseEntity.badRequest().body("한 번에 최대 " + MAX_FRAME_HISTORY.toHours() + "시간까지 조회할 수 있습니다.");
+        }
+
+        Long patientId = authService.resolveViewablePatientId(authentication, requestedPatientId);
+        if (patientId == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("환자 정보를 찾을 수 없습니다.");
+        }
+
+        List<PressureFrameResponse> result = pressureFrameService.history(patientId, from, to, MAX_FRAME_ROWS).stream()
+                .map(PressureFrameResponse::from)
+                .toList();
         return ResponseEntity.ok(result);
     }
+
+    private ResponseEntity<?> latestResponse(Long patientId, int limit) {
+        // 버전을 먼저 읽음 → 본문이 더 새로울 수는 있어도 ETag 보다 오래되지는 않음
+        long version = latestReadingCache.version(patientId);
+        List<SensorDataResponse> result = latestReadingCache.latest(patientId, limit).stream()
+                .map(SensorDataResponse::from)
+                .toList();
+        return ResponseEntity.ok()
+                .eTag(etag(patientId, version, limit))
+                .body(result);
+    }
+
+    private String etag(Long patientId, long version, int limit) {
+        return "\"" + latestReadingCache.epoch() + "-" + patientId + "-" + version + "-" + limit + "\"";
+    }
+
+    private static long autoBucketSeconds(long rangeSeconds) {
+        long bucket = Math.max(1, (rangeSeconds + TARGET_BUCKETS - 1) / TARGET_BUCKETS);
+        if (bucket >= 3600) return (bucket + 3599) / 3600 * 3600;
+        if (bucket >= 60) return (bucket + 59) / 60 * 60;
+        return bucket;
+    }
+
+    private static int clampLimit(int limit) {
+        if (limit < 1) return 1;
+        return Math.min(limit, 600);
+    }
+
+    private static DeferredResult<ResponseEntity<?>> completed(ResponseEntity<?> response) {
+        DeferredResult<ResponseEntity<?>> result = new DeferredResult<>();
+        result.setResult(response);
+        return result;
+    }
+
+    /**
+     * 배치 공통 처리: 인증 주체의 환자 확인(쿼리 1회) → 검증 → 큐 적재
+     */
+    private ResponseEntity<?> ingestBatch(List<SensorDataRequest> requests, Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요합니다.");
+        }
+        Long patientId = authService.getPatientIdFromAuthentication(authentication);
+        if (patientId == null || sensorDataService.findExistingPatientIds(Set.of(patientId)).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("환자 정보를 찾을 수 없습니다.");
+        }
+
+        long now = System.currentTimeMillis();
+        List<SensorReading> readings = new ArrayList<>(requests.size());
+        int[] indices = new int[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            SensorDataRequest req = requests.get(i);
+            if (req == null || !validator.validate(req).isEmpty()) continue;
+            // 본문으로 다른 환자를 지정할 수 없음
+            if (req.getPatientId() != null && !req.getPatientId().equals(patientId)) continue;
+            indices[readings.size()] = i;
+            readings.add(req.toReading(patientId, now));
+        }
+
+        int accepted = ingestPipeline.offerAll(readings);
+        if (accepted == 0 && !readings.isEmpty()) {
+            return IngestResponses.queueFull();
+        }
+        int rejected = readings.size() - accepted;
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new BatchIngestResponse(accepted, rejected, requests.size() - readings.size(),
+                        rejected > 0 ? indices[accepted] : null, null));
+    }
 }
@@ -0,0 +1,87 @@
+package com.example.smart_pad.controller;
+
+import com.example.smart_pad.config.DeviceStompInterceptor;
+import com.example.smart_pad.controller.dto.BatchIngestResponse;
+import com.example.smart_pad.controller.dto.SensorDataRequest;
+import com.example.smart_pad.service.DeviceIngestService;
+import com.example.smart_pad.service.DeviceIngestService.IngestResult;
+import com.example.smart_pad.service.DeviceRegistry.DeviceBinding;
+import com.example.smart_pad.service.SensorFrameDecoder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 장치 STOMP 수집 채널 (/ws/sensor 에 장치당 연결 1개 유지)
+ * - CONNECT 때 X-Device-Key 로 한 번 인증 (DeviceStompInterceptor)
+ * - SEND /app/ingest
+ *     content-type: application/json         → 측정값 객체 1개 또는 배열
+ *     content-type: application/octet-stream → 24바이트 바이너리 프레임 N개 (SensorFrameDecoder)
+ * - REST 수집과 같은 DeviceIngestService → write-behind 큐로 적재
+ * - 결과는 /user/queue/ingest 로 해당 세션에만 회신 (구독한 장치만 수신)
+ */
+@Slf4j
+@Controller
+public class SensorIngestMessageController {
+
+    private final DeviceIngestService deviceIngestService;
+    private final ObjectReader requestListReader;
+
+    public SensorIngestMessageController(DeviceIngestService deviceIngestService, ObjectMapper objectMapper) {
+        this.deviceIngestService = deviceIngestService;
+        this.requestListReader = objectMapper.readerForListOf(SensorDataRequest.class)
+                .with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+    }
+
+    @MessageMapping("/ingest")
+    @SendToUser(destinations = "/queue/ingest", broadcast = false)
+    public BatchIngestResponse ingest(Message<byte[]> message, SimpMessageHeaderAccessor accessor) {
+        Map<String, Object> attrs = accessor.getSessionAttributes();
+        Object binding = (attrs == null) ? null : attrs.get(DeviceStompInterceptor.DEVICE_BINDING_ATTR);
+        if (!(binding instanceof DeviceBinding caller)) {
+            log.debug("장치 키 없이 연결된 세션의 수집 메시지 무시: {}", accessor.getSessionId());
+            return null;
+        }
+
+        byte[] body = message.getPayload();
+        MimeType contentType = accessor.getContentType();
+        IngestResult result;
+        if (contentType != null && contentType.isCompatibleWith(MimeTypeUtils.APPLICATION_OCTET_STREAM)) {
+            if (body.length > IngestResponses.MAX_BATCH_SIZE * SensorFrameDecoder.FRAME_SIZE) {
+                return new BatchIngestResponse(0, body.length / SensorFrameDecoder.FRAME_SIZE);
+            }
+            try {
+                result = deviceIngestService.ingestFrames(caller, body);
+            } catch (IllegalArgumentException e) {
+                log.debug("잘못된 바이너리 프레임: {}", e.getMessage());
+                return new BatchIngestResponse(0, 0);
+            }
+        } else {
+            List<SensorDataRequest> requests;
+            try {
+                requests = requestListReader.readValue(body);
+            } catch (IOException e) {
+                // 형식 오류 → 메시지 전체를 1건으로 보고 거부 (예외가 새 나가면 회신 없이 ERROR 프레임만 감)
+                log.debug("잘못된 JSON 수집 메시지: {}", e.getMessage());
+                return new BatchIngestResponse(0, 0, 1, null, null);
+            }
+            if (requests.size() > IngestResponses.MAX_BATCH_SIZE) {
+                return new BatchIngestResponse(0, requests.size());
+            }
+            result = deviceIngestService.ingestJson(caller, requests);
+        }
+        return IngestResponses.body(result);
+    }
+}
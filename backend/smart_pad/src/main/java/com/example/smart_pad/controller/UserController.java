@@ -3,6 +3,7 @@ package com.example.smart_pad.controller;
 import com.example.smart_pad.controller.dto.ProfileDetailResponse;
 import com.example.smart_pad.controller.dto.UpdateProfileRequest;
 import com.example.smart_pad.service.AuthService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -48,7 +49,7 @@ public class UserController {
      */
     @PutMapping("/users/{userId}")
     public ResponseEntity<String> updateProfile(@PathVariable Long userId,
-                                                @RequestBody UpdateProfileRequest request) {
+                                                @Valid @RequestBody UpdateProfileRequest request) {
         try {
             authService.updateProfile(userId, request);
             return ResponseEntity.ok("프로필 정보가 성공적으로 업데이트되었습니다.");
@@ -0,0 +1,43 @@
+package com.example.smart_pad.controller;
+
+import com.example.smart_pad.service.AtRiskIndex;
+import com.example.smart_pad.service.WardSnapshot;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * (관리자) 병동 현황 - SecurityConfig 에서 ADMIN 만 허용
+ */
+@RestController
+@RequestMapping("/api/ward")
+@RequiredArgsConstructor
+public class WardController {
+
+    private final WardSnapshot wardSnapshot;
+    private final AtRiskIndex atRiskIndex;
+
+    /**
+     * 전체 환자의 프로필 요약 + 최신 측정값 + 현재 위험도 (메모리 스냅샷, DB 조회 없음)
+     * - ward 를 지정하면 해당 병동만
+     * GET /api/ward/overview
+     * GET /api/ward/overview?ward=A동
+     */
+    @GetMapping("/overview")
+    public ResponseEntity<?> getOverview(@RequestParam(name = "ward", required = false) String ward) {
+        return ResponseEntity.ok(wardSnapshot.overview(ward));
+    }
+
+    /**
+     * 위험 환자 순위 상위 limit 명 (위험 점수 → 연속 하중 시간 순, 실시간은 /topic/at-risk)
+     * - limit: 1 ~ 100, 기본 10 (범위 밖이면 400)
+     * GET /api/ward/at-risk?limit=10
+     */
+    @GetMapping("/at-risk")
+    public ResponseEntity<?> getAtRisk(
+            @RequestParam(name = "limit", defaultValue = "10") @Min(1) @Max(AtRiskIndex.MAX_LIMIT) int limit) {
+        return ResponseEntity.ok(atRiskIndex.top(limit));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.smart_pad.controller.dto;
+
+import com.example.smart_pad.domain.RiskLevel;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 알림 이벤트 (/topic/alerts/{patientId}, /topic/ward/{wardId}/alerts 프레임, /api/alerts 응답)
+ * - state: FIRING(발생) / RESOLVED(해제), 같은 발생의 두 이벤트는 id 가 같음
+ * - since: 조건이 처음 만족된 시각, timestamp: 이벤트 시각 (측정 시각 기준)
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public class AlertResponse {
+    private String id;
+    private Long patientId;
+    private String ward;
+    private String rule;
+    private RiskLevel severity;
+    private String state;
+    private String metric;
+    private int value;
+    private int threshold;
+    private LocalDateTime since;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,27 @@
+package com.example.smart_pad.controller.dto;
+
+import com.example.smart_pad.domain.RiskLevel;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 위험 환자 순위 항목 (/api/ward/at-risk 응답, /topic/at-risk 프레임)
+ * - rank: 1부터, 점수 → 연속 하중 시간 순
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AtRiskPatientResponse {
+    private int rank;
+    private Long patientId;
+    private String name;
+    private String ward;
+    private int score;
+    private RiskLevel level;
+    private long loadedSeconds;
+    private long sinceRepositionSeconds;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,28 @@
+package com.example.smart_pad.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 배치 수집 결과
+ * - accepted: 큐에 적재된 측정값 수
+ * - rejected: 큐가 가득 차 받지 못한 측정값 수 (항상 요청의 뒤쪽, firstRejected 부터 재전송)
+ * - invalid: 검증 실패/다른 환자 지정/미등록 장치로 제외된 측정값 수 (재전송해도 다시 제외됨)
+ * - firstRejected: (JSON 배치) 큐 포화로 받지 못한 첫 항목의 요청 내 인덱스
+ * - lastSequence: (바이너리 프레임) 적재된 마지막 프레임의 sequence
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchIngestResponse {
+    private int accepted;
+    private int rejected;
+    private int invalid;
+    private Integer firstRejected;
+    private Long lastSequence;
+
+    public BatchIngestResponse(int accepted, int rejected) {
+        this(accepted, rejected, 0, rejected > 0 ? 0 : null, null);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.smart_pad.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 장치 보정 테이블 (요청/응답 공용)
+ * - mmHg = (raw - offsets[i]) * gains[i] / (1 + temperatureCoefficient * (T - referenceTemperature))
+ * - offsets / gains: 행 우선 rows*cols 개 (단일 값 장치는 rows=cols=1)
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeviceCalibrationDto {
+    private Long deviceId;
+    private Integer rows;
+    private Integer cols;
+    private float[] offsets;
+    private float[] gains;
+    private Float temperatureCoefficient;
+    private Float referenceTemperature;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,16 @@
+package com.example.smart_pad.controller.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class DeviceRegisterRequest {
+    // 연결할 환자 (PatientDetail PK)
+    @NotNull(message = "환자 ID는 필수 입력 값입니다.")
+    private Long patientId;
+
+    // 장치 이름 (예: "301호 2번 침대")
+    private String name;
+}
@@ -0,0 +1,22 @@
+package com.example.smart_pad.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 장치 정보 응답
+ * - deviceKey 는 등록 직후 한 번만 내려줌 (서버는 해시만 보관하므로 다시 조회 불가)
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeviceResponse {
+    private Long deviceId;
+    private Long patientId;
+    private String name;
+    private LocalDateTime createdAt;
+    private String deviceKey;
+}
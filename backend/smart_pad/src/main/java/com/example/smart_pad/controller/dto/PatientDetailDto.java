@@ -1,15 +1,21 @@
 package com.example.smart_pad.controller.dto;
 
+import jakarta.validation.constraints.Pattern;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
 public class PatientDetailDto {
+    // 병동 이름은 STOMP 토픽(/topic/ward/{ward}, /topic/ward/{ward}/alerts)에 그대로 쓰이므로 문자 제한
+    public static final String WARD_PATTERN = "[A-Za-z0-9_\\-가-힣]+";
+
     // Flutter 앱에서 보낸 JSON의 키(key) 이름과 일치해야 합니다.
     private Double weight;
     private String ageRange;
     private String sensoryPerception;
     private String activityLevel;
     private String movementLevel;
+    @Pattern(regexp = WARD_PATTERN, message = "병동은 영문, 숫자, 한글, '_', '-' 만 사용할 수 있습니다.")
+    private String ward;
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.example.smart_pad.controller.dto;
+
+import com.example.smart_pad.domain.PressureFrame;
+import com.example.smart_pad.service.PressureUnits;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 압력 매트릭스 프레임 (/topic/frames/{patientId} 프레임, /api/sensor-data/frame(s) 응답)
+ * - cells: 행 우선 rows*cols 개 (앱 히트맵의 셀 순서와 동일)
+ * - 셀 값: 보정 테이블이 있는 장치는 mmHg, 없으면 ADC raw (pressureUnit = "mmHg" / "raw")
+ * - copRow / copCol: 압력 중심 (셀 좌표, 압력이 없으면 생략)
+ * - contactArea / closureArea: 접촉 / 모세혈관 폐쇄압(sensor.calibration.closure-threshold) 이상인 셀 수
+ *   (임계값은 mmHg, raw 프레임은 PressureUnits 로 환산한 값과 비교)
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PressureFrameResponse {
+    private final int rows;
+    private final int cols;
+    private final int[] cells;
+    private final String pressureUnit;
+    private final int peak;
+    private final double mean;
+    private final Double copRow;
+    private final Double copCol;
+    private final int contactArea;
+    private final int closureArea;
+    private final Integer temperature;
+    private final Integer humidity;
+    private final LocalDateTime timestamp;
+
+    private PressureFrameResponse(PressureFrame f) {
+        this.rows = f.rows();
+        this.cols = f.cols();
+        this.cells = new int[f.cells().length];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = f.cells()[i] & 0xFFFF;
+        }
+        this.pressureUnit = PressureUnits.unitOf(f.calibrated());
+        this.peak = f.peak();
+        this.mean = Math.round(f.mean() * 100) / 100.0;
+        this.copRow = Double.isNaN(f.copRow()) ? null : f.copRow();
+        this.copCol = Double.isNaN(f.copCol()) ? null : f.copCol();
+        this.contactArea = f.contactArea();
+        this.closureArea = f.closureArea();
+        this.temperature = f.temperature();
+        this.humidity = f.humidity();
+        this.timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(f.timestamp()), ZoneId.systemDefault());
+    }
+
+    public static PressureFrameResponse from(PressureFrame f) {
+        return new PressureFrameResponse(f);
+    }
+}
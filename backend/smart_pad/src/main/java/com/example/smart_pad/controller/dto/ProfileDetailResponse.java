@@ -18,6 +18,7 @@ public class ProfileDetailResponse {
     private String sensoryPerception;
     private String activityLevel;
     private String movementLevel;
+    private String ward;
 
     private String hospitalName;
 }
@@ -0,0 +1,36 @@
+package com.example.smart_pad.controller.dto;
+
+import com.example.smart_pad.domain.RiskLevel;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 환자별 욕창 위험 점수 (/topic/risk/{patientId} 프레임, /api/sensor-data/risk 응답)
+ * - score = 항목별 점수 합 (0~100), 항목 최대: braden 40 / pressure 25 / reposition 15 / temperature 10 / humidity 10
+ * - loadedSeconds: 압력 임계값 이상이 연속된 시간, sinceRepositionSeconds: 마지막 자세 변경 이후 시간
+ * - temperatureAvg / humidityAvg: 최근 구간(sliding window) 평균
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public class RiskScoreResponse {
+    private Long patientId;
+    private int score;
+    private RiskLevel level;
+
+    private int braden;
+    private int pressure;
+    private int reposition;
+    private int temperature;
+    private int humidity;
+
+    private long loadedSeconds;
+    private long sinceRepositionSeconds;
+    private double temperatureAvg;
+    private double humidityAvg;
+
+    private LocalDateTime timestamp;
+}
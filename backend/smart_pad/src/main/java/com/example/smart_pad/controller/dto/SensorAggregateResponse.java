@@ -0,0 +1,35 @@
+package com.example.smart_pad.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 구간 집계 (/topic/sensordata/{patientId}/5s, /30s 프레임, /api/sensor-data/range 의 구간)
+ * - [from, to) 구간의 측정값 수와 항목별 최소/최대/평균
+ * - pressureHighCount: 압력 임계값 이상인 측정값 수 (기간 조회에서만 포함)
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public class SensorAggregateResponse {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private int count;
+
+    private int pressureMin;
+    private int pressureMax;
+    private double pressureAvg;
+
+    private int temperatureMin;
+    private int temperatureMax;
+    private double temperatureAvg;
+
+    private int humidityMin;
+    private int humidityMax;
+    private double humidityAvg;
+
+    private Long pressureHighCount;
+}
@@ -1,6 +1,7 @@
 // src/main/java/com/example/smart_pad/controller/dto/SensorDataRequest.java
 package com.example.smart_pad.controller.dto;
 
+import com.example.smart_pad.domain.SensorReading;
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.validation.constraints.NotNull;
@@ -10,9 +11,12 @@ import lombok.Data;
 @JsonIgnoreProperties(ignoreUnknown = true) // payload의 여분 키(pressure_voltage 등) 무시
 public class SensorDataRequest {
 
-    // (선택) 바디로도 환자 지정 가능
+    // (선택) 배치 수집에서 본인 확인용 (PatientDetail PK, 로그인한 환자와 다르면 거부)
     private Long patientId;
 
+    // (선택) 게이트웨이 키로 중계할 때 원래 장치 ID (DeviceRegistry 로 환자 결정)
+    private Long deviceId;
+
     // ESP32의 pressure_raw(정수)를 pressure로 매핑
     @NotNull
     @JsonAlias({"pressure_raw", "pressure"})
@@ -24,4 +28,21 @@ public class SensorDataRequest {
 
     @NotNull
     private Double humidity;
+
+    // (선택) 측정 시각 epoch millis (배치로 모아 보낼 때 항목별 시각, 없으면 서버 수신 시각)
+    private Long timestamp;
+
+    /**
+     * 공통 측정값으로 변환 (온/습도는 반올림하여 정수로 저장)
+     * - 측정 시각이 없거나 서버 시각보다 너무 앞서 있으면 now 사용 (SensorReading.clampTimestamp)
+     */
+    public SensorReading toReading(Long patientId, long now) {
+        return new SensorReading(
+                patientId,
+                pressure,
+                (int) Math.round(temperature),
+                (int) Math.round(humidity),
+                timestamp == null ? now : SensorReading.clampTimestamp(timestamp, now)
+        );
+    }
 }
@@ -0,0 +1,44 @@
+package com.example.smart_pad.controller.dto;
+
+import com.example.smart_pad.domain.SensorData;
+import com.example.smart_pad.domain.SensorReading;
+import com.example.smart_pad.service.PressureUnits;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 센서 데이터 전송용 DTO
+ * - 엔티티(Lazy 환자 프록시 포함)를 직접 직렬화하지 않기 위해 사용
+ * - 앱(SensorData.fromJson)이 읽는 키와 동일: id, pressure, temperature, humidity, timestamp
+ * - id 가 없으면(메모리 측정값) 키 자체를 생략 → 실시간 프레임 크기 축소
+ * - pressureUnit: 장치 보정이 적용된 값만 "mmHg", raw 값은 키 생략 (기존 클라이언트와 호환)
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@AllArgsConstructor
+public class SensorDataResponse {
+    private Long id;
+    private Integer pressure;
+    private Integer temperature;
+    private Integer humidity;
+    private LocalDateTime timestamp;
+    private String pressureUnit;
+
+    public static SensorDataResponse from(SensorData d) {
+        return new SensorDataResponse(d.getId(), d.getPressure(), d.getTemperature(), d.getHumidity(), d.getTimestamp(),
+                unit(Boolean.TRUE.equals(d.getPressureCalibrated())));
+    }
+
+    /** 메모리 캐시의 측정값 (DB PK 없음 → id = null) */
+    public static SensorDataResponse from(SensorReading r) {
+        return new SensorDataResponse(null, r.pressure(), r.temperature(), r.humidity(), r.localTimestamp(),
+                unit(r.calibrated()));
+    }
+
+    private static String unit(boolean calibrated) {
+        return calibrated ? PressureUnits.MMHG : null;
+    }
+}
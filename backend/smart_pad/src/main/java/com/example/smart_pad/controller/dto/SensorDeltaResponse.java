@@ -0,0 +1,23 @@
+package com.example.smart_pad.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 변경분만 담는 실시간 프레임 (/topic/sensordata/{patientId}/delta)
+ * - 직전 값과 같은 필드는 생략, timestamp 는 항상 포함
+ * - key = true 인 프레임은 모든 필드를 포함 (새 구독자의 기준값)
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SensorDeltaResponse {
+    private Boolean key;
+    private Integer pressure;
+    private Integer temperature;
+    private Integer humidity;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,24 @@
+package com.example.smart_pad.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 기간 조회 결과 (/api/sensor-data/range)
+ * - buckets: bucketSeconds 단위 구간 집계 (측정값이 없는 구간은 생략)
+ * - nextFrom: 다음 페이지가 있으면 그 시작 시각 (같은 to/bucket 으로 from 만 바꿔 재요청)
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SensorRangeResponse {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long bucketSeconds;
+    private List<SensorAggregateResponse> buckets;
+    private LocalDateTime nextFrom;
+}
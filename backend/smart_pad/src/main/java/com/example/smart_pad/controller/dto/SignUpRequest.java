@@ -1,6 +1,7 @@
 package com.example.smart_pad.controller.dto;
 
 import com.example.smart_pad.domain.UserRole;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -37,6 +38,7 @@ public class SignUpRequest {
     private UserRole role;
 
     // 환자 상세 정보를 담을 필드
+    @Valid
     private PatientDetailDto patientDetail;
 
     // ▼▼▼ 여기에 관리자 상세 정보를 담을 필드를 추가합니다. ▼▼▼
@@ -1,5 +1,6 @@
 package com.example.smart_pad.controller.dto;
 
+import jakarta.validation.Valid;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -7,6 +8,7 @@ import lombok.Setter;
 @Setter
 public class UpdateProfileRequest {
     private String name;
+    @Valid
     private PatientDetailDto patientDetail;
     private AdminDetailDto adminDetail;
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.example.smart_pad.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 병동 현황의 환자 1명 (/api/ward/overview)
+ * - latest: 최신 측정값 (아직 없으면 생략)
+ * - risk: 현재 욕창 위험 점수 (서버 기동 후 측정값이 없으면 생략)
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WardPatientResponse {
+    private Long patientId;
+    private Long userId;
+    private String name;
+    private String ward;
+    private String ageRange;
+    private SensorDataResponse latest;
+    private RiskScoreResponse risk;
+}
@@ -0,0 +1,21 @@
+package com.example.smart_pad.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 병동 토픽 변경분 (/topic/ward/{wardId})
+ * - patients: 직전 tick 이후 상태가 바뀐 환자만 (형식은 /api/ward/overview 항목과 동일)
+ * - seq: 병동별 1씩 증가, 건너뛰면 /api/ward/overview?ward= 로 전체를 다시 받음
+ */
+@Getter
+@AllArgsConstructor
+public class WardUpdateResponse {
+    private String ward;
+    private long seq;
+    private LocalDateTime timestamp;
+    private List<WardPatientResponse> patients;
+}
@@ -0,0 +1,48 @@
+package com.example.smart_pad.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 장치별 압력 보정 테이블 (장치 1대당 1행)
+ * - offsets / gains: rows*cols 개의 float32 (little-endian, 행 우선)
+ * - 단일 값 장치(pressure_raw)는 1x1 테이블
+ */
+@Entity
+@Table(name = "device_calibration")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DeviceCalibration {
+    @Id
+    @Column(name = "device_id")
+    private Long deviceId;
+
+    @Column(name = "frame_rows", nullable = false)
+    private Integer rows;
+
+    @Column(name = "frame_cols", nullable = false)
+    private Integer cols;
+
+    @Lob
+    @Column(name = "offsets", nullable = false)
+    private byte[] offsets;
+
+    @Lob
+    @Column(name = "gains", nullable = false)
+    private byte[] gains;
+
+    // 기준 온도 대비 °C 당 감도 변화율 (예: 0.002 = 0.2%/°C)
+    @Column(name = "temperature_coefficient", nullable = false)
+    private Float temperatureCoefficient;
+
+    @Column(name = "reference_temperature", nullable = false)
+    private Float referenceTemperature;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -36,4 +36,8 @@ public class PatientDetail {
 
     @Column(name = "movement_level")
     private String movementLevel;
+
+    // 병동 (없으면 기본 병동) - 병동 단위 알림/현황 토픽에 사용
+    @Column(name = "ward", length = 50)
+    private String ward;
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.smart_pad.domain;
+
+/**
+ * 압력 매트릭스 프레임 1장 (rows×cols 셀, 행 우선)
+ * - cells: 셀 값을 short[] 한 덩어리로 보관 (셀마다 객체/행을 만들지 않음), 값은 0~65535 라 & 0xFFFF 로 읽음
+ * - peak / total / copRow·copCol(압력 중심, 셀 좌표) / contactArea(접촉 셀 수) / closureArea(모세혈관 폐쇄압 이상 셀 수)
+ *   는 보정 커널(FrameKernel)이 셀 변환과 같은 루프에서 1번 계산
+ * - calibrated: 셀 값이 장치 보정 테이블로 변환된 mmHg 인지 (false = ADC raw)
+ * - 배열은 공유만 하고 수정하지 않음 (record equals 는 배열 내용을 비교하지 않음)
+ */
+public record PressureFrame(Long patientId,
+                            long timestamp,
+                            int rows,
+                            int cols,
+                            short[] cells,
+                            int temperature,
+                            int humidity,
+                            boolean calibrated,
+                            int peak,
+                            long total,
+                            double copRow,
+                            double copCol,
+                            int contactArea,
+                            int closureArea) {
+
+    public static final int MAX_DIMENSION = 64;
+
+    /**
+     * 보정 커널이 셀을 변환하면서 누적한 통계
+     * - rowMoment / colMoment: Σ(셀 값 × 행/열 번호), 압력 중심 계산용
+     */
+    public record Stats(int peak, long total, long rowMoment, long colMoment, int contactArea, int closureArea) {}
+
+    /**
+     * 셀 값 + 커널 통계로 프레임 생성
+     * @throws IllegalArgumentException 크기가 맞지 않는 경우
+     */
+    public static PressureFrame of(Long patientId, long timestamp, int rows, int cols, short[] cells,
+                                   int temperature, int humidity, boolean calibrated, Stats stats) {
+        if (rows < 1 || cols < 1 || rows > MAX_DIMENSION || cols > MAX_DIMENSION || cells.length != rows * cols) {
+            throw new IllegalArgumentException("프레임 크기가 올바르지 않습니다: " + rows + "x" + cols);
+        }
+        long total = stats.total();
+        double copRow = (total == 0) ? Double.NaN : (double) stats.rowMoment() / total;
+        double copCol = (total == 0) ? Double.NaN : (double) stats.colMoment() / total;
+        return new PressureFrame(patientId, timestamp, rows, cols, cells, temperature, humidity, calibrated,
+                stats.peak(), total, copRow, copCol, stats.contactArea(), stats.closureArea());
+    }
+
+    /** 셀 평균 */
+    public double mean() {
+        return (double) total / cells.length;
+    }
+
+    public int cell(int row, int col) {
+        return cells[row * cols + col] & 0xFFFF;
+    }
+
+    /** 기존 단일 값 경로(저장/위험도/알림)용 측정값: 압력은 최대 셀 값 */
+    public SensorReading toReading() {
+        return new SensorReading(patientId, peak, temperature, humidity, timestamp, calibrated);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.smart_pad.domain;
+
+/**
+ * 욕창 위험 등급 (위험 점수 0~100 구간)
+ */
+public enum RiskLevel {
+    LOW, MODERATE, HIGH, VERY_HIGH;
+
+    public static RiskLevel of(int score) {
+        if (score >= 75) return VERY_HIGH;
+        if (score >= 50) return HIGH;
+        if (score >= 25) return MODERATE;
+        return LOW;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.smart_pad.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 압축된 센서 측정값 블록 (환자, 구간)당 1행
+ * - data: SensorChunkCodec 형식 (delta-of-delta 시각 + 차분 zigzag varint 값)
+ * - 구간은 [chunkStart, chunkEnd), 보관 기간은 sensor.storage.chunks.retention-days
+ */
+@Entity
+@Table(name = "sensor_chunk",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sensor_chunk_patient_start",
+                columnNames = {"patient_id", "chunk_start"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class SensorChunk {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "patient_id", nullable = false)
+    private Long patientId;
+
+    @Column(name = "chunk_start", nullable = false)
+    private LocalDateTime chunkStart;
+
+    @Column(name = "chunk_end", nullable = false)
+    private LocalDateTime chunkEnd;
+
+    @Column(name = "sample_count", nullable = false)
+    private Integer sampleCount;
+
+    @Lob
+    @Column(name = "data", nullable = false)
+    private byte[] data;
+}
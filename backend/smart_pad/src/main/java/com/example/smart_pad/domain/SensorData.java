@@ -4,14 +4,21 @@ import jakarta.persistence.*;   // ✅ javax → jakarta 로 변경
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sensor_data")
+@Table(name = "sensor_data",
+        indexes = @Index(name = "idx_sensor_data_patient_ts", columnList = "patient_id, timestamp"))
 public class SensorData {
 
+    // IDENTITY 전략은 INSERT마다 키를 받아와야 해서 Hibernate JDBC 배치가 꺼진다.
+    // → 풀링 시퀀스(MySQL에선 sensor_data_seq 테이블로 에뮬레이션)로 키를 미리 할당받아 배치 INSERT 허용
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sensor_data_seq")
+    @SequenceGenerator(name = "sensor_data_seq", sequenceName = "sensor_data_seq", allocationSize = 100)
     private Long id;
 
     private Integer pressure;
+    // pressure 가 mmHg(장치 보정 적용)인지, null/false = ADC raw
+    @Column(name = "pressure_calibrated")
+    private Boolean pressureCalibrated;
     private Integer temperature;
     private Integer humidity;
 
@@ -28,6 +35,9 @@ public class SensorData {
     public Integer getPressure() { return pressure; }
     public void setPressure(Integer pressure) { this.pressure = pressure; }
 
+    public Boolean getPressureCalibrated() { return pressureCalibrated; }
+    public void setPressureCalibrated(Boolean pressureCalibrated) { this.pressureCalibrated = pressureCalibrated; }
+
     public Integer getTemperature() { return temperature; }
     public void setTemperature(Integer temperature) { this.temperature = temperature; }
 
@@ -0,0 +1,37 @@
+package com.example.smart_pad.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 등록된 센서 패드(ESP32) 장치
+ * - 장치 키 원문은 저장하지 않고 SHA-256 해시만 보관
+ * - 장치 1대는 환자 1명에 연결
+ */
+@Entity
+@Table(name = "sensor_device")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SensorDevice {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "key_hash", nullable = false, unique = true, length = 64)
+    private String keyHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "patient_id", nullable = false)
+    private PatientDetail patient;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
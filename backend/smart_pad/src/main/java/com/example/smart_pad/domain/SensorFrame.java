@@ -0,0 +1,67 @@
+package com.example.smart_pad.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 저장된 압력 매트릭스 프레임 (셀마다 행을 만들지 않고 프레임당 1행)
+ * - data: PressureFrameCodec 형식, 파생 통계는 조회/집계용으로 컬럼에 함께 보관
+ * - 실시간 프레임을 모두 저장하지 않고 sensor.frames.store-interval-seconds 마다 환자당 1장
+ */
+@Entity
+@Table(name = "sensor_frame",
+        indexes = @Index(name = "idx_sensor_frame_patient_ts", columnList = "patient_id, timestamp"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class SensorFrame {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "patient_id", nullable = false)
+    private Long patientId;
+
+    @Column(name = "timestamp", nullable = false)
+    private LocalDateTime timestamp;
+
+    // ROWS 는 MySQL 예약어라 frame_ 접두사 사용
+    @Column(name = "frame_rows", nullable = false)
+    private Integer rows;
+
+    @Column(name = "frame_cols", nullable = false)
+    private Integer cols;
+
+    @Column(name = "peak", nullable = false)
+    private Integer peak;
+
+    @Column(name = "cop_row")
+    private Double copRow;
+
+    @Column(name = "cop_col")
+    private Double copCol;
+
+    @Column(name = "contact_area", nullable = false)
+    private Integer contactArea;
+
+    @Column(name = "closure_area")
+    private Integer closureArea;
+
+    // 셀 값이 mmHg(장치 보정 적용)인지, null/false = ADC raw
+    @Column(name = "calibrated")
+    private Boolean calibrated;
+
+    @Column(name = "temperature")
+    private Integer temperature;
+
+    @Column(name = "humidity")
+    private Integer humidity;
+
+    @Lob
+    @Column(name = "data", nullable = false)
+    private byte[] data;
+}
@@ -0,0 +1,51 @@
+package com.example.smart_pad.domain;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 수집 경로(REST 단건/배치 등)에서 공통으로 사용하는 센서 측정값
+ * - JPA 엔티티가 아닌 불변 값 객체 (환자는 PK만 보관)
+ * - timestamp 는 epoch millis
+ * - calibrated: pressure 가 장치 보정 테이블로 변환된 mmHg 인지 (false = ADC raw, PressureUnits 참고)
+ */
+public record SensorReading(Long patientId,
+                            int pressure,
+                            int temperature,
+                            int humidity,
+                            long timestamp,
+                            boolean calibrated) {
+
+    // 장치 시계가 이보다 앞서 있으면 서버 시각 사용
+    public static final long MAX_CLOCK_SKEW_MS = 60_000L;
+
+    /** 보정되지 않은(raw) 측정값 */
+    public SensorReading(Long patientId, int pressure, int temperature, int humidity, long timestamp) {
+        this(patientId, pressure, temperature, humidity, timestamp, false);
+    }
+
+    /** 저장된 엔티티 → 측정값 (환자 프록시는 PK만 사용, 초기화하지 않음) */
+    public static SensorReading from(SensorData d) {
+        return new SensorReading(
+                d.getPatient().getId(),
+                d.getPressure() == null ? 0 : d.getPressure(),
+                d.getTemperature() == null ? 0 : d.getTemperature(),
+                d.getHumidity() == null ? 0 : d.getHumidity(),
+                d.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                Boolean.TRUE.equals(d.getPressureCalibrated())
+        );
+    }
+
+    /**
+     * 장치가 보낸 측정 시각 보정: 없거나(0 이하) 서버 시각보다 MAX_CLOCK_SKEW_MS 넘게 앞서면 서버 시각
+     */
+    public static long clampTimestamp(long timestamp, long now) {
+        return (timestamp <= 0 || timestamp > now + MAX_CLOCK_SKEW_MS) ? now : timestamp;
+    }
+
+    /** 엔티티 저장용 LocalDateTime 변환 (서버 기본 타임존 기준, 기존 LocalDateTime.now()와 동일) */
+    public LocalDateTime localTimestamp() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+    }
+}
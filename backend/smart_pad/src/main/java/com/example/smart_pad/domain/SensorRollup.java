@@ -0,0 +1,58 @@
+package com.example.smart_pad.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 센서 데이터 구간 집계 공통 컬럼 (분/시간 단위 rollup 테이블)
+ * - 평균 대신 합계를 저장 → 분 집계를 다시 시간 집계로 합칠 수 있음 (avg = sum / sampleCount)
+ * - pressureHighCount: 압력 임계값(sensor.rollup.pressure-threshold) 이상인 측정값 수
+ *   (1Hz 수집 기준 = 임계값 이상이었던 초)
+ * - patient_id 는 FK 없이 보관 (원본 삭제와 무관하게 파생 데이터로 유지)
+ */
+@MappedSuperclass
+@Getter
+@Setter
+@NoArgsConstructor
+public abstract class SensorRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "patient_id", nullable = false)
+    private Long patientId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "sample_count", nullable = false)
+    private Integer sampleCount;
+
+    @Column(name = "pressure_min")
+    private Integer pressureMin;
+    @Column(name = "pressure_max")
+    private Integer pressureMax;
+    @Column(name = "pressure_sum")
+    private Long pressureSum;
+
+    @Column(name = "temperature_min")
+    private Integer temperatureMin;
+    @Column(name = "temperature_max")
+    private Integer temperatureMax;
+    @Column(name = "temperature_sum")
+    private Long temperatureSum;
+
+    @Column(name = "humidity_min")
+    private Integer humidityMin;
+    @Column(name = "humidity_max")
+    private Integer humidityMax;
+    @Column(name = "humidity_sum")
+    private Long humiditySum;
+
+    @Column(name = "pressure_high_count")
+    private Integer pressureHighCount;
+}
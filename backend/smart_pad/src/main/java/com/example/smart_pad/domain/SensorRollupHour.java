@@ -0,0 +1,15 @@
+package com.example.smart_pad.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * 1시간 단위 센서 집계 (환자, 구간 시작 시각)당 1행
+ */
+@Entity
+@Table(name = "sensor_rollup_hour",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sensor_rollup_hour_patient_bucket",
+                columnNames = {"patient_id", "bucket_start"}))
+public class SensorRollupHour extends SensorRollup {
+}
@@ -0,0 +1,9 @@
+package com.example.smart_pad.repository;
+
+import com.example.smart_pad.domain.DeviceCalibration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DeviceCalibrationRepository extends JpaRepository<DeviceCalibration, Long> {
+}
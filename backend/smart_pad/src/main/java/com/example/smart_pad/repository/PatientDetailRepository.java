@@ -2,8 +2,12 @@ package com.example.smart_pad.repository;
 
 import com.example.smart_pad.domain.PatientDetail;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -24,4 +28,28 @@ public interface PatientDetailRepository extends JpaRepository<PatientDetail, Lo
      * 특정 User ID를 가진 PatientDetail 존재 여부 확인
      */
     boolean existsByUser_Id(Long userId);
+
+    /**
+     * User PK로 PatientDetail PK만 조회 (엔티티 로딩 없이)
+     */
+    @Query("select p.id from PatientDetail p where p.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
+    /**
+     * 주어진 PK 중 실제 존재하는 PatientDetail PK만 조회 (엔티티 로딩 없이 한 번의 쿼리)
+     */
+    @Query("select p.id from PatientDetail p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 전체 환자 상세를 사용자(이름)까지 한 번에 조회 (N+1 없이)
+     */
+    @Query("select p from PatientDetail p join fetch p.user")
+    List<PatientDetail> findAllWithUser();
+
+    /**
+     * 주어진 PK 의 환자 상세를 사용자(이름)까지 한 번에 조회
+     */
+    @Query("select p from PatientDetail p join fetch p.user where p.id in :ids")
+    List<PatientDetail> findAllWithUser(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,36 @@
+package com.example.smart_pad.repository;
+
+import com.example.smart_pad.domain.SensorChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SensorChunkRepository extends JpaRepository<SensorChunk, Long> {
+
+    /**
+     * [from, to) 와 겹치는 환자의 청크 (시간순)
+     */
+    @Query("select c from SensorChunk c where c.patientId = :patientId " +
+            "and c.chunkStart < :to and c.chunkEnd > :from order by c.chunkStart")
+    List<SensorChunk> findOverlapping(@Param("patientId") Long patientId,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
+
+    @Query("select max(c.chunkEnd) from SensorChunk c")
+    LocalDateTime findMaxChunkEnd();
+
+    /**
+     * 보관 기간이 지난 청크를 최대 limit 건씩 삭제
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM sensor_chunk WHERE chunk_end <= :before LIMIT :limit", nativeQuery = true)
+    int deleteChunkBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
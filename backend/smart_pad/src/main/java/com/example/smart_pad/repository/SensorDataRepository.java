@@ -5,9 +5,14 @@ import com.example.smart_pad.domain.SensorData;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface SensorDataRepository extends JpaRepository<SensorData, Long> {
@@ -19,12 +24,132 @@ public interface SensorDataRepository extends JpaRepository<SensorData, Long> {
     Page<SensorData> findByPatient(PatientDetail patient, Pageable pageable);
 
     /**
-     * 환자별 전체 개수
+     * 환자 PK로 페이징 조회 (환자 엔티티 로딩 없이)
      */
-    long countByPatient(PatientDetail patient);
+    Page<SensorData> findByPatient_Id(Long patientId, Pageable pageable);
 
     /**
-     * 환자별 특정 시각 이전 데이터 일괄 삭제
+     * 데이터가 남아있는 환자 PK 목록 (보관 정책 스위퍼용)
      */
-    long deleteByPatientAndTimestampBefore(PatientDetail patient, LocalDateTime before);
+    @Query("select distinct d.patient.id from SensorData d")
+    List<Long> findDistinctPatientIds();
+
+    /**
+     * 환자별 timestamp 내림차순 목록 (offset 위치의 timestamp를 구하는 용도)
+     * - Pageable(offset, 1)로 "N번째로 최신인 시각"을 인덱스만으로 조회
+     */
+    @Query("select d.timestamp from SensorData d where d.patient.id = :patientId order by d.timestamp desc")
+    List<LocalDateTime> findTimestampsDesc(@Param("patientId") Long patientId, Pageable pageable);
+
+    /**
+     * 환자별 특정 시각 이전 데이터를 최대 limit 건만 집합 삭제 (엔티티 로딩 없음)
+     * - 호출마다 짧은 트랜잭션 → 행 잠금을 오래 잡지 않음
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM sensor_data WHERE patient_id = :patientId AND timestamp < :before LIMIT :limit",
+            nativeQuery = true)
+    int deleteChunkBefore(@Param("patientId") Long patientId,
+                          @Param("before") LocalDateTime before,
+                          @Param("limit") int limit);
+
+    /**
+     * 구간 집계 한 줄 (네이티브 쿼리 결과 프로젝션, rollup 테이블 조회에도 사용)
+     * - bucketIndex: origin 기준 몇 번째 구간인지 (0부터)
+     */
+    interface BucketRow {
+        Long getBucketIndex();
+        Long getCnt();
+        Integer getPressureMin();
+        Integer getPressureMax();
+        Double getPressureAvg();
+        Integer getTemperatureMin();
+        Integer getTemperatureMax();
+        Double getTemperatureAvg();
+        Integer getHumidityMin();
+        Integer getHumidityMax();
+        Double getHumidityAvg();
+        Long getPressureHighCount();
+    }
+
+    /**
+     * [from, to) 구간을 origin 기준 bucketSeconds 단위로 묶어 DB에서 min/max/avg/count 계산
+     * - (patient_id, timestamp) 인덱스 범위 스캔, 결과는 구간 수만큼만 전송
+     * - 구간 순서대로 최대 limit 개 → 다음 페이지는 마지막 구간 다음 시각을 from 으로 (keyset)
+     * - pressureHighCount: 압력이 threshold(mmHg) 이상인 측정값 수 (보정되지 않은 값은 rawThreshold 와 비교)
+     */
+    @Query(value = """
+            SELECT FLOOR(TIMESTAMPDIFF(SECOND, :origin, s.timestamp) / :bucketSeconds) AS bucketIndex,
+                   COUNT(*) AS cnt,
+                   MIN(s.pressure) AS pressureMin, MAX(s.pressure) AS pressureMax, AVG(s.pressure) AS pressureAvg,
+                   MIN(s.temperature) AS temperatureMin, MAX(s.temperature) AS temperatureMax, AVG(s.temperature) AS temperatureAvg,
+                   MIN(s.humidity) AS humidityMin, MAX(s.humidity) AS humidityMax, AVG(s.humidity) AS humidityAvg,
+                   SUM(CASE WHEN s.pressure >= CASE WHEN s.pressure_calibrated THEN :threshold ELSE :rawThreshold END
+                       THEN 1 ELSE 0 END) AS pressureHighCount
+            FROM sensor_data s
+            WHERE s.patient_id = :patientId AND s.timestamp >= :from AND s.timestamp < :to
+            GROUP BY bucketIndex
+            ORDER BY bucketIndex
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<BucketRow> aggregateBuckets(@Param("patientId") Long patientId,
+                                     @Param("origin") LocalDateTime origin,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     @Param("bucketSeconds") long bucketSeconds,
+                                     @Param("threshold") int threshold,
+                                     @Param("rawThreshold") int rawThreshold,
+                                     @Param("limit") int limit);
+
+    /**
+     * [from, to) 의 전체 환자 원본 (환자, 시각 순) - 청크 압축용
+     */
+    @Query("select d from SensorData d where d.timestamp >= :from and d.timestamp < :to " +
+            "order by d.patient.id, d.timestamp")
+    List<SensorData> findWindow(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 환자의 [from, to) 원본 (시각 오름차순, Pageable 로 건수 제한)
+     */
+    @Query("select d from SensorData d where d.patient.id = :patientId " +
+            "and d.timestamp >= :from and d.timestamp < :to order by d.timestamp")
+    List<SensorData> findRange(@Param("patientId") Long patientId,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to,
+                               Pageable pageable);
+
+    /**
+     * 최신 측정값 한 줄 (네이티브 쿼리 결과 프로젝션, 엔티티/환자 프록시를 만들지 않음)
+     */
+    interface LatestRow {
+        Long getPatientId();
+        Integer getPressure();
+        Boolean getPressureCalibrated();
+        Integer getTemperature();
+        Integer getHumidity();
+        LocalDateTime getTimestamp();
+    }
+
+    /**
+     * 환자별 가장 최근 원본 1건 (병동 현황 초기 적재)
+     * - 환자별 max(timestamp) 를 GROUP BY 로 한 번에 구해((patient_id, timestamp) 인덱스) 두 컬럼으로 다시 조인
+     * - 같은 시각에 여러 행이 있으면 id 가 가장 큰 행 1건만 (ROW_NUMBER 는 동시각 행에만 적용)
+     */
+    @Query(value = """
+            SELECT t.patient_id AS patientId, t.pressure AS pressure, t.pressure_calibrated AS pressureCalibrated,
+                   t.temperature AS temperature, t.humidity AS humidity, t.timestamp AS timestamp
+            FROM (SELECT s.patient_id, s.pressure, s.pressure_calibrated, s.temperature, s.humidity, s.timestamp,
+                         ROW_NUMBER() OVER (PARTITION BY s.patient_id ORDER BY s.id DESC) AS rn
+                  FROM sensor_data s
+                  JOIN (SELECT patient_id, MAX(timestamp) AS ts FROM sensor_data GROUP BY patient_id) m
+                    ON s.patient_id = m.patient_id AND s.timestamp = m.ts) t
+            WHERE t.rn = 1
+            """, nativeQuery = true)
+    List<LatestRow> findLatestPerPatient();
+
+    /**
+     * 가장 오래된 원본 시각 (rollup 최초 실행 시 시작점)
+     */
+    @Query("select min(d.timestamp) from SensorData d")
+    LocalDateTime findMinTimestamp();
 }
@@ -0,0 +1,35 @@
+package com.example.smart_pad.repository;
+
+import com.example.smart_pad.domain.SensorFrame;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SensorFrameRepository extends JpaRepository<SensorFrame, Long> {
+
+    /**
+     * [from, to) 의 환자 프레임 (시간순, 최대 pageable 크기)
+     */
+    @Query("select f from SensorFrame f where f.patientId = :patientId " +
+            "and f.timestamp >= :from and f.timestamp < :to order by f.timestamp")
+    List<SensorFrame> findRange(@Param("patientId") Long patientId,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to,
+                                Pageable pageable);
+
+    /**
+     * 보관 기간이 지난 프레임을 최대 limit 건씩 삭제
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM sensor_frame WHERE timestamp < :before LIMIT :limit", nativeQuery = true)
+    int deleteChunkBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
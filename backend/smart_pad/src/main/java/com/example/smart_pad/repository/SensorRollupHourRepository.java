@@ -0,0 +1,88 @@
+package com.example.smart_pad.repository;
+
+import com.example.smart_pad.domain.SensorRollupHour;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SensorRollupHourRepository extends JpaRepository<SensorRollupHour, Long> {
+
+    /**
+     * 분 집계 [from, to) 를 (환자, 시) 단위로 다시 합쳐 저장 (덮어씀 → 진행 중인 시간도 매번 갱신 가능)
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO sensor_rollup_hour (patient_id, bucket_start, sample_count,
+                    pressure_min, pressure_max, pressure_sum,
+                    temperature_min, temperature_max, temperature_sum,
+                    humidity_min, humidity_max, humidity_sum,
+                    pressure_high_count)
+            SELECT m.patient_id,
+                   TIMESTAMPADD(HOUR, TIMESTAMPDIFF(HOUR, '2000-01-01', m.bucket_start), '2000-01-01') AS b,
+                   SUM(m.sample_count),
+                   MIN(m.pressure_min), MAX(m.pressure_max), SUM(m.pressure_sum),
+                   MIN(m.temperature_min), MAX(m.temperature_max), SUM(m.temperature_sum),
+                   MIN(m.humidity_min), MAX(m.humidity_max), SUM(m.humidity_sum),
+                   SUM(m.pressure_high_count)
+            FROM sensor_rollup_minute m
+            WHERE m.bucket_start >= :from AND m.bucket_start < :to
+            GROUP BY m.patient_id, b
+            ON DUPLICATE KEY UPDATE
+                sample_count = VALUES(sample_count),
+                pressure_min = VALUES(pressure_min),
+                pressure_max = VALUES(pressure_max),
+                pressure_sum = VALUES(pressure_sum),
+                temperature_min = VALUES(temperature_min),
+                temperature_max = VALUES(temperature_max),
+                temperature_sum = VALUES(temperature_sum),
+                humidity_min = VALUES(humidity_min),
+                humidity_max = VALUES(humidity_max),
+                humidity_sum = VALUES(humidity_sum),
+                pressure_high_count = VALUES(pressure_high_count)
+            """, nativeQuery = true)
+    int rollUpMinutes(@Param("from") LocalDateTime from,
+                      @Param("to") LocalDateTime to);
+
+    /**
+     * 집계 행을 다시 bucketSeconds 단위로 묶어 조회 (구간 기준 시각 origin, 범위 [from, to))
+     * - 평균은 합계/건수로 계산 → 원본으로 계산한 값과 같음
+     */
+    @Query(value = """
+            SELECT FLOOR(TIMESTAMPDIFF(SECOND, :origin, r.bucket_start) / :bucketSeconds) AS bucketIndex,
+                   SUM(r.sample_count) AS cnt,
+                   MIN(r.pressure_min) AS pressureMin, MAX(r.pressure_max) AS pressureMax,
+                   SUM(r.pressure_sum) / SUM(r.sample_count) AS pressureAvg,
+                   MIN(r.temperature_min) AS temperatureMin, MAX(r.temperature_max) AS temperatureMax,
+                   SUM(r.temperature_sum) / SUM(r.sample_count) AS temperatureAvg,
+                   MIN(r.humidity_min) AS humidityMin, MAX(r.humidity_max) AS humidityMax,
+                   SUM(r.humidity_sum) / SUM(r.sample_count) AS humidityAvg,
+                   SUM(r.pressure_high_count) AS pressureHighCount
+            FROM sensor_rollup_hour r
+            WHERE r.patient_id = :patientId AND r.bucket_start >= :from AND r.bucket_start < :to
+            GROUP BY bucketIndex
+            ORDER BY bucketIndex
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SensorDataRepository.BucketRow> aggregateBuckets(@Param("patientId") Long patientId,
+                                                          @Param("origin") LocalDateTime origin,
+                                                          @Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to,
+                                                          @Param("bucketSeconds") long bucketSeconds,
+                                                          @Param("limit") int limit);
+
+    /**
+     * 보관 기간이 지난 집계 행을 최대 limit 건씩 삭제
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM sensor_rollup_hour WHERE bucket_start < :before LIMIT :limit", nativeQuery = true)
+    int deleteChunkBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
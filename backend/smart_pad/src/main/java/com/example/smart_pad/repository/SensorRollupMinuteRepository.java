@@ -0,0 +1,95 @@
+package com.example.smart_pad.repository;
+
+import com.example.smart_pad.domain.SensorRollupMinute;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SensorRollupMinuteRepository extends JpaRepository<SensorRollupMinute, Long> {
+
+    /**
+     * 원본 [from, to) 를 (환자, 분) 단위로 집계해 저장 (이미 있으면 덮어씀 → 같은 구간을 다시 돌려도 안전)
+     * - 전체 환자를 INSERT ... SELECT 한 문장으로 처리 (원본 행을 애플리케이션으로 읽지 않음)
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO sensor_rollup_minute (patient_id, bucket_start, sample_count,
+                    pressure_min, pressure_max, pressure_sum,
+                    temperature_min, temperature_max, temperature_sum,
+                    humidity_min, humidity_max, humidity_sum,
+                    pressure_high_count)
+            SELECT s.patient_id,
+                   TIMESTAMPADD(MINUTE, TIMESTAMPDIFF(MINUTE, '2000-01-01', s.timestamp), '2000-01-01') AS b,
+                   COUNT(*),
+                   MIN(s.pressure), MAX(s.pressure), SUM(s.pressure),
+                   MIN(s.temperature), MAX(s.temperature), SUM(s.temperature),
+                   MIN(s.humidity), MAX(s.humidity), SUM(s.humidity),
+                   SUM(CASE WHEN s.pressure >= CASE WHEN s.pressure_calibrated THEN :threshold ELSE :rawThreshold END
+                       THEN 1 ELSE 0 END)
+            FROM sensor_data s
+            WHERE s.timestamp >= :from AND s.timestamp < :to
+            GROUP BY s.patient_id, b
+            ON DUPLICATE KEY UPDATE
+                sample_count = VALUES(sample_count),
+                pressure_min = VALUES(pressure_min),
+                pressure_max = VALUES(pressure_max),
+                pressure_sum = VALUES(pressure_sum),
+                temperature_min = VALUES(temperature_min),
+                temperature_max = VALUES(temperature_max),
+                temperature_sum = VALUES(temperature_sum),
+                humidity_min = VALUES(humidity_min),
+                humidity_max = VALUES(humidity_max),
+                humidity_sum = VALUES(humidity_sum),
+                pressure_high_count = VALUES(pressure_high_count)
+            """, nativeQuery = true)
+    int rollUpRaw(@Param("from") LocalDateTime from,
+                  @Param("to") LocalDateTime to,
+                  @Param("threshold") int threshold,
+                  @Param("rawThreshold") int rawThreshold);
+
+    @Query("select max(r.bucketStart) from SensorRollupMinute r")
+    LocalDateTime findMaxBucketStart();
+
+    /**
+     * 집계 행을 다시 bucketSeconds 단위로 묶어 조회 (구간 기준 시각 origin, 범위 [from, to))
+     * - 평균은 합계/건수로 계산 → 원본으로 계산한 값과 같음
+     */
+    @Query(value = """
+            SELECT FLOOR(TIMESTAMPDIFF(SECOND, :origin, r.bucket_start) / :bucketSeconds) AS bucketIndex,
+                   SUM(r.sample_count) AS cnt,
+                   MIN(r.pressure_min) AS pressureMin, MAX(r.pressure_max) AS pressureMax,
+                   SUM(r.pressure_sum) / SUM(r.sample_count) AS pressureAvg,
+                   MIN(r.temperature_min) AS temperatureMin, MAX(r.temperature_max) AS temperatureMax,
+                   SUM(r.temperature_sum) / SUM(r.sample_count) AS temperatureAvg,
+                   MIN(r.humidity_min) AS humidityMin, MAX(r.humidity_max) AS humidityMax,
+                   SUM(r.humidity_sum) / SUM(r.sample_count) AS humidityAvg,
+                   SUM(r.pressure_high_count) AS pressureHighCount
+            FROM sensor_rollup_minute r
+            WHERE r.patient_id = :patientId AND r.bucket_start >= :from AND r.bucket_start < :to
+            GROUP BY bucketIndex
+            ORDER BY bucketIndex
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SensorDataRepository.BucketRow> aggregateBuckets(@Param("patientId") Long patientId,
+                                                          @Param("origin") LocalDateTime origin,
+                                                          @Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to,
+                                                          @Param("bucketSeconds") long bucketSeconds,
+                                                          @Param("limit") int limit);
+
+    /**
+     * 보관 기간이 지난 집계 행을 최대 limit 건씩 삭제
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM sensor_rollup_minute WHERE bucket_start < :before LIMIT :limit", nativeQuery = true)
+    int deleteChunkBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -0,0 +1,28 @@
+package com.example.smart_pad.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 메모리 인덱스/캐시 갱신을 트랜잭션 커밋 뒤로 미룸
+ * - 커밋 전에 반영하면 롤백돼도 메모리에만 남거나, 커밋 전 조회가 예전 값을 다시 캐시함
+ * - 롤백되면 실행하지 않음, 트랜잭션 밖에서 호출하면 바로 실행
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.controller.dto.AlertResponse;
+import com.example.smart_pad.domain.SensorReading;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 수집 스트림 위에서 바로 평가하는 알림 규칙 엔진
+ * <pre>
+ * /topic/alerts/{patientId}     환자별 알림 (FIRING / RESOLVED)
+ * /topic/ward/{wardId}/alerts   병동 전체 알림
+ * </pre>
+ * - 규칙(alerts.rules)은 시작 시 1번 컴파일, 환자마다 규칙 수만큼의 고정 크기 상태 머신
+ *   IDLE → (조건 만족) PENDING → (duration 경과) FIRING → (grace 동안 조건 불만족) IDLE
+ * - 측정값마다 규칙 수만큼 비교만 수행 (DB 조회/할당 없음, 상태가 바뀔 때만 이벤트 생성)
+ * - 중복 방지: FIRING 동안 같은 규칙은 다시 알리지 않음 / cooldown: 발생 후 일정 시간은 재발생 억제
+ * - 순서가 중요한 이벤트라 conflation 없이 즉시 전송 (직렬화는 1번, 두 토픽에 같은 바이트)
+ * - 측정값이 끊겨 정리되는 환자의 FIRING 알림은 RESOLVED 로 닫아서 전송 (구독자에 알림이 남지 않도록)
+ */
+@Slf4j
+@Component
+public class AlertEngine implements SensorReadingListener {
+
+    public static final String ALERT_TOPIC_PREFIX = "/topic/alerts/";
+    public static final String WARD_TOPIC_PREFIX = "/topic/ward/";
+    public static final String WARD_ALERT_SUFFIX = "/alerts";
+
+    // 마지막 측정 후 이 시간이 지나면 환자 상태 정리
+    private static final long IDLE_EVICT_MS = 60 * 60_000L;
+
+    private final SensorBroadcaster broadcaster;
+    private final PatientDirectory patientDirectory;
+    private final PressureUnits units;
+    private final AlertRule[] rules;
+    private final long cooldownMs;
+    private final long graceMs;
+
+    private final ConcurrentMap<Long, PatientAlerts> states = new ConcurrentHashMap<>();
+
+    public AlertEngine(SensorBroadcaster broadcaster,
+                       PatientDirectory patientDirectory,
+                       PressureUnits units,
+                       @Value("${alerts.rules:}") String rules,
+                       @Value("${alerts.cooldown-minutes:15}") long cooldownMinutes,
+                       @Value("${alerts.grace-seconds:10}") long graceSeconds) {
+        this.broadcaster = broadcaster;
+        this.patientDirectory = patientDirectory;
+        this.units = units;
+        this.rules = AlertRule.parseAll(rules).toArray(new AlertRule[0]);
+        this.cooldownMs = Math.max(0, cooldownMinutes) * 60_000L;
+        this.graceMs = Math.max(0, graceSeconds) * 1000L;
+        log.info("알림 규칙 {}개: {}", this.rules.length, Arrays.stream(this.rules).map(AlertRule::name).toList());
+    }
+
+    @Override
+    public void onReadings(List<SensorReading> readings) {
+        if (rules.length == 0) return;
+        List<AlertResponse> events = null;
+        long now = System.currentTimeMillis();
+        for (SensorReading r : readings) {
+            while (true) {
+                PatientAlerts s = states.computeIfAbsent(r.patientId(), id -> new PatientAlerts(id, rules.length));
+                synchronized (s) {
+                    // 방금 유휴 정리된 상태면 새 상태로 다시
+                    if (s.evicted) continue;
+                    s.lastSeenMs = now;
+                    long t = Math.max(r.timestamp(), s.lastTs);
+                    s.lastTs = t;
+                    for (int i = 0; i < rules.length; i++) {
+                        AlertResponse e = evaluate(s, i, r, t);
+                        if (e != null) {
+                            if (events == null) events = new ArrayList<>();
+                            events.add(e);
+                        }
+                    }
+                    break;
+                }
+            }
+        }
+        if (events != null) events.forEach(this::publish);
+    }
+
+    /**
+     * 현재 발생 중인 알림
+     * @param patientId null 이면 ward 기준
+     * @param ward      null 이면 전체 병동
+     */
+    public List<AlertResponse> active(Long patientId, String ward) {
+        List<AlertResponse> out = new ArrayList<>();
+        if (patientId != null) {
+            PatientAlerts s = states.get(patientId);
+            if (s != null) s.collectActive(out);
+            return out;
+        }
+        for (PatientAlerts s : states.values()) {
+            if (ward == null || ward.equals(patientDirectory.wardOf(s.patientId))) s.collectActive(out);
+        }
+        return out;
+    }
+
+    @Scheduled(fixedRate = 60_000)
+    public void evictIdle() {
+        evictIdle(System.currentTimeMillis());
+    }
+
+    /**
+     * 마지막 측정 후 IDLE_EVICT_MS 가 지난 환자 상태 정리, 발생 중인 알림은 RESOLVED 로 전송
+     */
+    void evictIdle(long now) {
+        List<AlertResponse> resolved = new ArrayList<>();
+        for (PatientAlerts s : states.values()) {
+            synchronized (s) {
+                if (now - s.lastSeenMs <= IDLE_EVICT_MS) continue;
+                s.evicted = true;
+                states.remove(s.patientId, s);
+                for (int i = 0; i < rules.length; i++) {
+                    if (s.active[i] == null) continue;
+                    resolved.add(staleResolved(s.active[i], s.lastTs));
+                    s.active[i] = null;
+                }
+            }
+        }
+        resolved.forEach(this::publish);
+    }
+
+    // 규칙 1개의 상태 전이, 이벤트가 생기면 반환
+    private AlertResponse evaluate(PatientAlerts s, int i, SensorReading r, long t) {
+        AlertRule rule = rules[i];
+        if (rule.test(r, units)) {
+            s.clearSince[i] = -1;
+            if (s.since[i] < 0) s.since[i] = t;
+            boolean due = t - s.since[i] >= rule.durationMs();
+            boolean cooled = s.firedAt[i] < 0 || t - s.firedAt[i] >= cooldownMs;
+            if (s.active[i] == null && due && cooled) {
+                s.firedAt[i] = t;
+                s.active[i] = event(s.patientId, rule, "FIRING", r, s.since[i], t, t);
+                return s.active[i];
+            }
+            return null;
+        }
+
+        if (s.since[i] < 0) return null;
+        if (s.clearSince[i] < 0) s.clearSince[i] = t;
+        if (t - s.clearSince[i] < graceMs) return null;
+
+        AlertResponse resolved = null;
+        if (s.active[i] != null) {
+            resolved = event(s.patientId, rule, "RESOLVED", r, s.since[i], s.firedAt[i], t);
+            s.active[i] = null;
+        }
+        s.since[i] = -1;
+        s.clearSince[i] = -1;
+        return resolved;
+    }
+
+    private AlertResponse event(Long patientId, AlertRule rule, String state, SensorReading r,
+                                long since, long firedAt, long t) {
+        return AlertResponse.builder()
+                .id(patientId + "-" + rule.name() + "-" + firedAt)
+                .patientId(patientId)
+                .ward(patientDirectory.wardOf(patientId))
+                .rule(rule.name())
+                .severity(rule.severity())
+                .state(state)
+                .metric(rule.metric().name().toLowerCase(Locale.ROOT))
+                .value(rule.metric().of(r))
+                .threshold(rule.thresholdFor(r, units))
+                .since(toLocal(since))
+                .timestamp(toLocal(t))
+                .build();
+    }
+
+    // 측정값이 끊겨 닫는 알림: 마지막 측정 시각 기준 RESOLVED (값은 발생 당시 값)
+    private static AlertResponse staleResolved(AlertResponse firing, long lastTs) {
+        return AlertResponse.builder()
+                .id(firing.getId())
+                .patientId(firing.getPatientId())
+                .ward(firing.getWard())
+                .rule(firing.getRule())
+                .severity(firing.getSeverity())
+                .state("RESOLVED")
+                .metric(firing.getMetric())
+                .value(firing.getValue())
+                .threshold(firing.getThreshold())
+                .since(firing.getSince())
+                .timestamp(toLocal(lastTs))
+                .build();
+    }
+
+    private void publish(AlertResponse e) {
+        byte[] json = broadcaster.serialize(e);
+        if (json == null) return;
+        broadcaster.publishSerializedNow(ALERT_TOPIC_PREFIX + e.getPatientId(), json);
+        broadcaster.publishSerializedNow(WARD_TOPIC_PREFIX + e.getWard() + WARD_ALERT_SUFFIX, json);
+    }
+
+    private static LocalDateTime toLocal(long epochMs) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneId.systemDefault());
+    }
+
+    private static final class PatientAlerts {
+        final Long patientId;
+        long lastSeenMs;
+        long lastTs;
+        boolean evicted;
+
+        // 규칙별 상태 (-1 = 없음)
+        final long[] since;        // 조건이 처음 만족된 시각
+        final long[] clearSince;   // 조건이 처음 불만족된 시각 (grace 판정)
+        final long[] firedAt;      // 마지막 발생 시각 (cooldown 판정)
+        final AlertResponse[] active;
+
+        PatientAlerts(Long patientId, int ruleCount) {
+            this.patientId = patientId;
+            this.since = new long[ruleCount];
+            this.clearSince = new long[ruleCount];
+            this.firedAt = new long[ruleCount];
+            this.active = new AlertResponse[ruleCount];
+            Arrays.fill(since, -1);
+            Arrays.fill(clearSince, -1);
+            Arrays.fill(firedAt, -1);
+        }
+
+        synchronized void collectActive(List<AlertResponse> out) {
+            Arrays.stream(active).filter(Objects::nonNull).forEach(out::add);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.RiskLevel;
+import com.example.smart_pad.domain.SensorReading;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 컴파일된 알림 규칙: "metric 이 threshold 이상(이하)인 상태가 duration 동안 계속되면 알림"
+ * <pre>
+ * 설정 형식 (쉼표로 여러 개): name:metric(>=|<=)threshold:minutes[:severity]
+ * 예) pressure-no-relief:pressure>=32:120:HIGH, humidity-high:humidity>=80:30
+ * </pre>
+ * - metric: pressure / temperature / humidity, severity 생략 시 MODERATE
+ * - pressure 임계값은 mmHg, 보정되지 않은(raw) 측정값에는 PressureUnits 로 환산한 값을 적용
+ */
+public record AlertRule(String name, Metric metric, boolean above, int threshold, long durationMs, RiskLevel severity) {
+
+    public enum Metric {
+        PRESSURE, TEMPERATURE, HUMIDITY;
+
+        int of(SensorReading r) {
+            return switch (this) {
+                case PRESSURE -> r.pressure();
+                case TEMPERATURE -> r.temperature();
+                case HUMIDITY -> r.humidity();
+            };
+        }
+    }
+
+    public boolean test(SensorReading r, PressureUnits units) {
+        int v = metric.of(r);
+        int t = thresholdFor(r, units);
+        return above ? v >= t : v <= t;
+    }
+
+    /** 측정값과 같은 단위의 임계값 */
+    public int thresholdFor(SensorReading r, PressureUnits units) {
+        return (metric == Metric.PRESSURE) ? units.threshold(threshold, r.calibrated()) : threshold;
+    }
+
+    /**
+     * @throws IllegalArgumentException 형식이 잘못된 경우
+     */
+    public static List<AlertRule> parseAll(String spec) {
+        List<AlertRule> rules = new ArrayList<>();
+        if (spec == null || spec.isBlank()) return rules;
+        for (String s : spec.split(",")) {
+            if (!s.isBlank()) rules.add(parse(s.trim()));
+        }
+        return rules;
+    }
+
+    static AlertRule parse(String spec) {
+        String[] parts = spec.split(":");
+        if (parts.length < 3 || parts.length > 4) {
+            throw new IllegalArgumentException("잘못된 알림 규칙입니다: " + spec);
+        }
+        String condition = parts[1].trim();
+        boolean above = condition.contains(">=");
+        String[] operands = condition.split(above ? ">=" : "<=");
+        if (operands.length != 2 || (!above && !condition.contains("<="))) {
+            throw new IllegalArgumentException("알림 규칙 조건은 metric>=값 또는 metric<=값 이어야 합니다: " + spec);
+        }
+        try {
+            Metric metric = Metric.valueOf(operands[0].trim().toUpperCase(Locale.ROOT));
+            int threshold = Integer.parseInt(operands[1].trim());
+            long minutes = Long.parseLong(parts[2].trim());
+            RiskLevel severity = (parts.length == 4)
+                    ? RiskLevel.valueOf(parts[3].trim().toUpperCase(Locale.ROOT))
+                    : RiskLevel.MODERATE;
+            if (minutes < 0) throw new IllegalArgumentException("지속 시간은 0분 이상이어야 합니다: " + spec);
+            return new AlertRule(parts[0].trim(), metric, above, threshold, minutes * 60_000L, severity);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 알림 규칙입니다: " + spec, e);
+        }
+    }
+}
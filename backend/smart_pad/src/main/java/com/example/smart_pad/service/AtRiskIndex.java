@@ -0,0 +1,109 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.config.SchedulingConfig;
+import com.example.smart_pad.controller.dto.AtRiskPatientResponse;
+import com.example.smart_pad.controller.dto.RiskScoreResponse;
+import com.example.smart_pad.service.PatientDirectory.PatientProfile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 위험 환자 순위 인덱스 ("지금 자세 변경이 필요한 환자" 우선)
+ * <pre>
+ * /topic/at-risk   상위 MAX_LIMIT 명 (바뀐 tick 에만, conflated, 관리자만 구독 - StompAuthInterceptor)
+ * </pre>
+ * - 순서: 위험 점수 내림차순 → 연속 하중 시간 내림차순 → 환자 PK
+ * - PressureRiskEngine 이 점수를 계산할 때마다 update: 이전 항목 제거 + 새 항목 추가 (skip list, O(log n))
+ * - tick(ward.tick-ms)마다 바뀐 경우에만 상위 목록을 불변 리스트로 다시 만들어 둠
+ *   → 조회는 병동 크기와 관계없이 만들어 둔 리스트를 잘라서 반환 (최대 1 tick 지연)
+ */
+@Component
+public class AtRiskIndex {
+
+    public static final String AT_RISK_TOPIC = "/topic/at-risk";
+    public static final int MAX_LIMIT = 100;
+
+    private record Entry(Long patientId, int score, long loadedSeconds, RiskScoreResponse risk) {}
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingInt(Entry::score).reversed()
+            .thenComparing(Comparator.comparingLong(Entry::loadedSeconds).reversed())
+            .thenComparing(Entry::patientId);
+
+    private final PatientDirectory patientDirectory;
+    private final SensorBroadcaster broadcaster;
+
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(ORDER);
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private volatile boolean changed;
+    private volatile List<AtRiskPatientResponse> top = List.of();
+
+    public AtRiskIndex(PatientDirectory patientDirectory, SensorBroadcaster broadcaster) {
+        this.patientDirectory = patientDirectory;
+        this.broadcaster = broadcaster;
+    }
+
+    /** 환자 점수 갱신 (환자별로 원자적: 제거와 추가 사이에 같은 환자의 다른 갱신이 끼지 않음) */
+    public void update(RiskScoreResponse risk) {
+        Entry e = new Entry(risk.getPatientId(), risk.getScore(), risk.getLoadedSeconds(), risk);
+        entries.compute(e.patientId(), (id, old) -> {
+            if (old != null) ranking.remove(old);
+            ranking.add(e);
+            return e;
+        });
+        changed = true;
+    }
+
+    public void remove(Long patientId) {
+        entries.computeIfPresent(patientId, (id, old) -> {
+            ranking.remove(old);
+            changed = true;
+            return null;
+        });
+    }
+
+    /**
+     * 상위 limit 명 (1 ~ MAX_LIMIT)
+     */
+    public List<AtRiskPatientResponse> top(int limit) {
+        List<AtRiskPatientResponse> current = top;
+        return current.subList(0, Math.min(Math.max(1, limit), current.size()));
+    }
+
+    @Scheduled(fixedRateString = "${ward.tick-ms:1000}", scheduler = SchedulingConfig.WARD_SCHEDULER)
+    public void tick() {
+        if (!changed) return;
+        changed = false;
+        List<AtRiskPatientResponse> list = new ArrayList<>(Math.min(MAX_LIMIT, entries.size()));
+        Iterator<Entry> it = ranking.iterator();
+        while (it.hasNext() && list.size() < MAX_LIMIT) {
+            list.add(toResponse(list.size() + 1, it.next().risk()));
+        }
+        top = List.copyOf(list);
+        broadcaster.publish(AT_RISK_TOPIC, top);
+    }
+
+    private AtRiskPatientResponse toResponse(int rank, RiskScoreResponse risk) {
+        PatientProfile p = patientDirectory.get(risk.getPatientId());
+        return AtRiskPatientResponse.builder()
+                .rank(rank)
+                .patientId(risk.getPatientId())
+                .name(p == null ? null : p.name())
+                .ward(p == null ? null : p.ward())
+                .score(risk.getScore())
+                .level(risk.getLevel())
+                .loadedSeconds(risk.getLoadedSeconds())
+                .sinceRepositionSeconds(risk.getSinceRepositionSeconds())
+                .timestamp(risk.getTimestamp())
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.smart_pad.service;
 
+import com.example.smart_pad.config.AuthenticatedUser;
 import com.example.smart_pad.config.JwtTokenProvider;
 import com.example.smart_pad.controller.dto.AdminDetailDto;
 import com.example.smart_pad.controller.dto.PatientDetailDto;
@@ -14,6 +15,7 @@ import com.example.smart_pad.repository.AdminDetailRepository;
 import com.example.smart_pad.repository.PatientDetailRepository;
 import com.example.smart_pad.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -33,6 +35,8 @@ public class AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final PatientDetailRepository patientDetailRepository;
     private final AdminDetailRepository adminDetailRepository;
+    private final PatientIdCache patientIdCache;
+    private final PatientDirectory patientDirectory;
 
     /**
      * 회원가입
@@ -76,7 +80,9 @@ public class AuthService {
                 detail.setSensoryPerception(dto.getSensoryPerception());
                 detail.setActivityLevel(dto.getActivityLevel());
                 detail.setMovementLevel(dto.getMovementLevel());
-                patientDetailRepository.save(detail);
+                detail.setWard(dto.getWard());
+                PatientDetail saved = patientDetailRepository.save(detail);
+                AfterCommit.run(() -> patientDirectory.update(saved));
             }
         } else if (savedUser.getRole() == UserRole.ADMIN) {
             AdminDetailDto dto = request.getAdminDetail();
@@ -111,7 +117,8 @@ public class AuthService {
             throw new BadCredentialsException("비밀번호가 일치하지 않습니다.");
         }
 
-        String token = jwtTokenProvider.createToken(user);
+        Long patientId = (user.getRole() == UserRole.PATIENT) ? patientIdCache.get(user.getId()) : null;
+        String token = jwtTokenProvider.createToken(user, patientId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("token", token);
@@ -123,6 +130,7 @@ public class AuthService {
     /**
      * 사용자 삭제
      * - 역할에 맞는 상세 엔티티부터 제거 후 사용자 삭제
+     * - 커밋 후 환자 PK 캐시/프로필을 지우고 기존 토큰을 무효화
      */
     @Transactional
     public void deleteUser(String username) {
@@ -130,15 +138,28 @@ public class AuthService {
         User user = userRepository.findByUsername(uname)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
+        Long patientId = null;
         if (user.getRole() == UserRole.PATIENT) {
-            patientDetailRepository.findByUser_Id(user.getId())
-                    .ifPresent(patientDetailRepository::delete);
+            PatientDetail pd = patientDetailRepository.findByUser_Id(user.getId()).orElse(null);
+            if (pd != null) {
+                patientDetailRepository.delete(pd);
+                patientId = pd.getId();
+            }
         } else if (user.getRole() == UserRole.ADMIN) {
             adminDetailRepository.findByUser_Id(user.getId())
                     .ifPresent(adminDetailRepository::delete);
         }
 
         userRepository.delete(user);
+        Long userId = user.getId();
+        Long removedPatientId = patientId;
+        AfterCommit.run(() -> {
+            if (removedPatientId != null) patientDirectory.remove(removedPatientId);
+            patientIdCache.invalidate(userId);
+            // 이미 발급된 토큰(patientId 클레임 포함)으로 더 이상 수집/조회하지 못하도록
+            // (재시작 후에는 JwtTokenProvider 가 캐시 미스 때 사용자 존재를 확인)
+            jwtTokenProvider.revokeUser(userId);
+        });
     }
 
     /**
@@ -159,6 +180,7 @@ public class AuthService {
                         .sensoryPerception(pd.getSensoryPerception())
                         .activityLevel(pd.getActivityLevel())
                         .movementLevel(pd.getMovementLevel())
+                        .ward(pd.getWard())
                         .build())
                 .or(() -> Optional.of(ProfileDetailResponse.builder()
                         .id(user.getId())
@@ -220,8 +242,15 @@ public class AuthService {
                 if (dto.getSensoryPerception() != null) detail.setSensoryPerception(dto.getSensoryPerception());
                 if (dto.getActivityLevel() != null) detail.setActivityLevel(dto.getActivityLevel());
                 if (dto.getMovementLevel() != null) detail.setMovementLevel(dto.getMovementLevel());
+                if (dto.getWard() != null) detail.setWard(dto.getWard());
 
-                patientDetailRepository.save(detail);
+                PatientDetail saved = patientDetailRepository.save(detail);
+                AfterCommit.run(() -> {
+                    // 환자 상세가 새로 생겼을 수 있으므로 userId → patientId 캐시 무효화
+                    patientIdCache.invalidate(userId);
+                    // 위험도/병동 등 메모리 프로필 갱신 (다음 측정값부터 반영)
+                    patientDirectory.update(saved);
+                });
             }
         } else if (user.getRole() == UserRole.ADMIN) {
             AdminDetailDto dto = request.getAdminDetail();
@@ -241,19 +270,62 @@ public class AuthService {
 
     /**
      * Authentication → 현재 로그인한 사용자 ID
-     * - SecurityContext에 세팅된 principal의 username을 기반으로 조회
+     * - JWT 클레임 기반 주체(AuthenticatedUser)면 조회 없이 반환
+     * - 그 외에는 principal의 username을 기반으로 조회
      */
     @Transactional(readOnly = true)
     public Long getUserIdFromAuthentication(Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new IllegalArgumentException("인증 정보가 없습니다.");
         }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user && user.userId() != null) {
+            return user.userId();
+        }
         String username = authentication.getName();
         return userRepository.findByUsername(username)
                 .map(User::getId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
     }
 
+    /**
+     * Authentication → 현재 로그인한 환자의 PatientDetail PK (없으면 null)
+     * - 토큰에 patientId 클레임이 있으면 그대로 사용, 없으면 PatientIdCache 로 해석
+     */
+    public Long getPatientIdFromAuthentication(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                && user.patientId() != null) {
+            return user.patientId();
+        }
+        return patientIdCache.get(getUserIdFromAuthentication(authentication));
+    }
+
+    /**
+     * 조회 대상 환자 PK
+     * - requestedPatientId 가 없으면 로그인한 환자 본인 (없으면 null)
+     * - 다른 환자 조회는 관리자(ADMIN)만 허용
+     * @throws AccessDeniedException 관리자가 아닌 사용자가 다른 환자를 지정한 경우
+     */
+    public Long resolveViewablePatientId(Authentication authentication, Long requestedPatientId) {
+        Long own = getPatientIdFromAuthentication(authentication);
+        if (requestedPatientId == null || requestedPatientId.equals(own)) return own;
+        if (!isAdmin(authentication)) {
+            throw new AccessDeniedException("다른 환자의 데이터는 관리자만 조회할 수 있습니다.");
+        }
+        return requestedPatientId;
+    }
+
+    public boolean isAdmin(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+    }
+
+    /**
+     * 사용자 ID → PatientDetail PK (캐시, 없으면 null)
+     */
+    public Long getPatientIdByUserId(Long userId) {
+        return patientIdCache.get(userId);
+    }
+
     /**
      * 로그인 사용자 ID로 PatientDetail 조회 (없으면 예외)
      */
@@ -0,0 +1,335 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.SensorReading;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 센서/식단 데이터 대량 내보내기 (CSV / NDJSON)
+ * - 결과를 메모리에 모으지 않고 행 단위로 OutputStream 에 기록 → 기간/건수와 무관하게 힙 사용 일정
+ * - 조회는 forward-only 커서 + fetchSize=Integer.MIN_VALUE (MySQL 행 스트리밍)
+ * - 센서: 청크 저장소가 켜져 있으면 chunkedTo 이전은 압축 청크를 1개씩 디코딩, 이후는 원본 행
+ * - 스트리밍 중에는 DB 커넥션을 계속 점유하므로 동시 내보내기 수를 maxConcurrent 로 제한
+ * - pressure_unit: 보정된 값은 mmHg, 아니면 raw (PressureUnits)
+ * - JdbcTemplate 은 Hibernate 의 시간대 변환을 거치지 않으므로 hibernate.jdbc.time_zone 기준으로 직접 변환
+ */
+@Service
+public class DataExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String SENSOR_CSV_HEADER = "patient_id,timestamp,pressure,pressure_unit,temperature,humidity";
+    private static final String DIET_CSV_HEADER = "id,user_id,date,meal_type,main_dish,sub_dish,protein_grams";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SensorChunkService chunkService;
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+    private final long timeoutMs;
+    private final ZoneId dbZone;
+
+    public DataExportService(JdbcTemplate jdbcTemplate,
+                             SensorChunkService chunkService,
+                             ObjectMapper objectMapper,
+                             @Value("${export.max-concurrent:2}") int maxConcurrent,
+                             @Value("${export.timeout-minutes:30}") long timeoutMinutes,
+                             @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:}") String jdbcTimeZone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkService = chunkService;
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(Math.max(1, maxConcurrent));
+        this.timeoutMs = Math.max(1, timeoutMinutes) * 60_000L;
+        this.dbZone = jdbcTimeZone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(jdbcTimeZone);
+    }
+
+    /**
+     * 내보내기 슬롯 확보 (실패 시 false → 호출 측에서 503)
+     * 성공하면 요청이 끝난 뒤(완료/타임아웃/오류) 반드시 release 를 한 번 호출
+     */
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /** 내보내기 1건의 비동기 요청 타임아웃 (다른 비동기 요청에는 적용하지 않음) */
+    public long timeoutMs() {
+        return timeoutMs;
+    }
+
+    /**
+     * 센서 측정값 내보내기 (환자 순, 환자 내 timestamp 오름차순)
+     * @param patientIds 대상 환자 PK, null 이면 전체 환자
+     */
+    public void exportSensorData(List<Long> patientIds, LocalDateTime from, LocalDateTime to,
+                                 Format format, OutputStream out) throws IOException {
+        List<Long> targets = (patientIds != null) ? patientIds
+                : jdbcTemplate.queryForList("SELECT id FROM patient_detail ORDER BY id", Long.class);
+
+        RowSink sink = sink(format, out, SENSOR_CSV_HEADER);
+        LocalDateTime chunkedTo = chunkService.chunkedTo();
+        for (Long patientId : targets) {
+            boolean fromChunks = chunkedTo != null && from.isBefore(chunkedTo);
+            LocalDateTime rawFrom = fromChunks ? (to.isBefore(chunkedTo) ? to : chunkedTo) : from;
+            if (fromChunks) streamChunks(patientId, from, rawFrom, sink);
+            if (rawFrom.isBefore(to)) {
+                stream("SELECT timestamp, pressure, temperature, humidity, pressure_calibrated FROM sensor_data " +
+                                "WHERE patient_id = ? AND timestamp >= ? AND timestamp < ? ORDER BY timestamp",
+                        ps -> {
+                            ps.setLong(1, patientId);
+                            ps.setObject(2, toDb(rawFrom));
+                            ps.setObject(3, toDb(to));
+                        },
+                        rs -> sink.sensor(patientId, fromDb(rs.getObject(1, LocalDateTime.class)),
+                                rs.getInt(2), rs.getBoolean(5), rs.getInt(3), rs.getInt(4)));
+            }
+        }
+        sink.finish();
+    }
+
+    /**
+     * 식단 기록 내보내기 (사용자 순, 날짜 오름차순)
+     * @param userId 대상 사용자 PK, null 이면 전체 사용자
+     * @param from   포함 (null 이면 제한 없음)
+     * @param to     포함 (null 이면 제한 없음)
+     */
+    public void exportDiet(Long userId, LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, user_id, date, meal_type, main_dish, sub_dish, protein_grams FROM diet_log WHERE 1 = 1");
+        if (userId != null) sql.append(" AND user_id = ?");
+        if (from != null) sql.append(" AND date >= ?");
+        if (to != null) sql.append(" AND date <= ?");
+        sql.append(" ORDER BY user_id, date, id");
+
+        RowSink sink = sink(format, out, DIET_CSV_HEADER);
+        stream(sql.toString(),
+                ps -> {
+                    int i = 1;
+                    if (userId != null) ps.setLong(i++, userId);
+                    if (from != null) ps.setObject(i++, from);
+                    if (to != null) ps.setObject(i, to);
+                },
+                rs -> sink.diet(rs.getLong(1), rs.getLong(2), rs.getObject(3, LocalDate.class),
+                        rs.getString(4), rs.getString(5), rs.getString(6), (Integer) rs.getObject(7)));
+        sink.finish();
+    }
+
+    // 청크는 구간당 1행 → 1개씩 디코딩해서 바로 기록
+    private void streamChunks(Long patientId, LocalDateTime from, LocalDateTime to, RowSink sink) {
+        long fromMs = toEpochMs(from);
+        long toMs = toEpochMs(to);
+        stream("SELECT data FROM sensor_chunk WHERE patient_id = ? AND chunk_start < ? AND chunk_end > ? " +
+                        "ORDER BY chunk_start",
+                ps -> {
+                    ps.setLong(1, patientId);
+                    ps.setObject(2, toDb(to));
+                    ps.setObject(3, toDb(from));
+                },
+                rs -> {
+                    for (SensorReading r : SensorChunkCodec.decode(patientId, rs.getBytes(1))) {
+                        if (r.timestamp() >= fromMs && r.timestamp() < toMs) {
+                            sink.sensor(patientId, r.localTimestamp(), r.pressure(), r.calibrated(),
+                                    r.temperature(), r.humidity());
+                        }
+                    }
+                });
+    }
+
+    private void stream(String sql, Binder binder, RowHandler handler) {
+        PreparedStatementCreator psc = con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // MySQL Connector/J: Integer.MIN_VALUE 면 결과를 한 번에 받지 않고 행 단위로 스트리밍
+            ps.setFetchSize(Integer.MIN_VALUE);
+            binder.bind(ps);
+            return ps;
+        };
+        jdbcTemplate.query(psc, (RowCallbackHandler) rs -> {
+            try {
+                handler.handle(rs);
+            } catch (IOException e) {
+                // 클라이언트 연결 끊김 등 → 조회 중단
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private RowSink sink(Format format, OutputStream out, String csvHeader) throws IOException {
+        return (format == Format.NDJSON) ? new NdjsonSink(out) : new CsvSink(out, csvHeader);
+    }
+
+    private LocalDateTime toDb(LocalDateTime appTime) {
+        return appTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(dbZone).toLocalDateTime();
+    }
+
+    private LocalDateTime fromDb(LocalDateTime dbTime) {
+        return dbTime.atZone(dbZone).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    private static long toEpochMs(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet rs) throws SQLException, IOException;
+    }
+
+    /**
+     * 행 1개씩 출력 형식에 맞춰 기록
+     */
+    private interface RowSink {
+        void sensor(long patientId, LocalDateTime timestamp, int pressure, boolean calibrated, int temperature,
+                    int humidity) throws IOException;
+
+        void diet(long id, long userId, LocalDate date, String mealType, String mainDish, String subDish,
+                  Integer proteinGrams) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvSink implements RowSink {
+        private final Writer w;
+
+        CsvSink(OutputStream out, String header) throws IOException {
+            this.w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            w.write(header);
+            w.write('\n');
+        }
+
+        @Override
+        public void sensor(long patientId, LocalDateTime timestamp, int pressure, boolean calibrated, int temperature,
+                           int humidity) throws IOException {
+            w.write(Long.toString(patientId));
+            w.write(',');
+            w.write(timestamp.toString());
+            w.write(',');
+            w.write(Integer.toString(pressure));
+            w.write(',');
+            w.write(PressureUnits.unitOf(calibrated));
+            w.write(',');
+            w.write(Integer.toString(temperature));
+            w.write(',');
+            w.write(Integer.toString(humidity));
+            w.write('\n');
+        }
+
+        @Override
+        public void diet(long id, long userId, LocalDate date, String mealType, String mainDish, String subDish,
+                         Integer proteinGrams) throws IOException {
+            w.write(Long.toString(id));
+            w.write(',');
+            w.write(Long.toString(userId));
+            w.write(',');
+            w.write(date.toString());
+            w.write(',');
+            text(mealType);
+            w.write(',');
+            text(mainDish);
+            w.write(',');
+            text(subDish);
+            w.write(',');
+            if (proteinGrams != null) w.write(proteinGrams.toString());
+            w.write('\n');
+        }
+
+        // RFC 4180: 쉼표/따옴표/줄바꿈이 있으면 따옴표로 감싸고 내부 따옴표는 두 번
+        // 스프레드시트가 수식으로 해석하는 값(= + - @ 탭 CR 로 시작)은 앞에 ' 를 붙여 문자열로 고정
+        private void text(String s) throws IOException {
+            if (s == null) return;
+            boolean formula = !s.isEmpty() && "=+-@\t\r".indexOf(s.charAt(0)) >= 0;
+            boolean quote = formula;
+            for (int i = 0; i < s.length() && !quote; i++) {
+                char c = s.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                w.write(s);
+                return;
+            }
+            w.write('"');
+            if (formula) w.write('\'');
+            w.write(s.replace("\"", "\"\""));
+            w.write('"');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            w.flush();
+        }
+    }
+
+    private final class NdjsonSink implements RowSink {
+        private final JsonGenerator g;
+
+        NdjsonSink(OutputStream out) throws IOException {
+            this.g = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            // 출력 스트림은 호출 측(gzip 래퍼 등)이 닫음
+            g.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // 객체 사이 기본 구분자(공백) 대신 writeRaw('\n') 만 사용
+            g.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void sensor(long patientId, LocalDateTime timestamp, int pressure, boolean calibrated, int temperature,
+                           int humidity) throws IOException {
+            g.writeStartObject();
+            g.writeNumberField("patientId", patientId);
+            g.writeStringField("timestamp", timestamp.toString());
+            g.writeNumberField("pressure", pressure);
+            g.writeStringField("pressureUnit", PressureUnits.unitOf(calibrated));
+            g.writeNumberField("temperature", temperature);
+            g.writeNumberField("humidity", humidity);
+            g.writeEndObject();
+            g.writeRaw('\n');
+        }
+
+        @Override
+        public void diet(long id, long userId, LocalDate date, String mealType, String mainDish, String subDish,
+                         Integer proteinGrams) throws IOException {
+            g.writeStartObject();
+            g.writeNumberField("id", id);
+            g.writeNumberField("userId", userId);
+            g.writeStringField("date", date.toString());
+            g.writeStringField("mealType", mealType);
+            g.writeStringField("mainDish", mainDish);
+            if (subDish != null) g.writeStringField("subDish", subDish);
+            if (proteinGrams != null) g.writeNumberField("proteinGrams", proteinGrams);
+            g.writeEndObject();
+            g.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            g.flush();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.controller.dto.SensorDataRequest;
+import com.example.smart_pad.domain.PressureFrame;
+import com.example.smart_pad.domain.SensorReading;
+import com.example.smart_pad.service.DeviceRegistry.DeviceBinding;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 장치 수집 공통 처리 (JSON / 바이너리 프레임 / 압력 매트릭스 프레임)
+ * - 인증된 호출자(DeviceBinding) 기준으로 환자를 정하고 write-behind 큐에 적재
+ * - DB 조회 없음: 환자 결정은 DeviceRegistry 메모리 인덱스만 사용
+ */
+@Service
+@RequiredArgsConstructor
+public class DeviceIngestService {
+
+    private final DeviceRegistry deviceRegistry;
+    private final SensorIngestPipeline ingestPipeline;
+    private final PressureFrameService frameService;
+    private final PressureCalibrator calibrator;
+    private final Validator validator;
+
+    /**
+     * 수집 결과
+     * - rejected: 큐가 가득 차 받지 못한 수 (항상 요청의 뒤쪽)
+     * - invalid: 검증 실패/환자를 정할 수 없어 제외된 수
+     * - firstRejected: (JSON) 큐 포화로 받지 못한 첫 항목의 요청 내 인덱스
+     * - backpressure: 큐가 가득 차 하나도 넣지 못함 (503 대상)
+     * - lastSequence: 바이너리 프레임 중 적재된 마지막 sequence (장치가 재전송 버퍼를 비우는 기준)
+     */
+    public record IngestResult(int accepted, int rejected, int invalid, Integer firstRejected,
+                               boolean backpressure, Long lastSequence) {}
+
+    public IngestResult ingestJson(DeviceBinding caller, List<SensorDataRequest> requests) {
+        long now = System.currentTimeMillis();
+        List<SensorReading> readings = new ArrayList<>(requests.size());
+        int[] indices = new int[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            SensorDataRequest req = requests.get(i);
+            if (req == null || !validator.validate(req).isEmpty()) continue;
+            SensorReading reading = toReading(caller, req, now);
+            if (reading != null) {
+                indices[readings.size()] = i;
+                readings.add(reading);
+            }
+        }
+        int accepted = ingestPipeline.offerAll(readings);
+        int rejected = readings.size() - accepted;
+        return new IngestResult(accepted, rejected, requests.size() - readings.size(),
+                rejected > 0 ? indices[accepted] : null,
+                accepted == 0 && !readings.isEmpty(), null);
+    }
+
+    /**
+     * 측정값 1건 → 환자 결정 + 장치 보정 (1x1 보정 테이블이 있으면 pressure_raw 를 mmHg 로)
+     * @return 환자를 정할 수 없으면 null
+     */
+    public SensorReading toReading(DeviceBinding caller, SensorDataRequest req, long now) {
+        Long patientId = deviceRegistry.resolvePatientId(caller, req.getDeviceId());
+        if (patientId == null) return null;
+        SensorReading r = req.toReading(patientId, now);
+        Long deviceId = deviceRegistry.resolveDeviceId(caller, req.getDeviceId());
+        return calibrator.calibrate(deviceId, r, req.getTemperature());
+    }
+
+    /**
+     * 바이너리 프레임 수집 (SensorFrameDecoder 형식)
+     * @throws IllegalArgumentException 프레임 형식 오류
+     */
+    public IngestResult ingestFrames(DeviceBinding caller, byte[] body) {
+        long now = System.currentTimeMillis();
+        List<SensorReading> readings = new ArrayList<>(body.length / SensorFrameDecoder.FRAME_SIZE);
+        long[] sequences = new long[body.length / SensorFrameDecoder.FRAME_SIZE];
+
+        int frames = SensorFrameDecoder.decode(body, (deviceId, sequence, timestamp, pressure, tempCenti, humCenti) -> {
+            Long patientId = deviceRegistry.resolvePatientId(caller, deviceId);
+            if (patientId == null) return;
+            long ts = SensorReading.clampTimestamp(timestamp, now);
+            sequences[readings.size()] = sequence;
+            Long device = deviceRegistry.resolveDeviceId(caller, deviceId);
+            readings.add(calibrator.calibrate(device, new SensorReading(patientId, pressure,
+                    Math.round(tempCenti / 100f), Math.round(humCenti / 100f), ts), tempCenti / 100.0));
+        });
+
+        int accepted = ingestPipeline.offerAll(readings);
+        return new IngestResult(accepted, readings.size() - accepted, frames - readings.size(), null,
+                accepted == 0 && !readings.isEmpty(),
+                accepted > 0 ? sequences[accepted - 1] : null);
+    }
+
+    /**
+     * 압력 매트릭스 프레임 수집 (PressureFrameDecoder 형식)
+     * - 장치 보정 테이블로 셀을 mmHg 로 변환하면서 특징(peak/평균/접촉·폐쇄 면적/압력 중심)을 함께 계산
+     * - 프레임의 최대 셀 값은 기존 단일 측정값 경로(저장/위험도/알림)로 적재
+     * - 큐에 적재된 프레임만 PressureFrameService 에 반영 (실시간 전송 + 다운샘플링 저장)
+     * @throws IllegalArgumentException 프레임 형식 오류
+     */
+    public IngestResult ingestMatrixFrames(DeviceBinding caller, byte[] body) {
+        long now = System.currentTimeMillis();
+        List<PressureFrame> matrices = new ArrayList<>();
+        List<Long> sequences = new ArrayList<>();
+
+        int frames = PressureFrameDecoder.decode(body, (deviceId, sequence, timestamp, rows, cols, cells, tempCenti, humCenti) -> {
+            Long patientId = deviceRegistry.resolvePatientId(caller, deviceId);
+            if (patientId == null) return;
+            long ts = SensorReading.clampTimestamp(timestamp, now);
+            sequences.add(sequence);
+            matrices.add(calibrator.calibrate(patientId, deviceRegistry.resolveDeviceId(caller, deviceId),
+                    ts, rows, cols, cells, tempCenti, humCenti));
+        });
+
+        int accepted = ingestPipeline.offerAll(matrices.stream().map(PressureFrame::toReading).toList());
+        for (int i = 0; i < accepted; i++) {
+            frameService.accept(matrices.get(i));
+        }
+        return new IngestResult(accepted, matrices.size() - accepted, frames - matrices.size(), null,
+                accepted == 0 && !matrices.isEmpty(),
+                accepted > 0 ? sequences.get(accepted - 1) : null);
+    }
+}
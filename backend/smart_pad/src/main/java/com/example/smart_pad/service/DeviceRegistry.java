@@ -0,0 +1,194 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.controller.dto.DeviceResponse;
+import com.example.smart_pad.domain.SensorDevice;
+import com.example.smart_pad.repository.PatientDetailRepository;
+import com.example.smart_pad.repository.SensorDeviceRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 장치 키 → 환자 매핑 메모리 인덱스
+ * - 기동 시 sensor_device 전체를 읽어 두고, 등록/해지가 커밋된 뒤 갱신 (롤백되면 그대로)
+ * - 수집 요청마다 키의 SHA-256 해시로 맵 조회 1번 (JWT 필터/DB 조회 없음)
+ * - app.ingest.key 는 게이트웨이 공용 키: 측정값에 지정된 deviceId 로 환자를 결정
+ *   비어 있거나 예전 예시 값(PLACEHOLDER_KEY)이면 게이트웨이 키를 사용하지 않음 (배포마다 직접 설정)
+ */
+@Slf4j
+@Service
+public class DeviceRegistry {
+
+    /**
+     * 인증된 호출자 → 저장할 환자
+     * - 게이트웨이(공용 키)는 deviceId/patientId 가 없고, 측정값마다 deviceId 로 환자를 정함
+     */
+    public record DeviceBinding(Long deviceId, Long patientId) {
+        public static final DeviceBinding GATEWAY = new DeviceBinding(null, null);
+
+        public boolean isGateway() {
+            return this == GATEWAY;
+        }
+    }
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    // 예전에 설정 파일에 들어 있던 예시 값 → 그대로 두면 누구나 아는 키이므로 거부
+    static final String PLACEHOLDER_KEY = "CHANGE_ME_SUPER_SECRET_KEY";
+
+    private final SensorDeviceRepository sensorDeviceRepository;
+    private final PatientDetailRepository patientDetailRepository;
+    private final byte[] gatewayKey;
+
+    private final ConcurrentMap<String, DeviceBinding> byKeyHash = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, DeviceBinding> byDeviceId = new ConcurrentHashMap<>();
+
+    public DeviceRegistry(SensorDeviceRepository sensorDeviceRepository,
+                          PatientDetailRepository patientDetailRepository,
+                          @Value("${app.ingest.key:}") String gatewayKey) {
+        this.sensorDeviceRepository = sensorDeviceRepository;
+        this.patientDetailRepository = patientDetailRepository;
+        this.gatewayKey = toGatewayKey(gatewayKey);
+    }
+
+    private static byte[] toGatewayKey(String key) {
+        if (key == null || key.isBlank()) return null;
+        if (PLACEHOLDER_KEY.equals(key.trim())) {
+            log.warn("app.ingest.key 가 예시 값이라 게이트웨이 키를 사용하지 않습니다. 배포 환경에서 직접 설정하세요.");
+            return null;
+        }
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @PostConstruct
+    void load() {
+        for (SensorDevice d : sensorDeviceRepository.findAll()) {
+            index(d);
+        }
+    }
+
+    /**
+     * 장치 키 인증
+     * @return 연결된 환자 정보, 게이트웨이 키면 GATEWAY, 등록되지 않은 키면 null
+     */
+    public DeviceBinding authenticate(String deviceKey) {
+        if (deviceKey == null || deviceKey.isEmpty()) return null;
+        if (isGatewayKey(deviceKey)) return DeviceBinding.GATEWAY;
+        return byKeyHash.get(hash(deviceKey));
+    }
+
+    /**
+     * 측정값을 저장할 환자 PK
+     * - 장치 키: 장치에 연결된 환자 (측정값의 deviceId 는 무시)
+     * - 게이트웨이 키: 측정값에 적힌 deviceId 의 환자, 모르는 장치면 null
+     */
+    public Long resolvePatientId(DeviceBinding caller, Long deviceId) {
+        if (!caller.isGateway()) return caller.patientId();
+        DeviceBinding target = (deviceId == null) ? null : byDeviceId.get(deviceId);
+        return (target == null) ? null : target.patientId();
+    }
+
+    /**
+     * 측정값을 보낸 장치 ID (보정 테이블 조회용)
+     * - 장치 키: 키에 연결된 장치 / 게이트웨이 키: 측정값에 적힌 등록된 deviceId, 모르면 null
+     */
+    public Long resolveDeviceId(DeviceBinding caller, Long deviceId) {
+        if (!caller.isGateway()) return caller.deviceId();
+        return (deviceId != null && byDeviceId.containsKey(deviceId)) ? deviceId : null;
+    }
+
+    /** 등록된 장치인지 */
+    public boolean exists(Long deviceId) {
+        return deviceId != null && byDeviceId.containsKey(deviceId);
+    }
+
+    // 게이트웨이 공용 키(app.ingest.key) 여부 (상수 시간 비교)
+    private boolean isGatewayKey(String key) {
+        if (gatewayKey == null) return false;
+        return MessageDigest.isEqual(gatewayKey, key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 장치 등록: 새 키를 발급하고 해시만 저장
+     * @return 발급된 키를 포함한 응답 (키는 이때만 확인 가능)
+     */
+    @Transactional
+    public DeviceResponse register(Long patientId, String name) {
+        if (!patientDetailRepository.existsById(patientId)) {
+            throw new IllegalArgumentException("환자 정보를 찾을 수 없습니다.");
+        }
+        byte[] raw = new byte[32];
+        RANDOM.nextBytes(raw);
+        String deviceKey = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+
+        SensorDevice device = new SensorDevice();
+        device.setName(name);
+        device.setKeyHash(hash(deviceKey));
+        device.setPatient(patientDetailRepository.getReferenceById(patientId));
+        device.setCreatedAt(LocalDateTime.now());
+        SensorDevice saved = sensorDeviceRepository.save(device);
+        AfterCommit.run(() -> index(saved));
+
+        return DeviceResponse.builder()
+                .deviceId(saved.getId())
+                .patientId(patientId)
+                .name(saved.getName())
+                .createdAt(saved.getCreatedAt())
+                .deviceKey(deviceKey)
+                .build();
+    }
+
+    /**
+     * 장치 해지: 커밋 이후 해당 키로의 수집은 즉시 거부
+     */
+    @Transactional
+    public void revoke(Long deviceId) {
+        SensorDevice device = sensorDeviceRepository.findById(deviceId)
+                .orElseThrow(() -> new IllegalArgumentException("장치를 찾을 수 없습니다."));
+        sensorDeviceRepository.delete(device);
+        String keyHash = device.getKeyHash();
+        AfterCommit.run(() -> {
+            byKeyHash.remove(keyHash);
+            byDeviceId.remove(deviceId);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<DeviceResponse> list() {
+        return sensorDeviceRepository.findAll().stream()
+                .map(d -> DeviceResponse.builder()
+                        .deviceId(d.getId())
+                        .patientId(d.getPatient().getId())
+                        .name(d.getName())
+                        .createdAt(d.getCreatedAt())
+                        .build())
+                .toList();
+    }
+
+    private void index(SensorDevice d) {
+        DeviceBinding binding = new DeviceBinding(d.getId(), d.getPatient().getId());
+        byKeyHash.put(d.getKeyHash(), binding);
+        byDeviceId.put(d.getId(), binding);
+    }
+
+    private static String hash(String key) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
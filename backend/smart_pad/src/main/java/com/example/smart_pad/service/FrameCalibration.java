@@ -0,0 +1,118 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.PressureFrame;
+
+import java.util.Arrays;
+
+/**
+ * 장치 1대의 셀별 보정 테이블 (rows×cols, 행 우선)
+ * <pre>
+ * mmHg = (raw - offset[i]) * gain[i] * k,   k = 1 / (1 + temperatureCoefficient * (T - referenceTemperature))
+ * </pre>
+ * - 결과는 0~65535 로 자르고 반올림한 정수 mmHg
+ * - rowIndex / colIndex: 셀별 행/열 번호 (커널이 압력 중심을 셀 순서대로 한 번에 계산할 때 사용)
+ * - 배열은 생성 후 수정하지 않음 (여러 수집 스레드가 공유)
+ */
+public final class FrameCalibration {
+
+    // 온도 보정 계수 범위 (잘못된 계수로 값이 뒤집히거나 폭주하지 않도록)
+    private static final float MIN_FACTOR = 0.5f;
+    private static final float MAX_FACTOR = 2f;
+
+    private final int rows;
+    private final int cols;
+    final float[] offset;
+    final float[] gain;
+    private final float temperatureCoefficient;
+    private final float referenceTemperature;
+    final int[] rowIndex;
+    final int[] colIndex;
+
+    private FrameCalibration(int rows, int cols, float[] offset, float[] gain,
+                             float temperatureCoefficient, float referenceTemperature) {
+        this.rows = rows;
+        this.cols = cols;
+        this.offset = offset;
+        this.gain = gain;
+        this.temperatureCoefficient = temperatureCoefficient;
+        this.referenceTemperature = referenceTemperature;
+        this.rowIndex = new int[rows * cols];
+        this.colIndex = new int[rows * cols];
+        for (int i = 0; i < rowIndex.length; i++) {
+            rowIndex[i] = i / cols;
+            colIndex[i] = i % cols;
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException 크기가 맞지 않거나 유한하지 않은 값이 있는 경우
+     */
+    public static FrameCalibration of(int rows, int cols, float[] offset, float[] gain,
+                                      float temperatureCoefficient, float referenceTemperature) {
+        if (rows < 1 || cols < 1 || rows > PressureFrame.MAX_DIMENSION || cols > PressureFrame.MAX_DIMENSION) {
+            throw new IllegalArgumentException("보정 테이블 크기가 올바르지 않습니다: " + rows + "x" + cols);
+        }
+        if (offset == null || gain == null || offset.length != rows * cols || gain.length != rows * cols) {
+            throw new IllegalArgumentException("offsets/gains 는 각각 rows*cols(" + rows * cols + ")개여야 합니다.");
+        }
+        for (int i = 0; i < offset.length; i++) {
+            if (!Float.isFinite(offset[i]) || !Float.isFinite(gain[i])) {
+                throw new IllegalArgumentException("보정 값은 유한한 숫자여야 합니다.");
+            }
+        }
+        if (!Float.isFinite(temperatureCoefficient) || !Float.isFinite(referenceTemperature)) {
+            throw new IllegalArgumentException("온도 보정 값은 유한한 숫자여야 합니다.");
+        }
+        return new FrameCalibration(rows, cols, offset.clone(), gain.clone(),
+                temperatureCoefficient, referenceTemperature);
+    }
+
+    /** 보정 없음 (offset 0, gain 1): 값은 그대로, 통계만 계산 */
+    public static FrameCalibration identity(int rows, int cols) {
+        float[] gain = new float[rows * cols];
+        Arrays.fill(gain, 1f);
+        return of(rows, cols, new float[rows * cols], gain, 0f, 0f);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public float offset(int i) {
+        return offset[i];
+    }
+
+    public float gain(int i) {
+        return gain[i];
+    }
+
+    public float temperatureCoefficient() {
+        return temperatureCoefficient;
+    }
+
+    public float referenceTemperature() {
+        return referenceTemperature;
+    }
+
+    public boolean matches(int rows, int cols) {
+        return this.rows == rows && this.cols == cols;
+    }
+
+    /** 측정 온도(°C)에 대한 감도 보정 배율 k */
+    public float temperatureFactor(float temperature) {
+        if (temperatureCoefficient == 0f || !Float.isFinite(temperature)) return 1f;
+        float k = 1f / (1f + temperatureCoefficient * (temperature - referenceTemperature));
+        if (!(k >= MIN_FACTOR)) return MIN_FACTOR;
+        return Math.min(k, MAX_FACTOR);
+    }
+
+    /** 셀 1개 변환 (커널과 같은 연산 순서 → 같은 결과) */
+    public static int toMmHg(int raw, float offset, float gain, float factor) {
+        float v = (raw - offset) * gain * factor;
+        return (int) (Math.min(Math.max(v, 0f), 65535f) + 0.5f);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.PressureFrame;
+
+/**
+ * 압력 프레임 보정 + 특징 추출 커널
+ * - raw 셀을 보정 테이블로 mmHg 로 변환해 out 에 쓰면서 같은 루프에서 통계(PressureFrame.Stats) 누적
+ * - raw 와 out 은 같은 배열이어도 됨 (셀마다 읽은 뒤 씀)
+ * - 구현: ScalarFrameKernel (기본), VectorFrameKernel (JDK Vector API, jdk.incubator.vector 모듈이 있을 때, src/vector)
+ */
+interface FrameKernel {
+
+    PressureFrame.Stats apply(short[] raw, FrameCalibration calibration, float factor,
+                              int contactThreshold, int closureThreshold, short[] out);
+
+    String name();
+
+    /** 셀 범위 [from, to) 를 스칼라로 처리 (스칼라 커널 본체 + 벡터 커널의 나머지 셀) */
+    static void scalar(short[] raw, FrameCalibration c, float factor, int contactThreshold, int closureThreshold,
+                       short[] out, int from, int to, Accumulator acc) {
+        for (int i = from; i < to; i++) {
+            int v = FrameCalibration.toMmHg(raw[i] & 0xFFFF, c.offset[i], c.gain[i], factor);
+            out[i] = (short) v;
+            if (v > acc.peak) acc.peak = v;
+            acc.total += v;
+            acc.rowMoment += (long) v * c.rowIndex[i];
+            acc.colMoment += (long) v * c.colIndex[i];
+            if (v >= contactThreshold) acc.contactArea++;
+            if (v >= closureThreshold) acc.closureArea++;
+        }
+    }
+
+    final class Accumulator {
+        int peak;
+        long total;
+        long rowMoment;
+        long colMoment;
+        int contactArea;
+        int closureArea;
+
+        PressureFrame.Stats toStats() {
+            return new PressureFrame.Stats(peak, total, rowMoment, colMoment, contactArea, closureArea);
+        }
+    }
+}
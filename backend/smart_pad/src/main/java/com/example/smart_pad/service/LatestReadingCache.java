@@ -0,0 +1,178 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.SensorReading;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 환자별 최근 측정값 메모리 캐시 (/api/sensor-data/latest 응답용)
+ * - 환자당 SensorRingBuffer 1개 (기본 600칸)
+ * - 수집 경로(커밋 후)에서 append, DB는 캐시 미스 시 버퍼를 채울 때만 사용
+ * - 아직 조회된 적 없는 환자의 측정값은 버퍼를 만들지 않고 건너뜀 (첫 조회 때 DB에서 채워짐)
+ * - IDLE_EVICT_MS 동안 조회가 없는 환자의 버퍼는 주기적으로 제거 (다음 조회 때 DB에서 다시 채움)
+ * - 환자별 버전: 커밋된 측정값이 들어올 때마다 1씩 증가 (ETag / long-poll 기준)
+ *   = 측정값의 순번(seq): 버퍼에 들어갈 때 발급, SSE 이벤트 id / Last-Event-ID 이어받기 기준
+ *   재시작하면 0부터 다시 시작하므로 ETag / 이벤트 id 에는 기동 시각(epoch)을 함께 사용
+ */
+@Component
+public class LatestReadingCache implements SensorReadingListener {
+
+    // 마지막 조회 후 이 시간이 지나면 버퍼 제거
+    private static final long IDLE_EVICT_MS = 30 * 60_000L;
+
+    private final SensorDataService sensorDataService;
+    private final int capacity;
+    private final ConcurrentMap<Long, SensorRingBuffer> buffers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    // 새 측정값을 기다리는 long-poll 요청 (버전이 오르면 한꺼번에 깨움)
+    private final ConcurrentMap<Long, Queue<CompletableFuture<Long>>> waiters = new ConcurrentHashMap<>();
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final List<SequencedReadingListener> sequencedListeners = new CopyOnWriteArrayList<>();
+
+    public LatestReadingCache(SensorDataService sensorDataService,
+                              @Value("${sensor.retention.max-keep:600}") int capacity) {
+        this.sensorDataService = sensorDataService;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void onReadings(List<SensorReading> readings) {
+        for (SensorReading r : readings) {
+            AtomicLong v = versions.computeIfAbsent(r.patientId(), id -> new AtomicLong());
+            SensorRingBuffer buf = buffers.get(r.patientId());
+            // writer 스레드가 여럿이므로 순번 발급 ~ 버퍼 반영 ~ 순번 리스너 호출을 환자 단위로 묶음
+            // → 버퍼/SSE 큐에 순번 순서대로 들어감
+            // 버퍼 반영이 끝난 뒤 버전 증가 → 깨어난 요청이 항상 새 값을 읽음
+            synchronized (v) {
+                long seq = v.get() + 1;
+                if (buf != null) buf.append(r, seq);
+                v.set(seq);
+                for (SequencedReadingListener l : sequencedListeners) l.onReading(seq, r);
+            }
+        }
+        for (SensorReading r : readings) {
+            Queue<CompletableFuture<Long>> q = waiters.remove(r.patientId());
+            if (q == null) continue;
+            long v = version(r.patientId());
+            for (CompletableFuture<Long> f : q) f.complete(v);
+        }
+    }
+
+    /**
+     * 순번이 발급된 측정값을 순번 순서대로 받을 리스너 등록 (SSE 스트림)
+     * - 환자 단위 락 안에서 호출되므로 빠르게 반환해야 함
+     */
+    public void addSequencedListener(SequencedReadingListener listener) {
+        sequencedListeners.add(listener);
+    }
+
+    /** 환자 스트림의 현재 버전 (기동 후 측정값이 없으면 0) */
+    public long version(Long patientId) {
+        AtomicLong v = versions.get(patientId);
+        return (v == null) ? 0L : v.get();
+    }
+
+    /** 버전의 기준 시점 (프로세스 기동 시각, ETag 구분용) */
+    public String epoch() {
+        return epoch;
+    }
+
+    /**
+     * 버전이 knownVersion 보다 커지면 완료되는 future (이미 크면 바로 완료)
+     * - 호출 측은 타임아웃/연결 종료 시 cancelWait 로 정리
+     */
+    public CompletableFuture<Long> awaitNewer(Long patientId, long knownVersion) {
+        long current = version(patientId);
+        if (current > knownVersion) return CompletableFuture.completedFuture(current);
+
+        CompletableFuture<Long> f = new CompletableFuture<>();
+        // 등록/정리를 compute 로 → 비어서 지워지는 큐에 추가되는 경우 없음
+        waiters.compute(patientId, (id, q) -> {
+            if (q == null) q = new ConcurrentLinkedQueue<>();
+            q.add(f);
+            return q;
+        });
+        // 등록과 onReadings 의 remove 사이에 버전이 올랐을 수 있으므로 다시 확인
+        current = version(patientId);
+        if (current > knownVersion) f.complete(current);
+        return f;
+    }
+
+    public void cancelWait(Long patientId, CompletableFuture<Long> f) {
+        // 마지막 대기자가 빠지면 환자 항목도 제거
+        waiters.computeIfPresent(patientId, (id, q) -> {
+            q.remove(f);
+            return q.isEmpty() ? null : q;
+        });
+        f.cancel(false);
+    }
+
+    /**
+     * 환자의 최신 측정값 최대 limit 개 (최신순)
+     */
+    public List<SensorReading> latest(Long patientId, int limit) {
+        SensorRingBuffer buf = buffer(patientId);
+        buf.touch(System.currentTimeMillis());
+        buf.ensureLoaded(() -> sensorDataService.loadRecent(patientId, capacity));
+        return buf.latest(Math.max(1, Math.min(limit, capacity)));
+    }
+
+    /**
+     * 순번이 afterSeq 보다 큰 측정값 (오래된 순) - SSE 재연결 시 이어받기용
+     * - 버퍼가 없으면 만들어 둠 → 이후 측정값부터 순번과 함께 보관
+     * - DB 이력으로 채운 값은 순번이 없어(0) 포함되지 않음
+     */
+    public List<Sequenced> since(Long patientId, long afterSeq) {
+        SensorRingBuffer buf = buffer(patientId);
+        buf.touch(System.currentTimeMillis());
+        buf.ensureLoaded(() -> sensorDataService.loadRecent(patientId, capacity));
+        return buf.since(afterSeq);
+    }
+
+    /**
+     * 버퍼 유휴 정리 시각 갱신 (SSE 처럼 조회 없이 버퍼에 기대는 경우)
+     */
+    public void touch(Long patientId) {
+        SensorRingBuffer buf = buffers.get(patientId);
+        if (buf != null) buf.touch(System.currentTimeMillis());
+    }
+
+    /**
+     * 유휴 버퍼 정리 (측정값이 계속 들어와도 조회가 없으면 제거)
+     */
+    @Scheduled(fixedRate = 60_000)
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        buffers.values().removeIf(b -> now - b.lastAccessMs() > IDLE_EVICT_MS);
+    }
+
+    private SensorRingBuffer buffer(Long patientId) {
+        SensorRingBuffer buf = buffers.get(patientId);
+        if (buf == null) {
+            SensorRingBuffer created = new SensorRingBuffer(patientId, capacity);
+            buf = buffers.putIfAbsent(patientId, created);
+            if (buf == null) buf = created;
+        }
+        return buf;
+    }
+
+    /** 순번이 붙은 측정값 */
+    public record Sequenced(long seq, SensorReading reading) {}
+
+    /** 순번 발급 직후 호출되는 리스너 (환자별 순번 순서 보장) */
+    @FunctionalInterface
+    public interface SequencedReadingListener {
+        void onReading(long seq, SensorReading reading);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.controller.dto.PatientDetailDto;
+import com.example.smart_pad.domain.PatientDetail;
+import com.example.smart_pad.repository.PatientDetailRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 환자 프로필 메모리 디렉터리 (PatientDetail PK → 이름/병동/Braden 입력값)
+ * - 시작 시 전체를 한 번에 적재, 이후 회원가입/프로필 수정/탈퇴 시 AuthService 가 갱신
+ * - 측정값 리스너(위험도/알림)와 병동 현황이 DB 조회 없이 사용
+ * - 모르는 환자는 get 이 null 을 돌려주고 다음 tick 에서 모아서 조회
+ */
+@Slf4j
+@Component
+public class PatientDirectory {
+
+    public static final String DEFAULT_WARD = "default";
+
+    /** 측정값 처리에 필요한 환자 정적 정보 (불변) */
+    public record PatientProfile(Long patientId,
+                                 Long userId,
+                                 String name,
+                                 String ward,
+                                 Double weight,
+                                 String ageRange,
+                                 String sensoryPerception,
+                                 String activityLevel,
+                                 String movementLevel) {
+
+        static PatientProfile of(PatientDetail d) {
+            // 검증 이전에 저장된 값이 토픽 경로를 깨지 않도록 형식이 다르면 기본 병동
+            String ward = (d.getWard() == null || !d.getWard().trim().matches(PatientDetailDto.WARD_PATTERN))
+                    ? DEFAULT_WARD : d.getWard().trim();
+            return new PatientProfile(d.getId(),
+                    d.getUser() == null ? null : d.getUser().getId(),
+                    d.getUser() == null ? null : d.getUser().getName(),
+                    ward, d.getWeight(), d.getAgeRange(),
+                    d.getSensoryPerception(), d.getActivityLevel(), d.getMovementLevel());
+        }
+    }
+
+    private final PatientDetailRepository patientDetailRepository;
+    private final ConcurrentMap<Long, PatientProfile> profiles = new ConcurrentHashMap<>();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    // 조회했지만 없는 PK (매 tick 재조회 방지, 가입 시 update 로 해제)
+    private final Set<Long> missing = ConcurrentHashMap.newKeySet();
+
+    public PatientDirectory(PatientDetailRepository patientDetailRepository) {
+        this.patientDetailRepository = patientDetailRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        try {
+            for (PatientDetail d : patientDetailRepository.findAllWithUser()) {
+                profiles.put(d.getId(), PatientProfile.of(d));
+            }
+            log.info("환자 프로필 {}명 적재", profiles.size());
+        } catch (Exception e) {
+            log.warn("환자 프로필 적재 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return 프로필, 아직 모르면 null (다음 tick 에 조회)
+     */
+    public PatientProfile get(Long patientId) {
+        PatientProfile p = profiles.get(patientId);
+        if (p == null && !missing.contains(patientId)) pending.add(patientId);
+        return p;
+    }
+
+    public String wardOf(Long patientId) {
+        PatientProfile p = get(patientId);
+        return (p == null) ? DEFAULT_WARD : p.ward();
+    }
+
+    public Collection<PatientProfile> all() {
+        return profiles.values();
+    }
+
+    public void update(PatientDetail detail) {
+        if (detail.getId() == null) return;
+        missing.remove(detail.getId());
+        profiles.put(detail.getId(), PatientProfile.of(detail));
+    }
+
+    public void remove(Long patientId) {
+        if (patientId != null) profiles.remove(patientId);
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void tick() {
+        if (pending.isEmpty()) return;
+        List<Long> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+        try {
+            for (PatientDetail d : patientDetailRepository.findAllWithUser(ids)) {
+                profiles.put(d.getId(), PatientProfile.of(d));
+            }
+            for (Long id : ids) {
+                if (!profiles.containsKey(id)) missing.add(id);
+            }
+        } catch (Exception e) {
+            pending.addAll(ids);
+            log.warn("환자 프로필 조회 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.repository.PatientDetailRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * userId → PatientDetail PK 로컬 캐시 (크기 제한)
+ * - 센서 수집/조회 경로에서 findByUser_Id 를 매번 실행하지 않도록 함
+ * - 환자 상세가 없는 사용자도 캐시 (NONE), 프로필 변경/회원 탈퇴 시 invalidate
+ * - DB 조회는 맵 밖에서 수행 (조회 중 같은 버킷의 다른 사용자가 막히지 않음)
+ *   조회 중 invalidate 가 있었으면 넣은 결과를 다시 지움 (오래된 값이 남지 않음)
+ * - 가득 차면 약 10%를 임의로 지워 상한 유지 (지워진 사용자는 다음 요청에서 다시 조회)
+ */
+@Component
+public class PatientIdCache {
+
+    private static final Long NONE = -1L;
+
+    private final PatientDetailRepository patientDetailRepository;
+    private final int maxSize;
+    private final ConcurrentMap<Long, Long> cache = new ConcurrentHashMap<>();
+    // invalidate 횟수 (조회 중 무효화 감지용)
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public PatientIdCache(PatientDetailRepository patientDetailRepository,
+                          @Value("${sensor.patient-id-cache.max-size:10000}") int maxSize) {
+        this.patientDetailRepository = patientDetailRepository;
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * @return 환자 PK, 환자 상세가 없으면 null
+     */
+    public Long get(Long userId) {
+        if (userId == null) return null;
+        Long id = cache.get(userId);
+        if (id == null) {
+            long seen = invalidations.get();
+            id = patientDetailRepository.findIdByUserId(userId).orElse(NONE);
+            if (cache.size() >= maxSize) evict();
+            cache.put(userId, id);
+            if (invalidations.get() != seen) cache.remove(userId, id);
+        }
+        return NONE.equals(id) ? null : id;
+    }
+
+    public void invalidate(Long userId) {
+        if (userId == null) return;
+        invalidations.incrementAndGet();
+        cache.remove(userId);
+    }
+
+    private void evict() {
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<Long> it = cache.keySet().iterator();
+        while (cache.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.controller.dto.DeviceCalibrationDto;
+import com.example.smart_pad.domain.DeviceCalibration;
+import com.example.smart_pad.domain.PressureFrame;
+import com.example.smart_pad.domain.SensorReading;
+import com.example.smart_pad.repository.DeviceCalibrationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 압력 보정 단계: 장치별 보정 테이블로 ADC raw → mmHg 변환 + 프레임 특징 추출
+ * - 기동 완료 시 device_calibration 전체를 메모리에 올리고, 변경은 커밋된 뒤 반영 (수집 경로에서 DB 조회 없음)
+ * - 프레임: 셀 변환과 peak / 평균 / 접촉 면적 / 모세혈관 폐쇄압(closure-threshold) 이상 면적 / 압력 중심을 한 루프에서 계산
+ * - 커널: JVM 이 --add-modules jdk.incubator.vector 로 실행되면 Vector API, 아니면 스칼라 (결과는 같음)
+ *   VectorFrameKernel 은 별도 소스 세트(build.gradle 참고)라 리플렉션으로 로드
+ * - 보정 테이블이 없거나 프레임 크기가 테이블과 다르면 값은 그대로(raw) 두고 통계만 계산
+ *   접촉/폐쇄 임계값(mmHg)은 PressureUnits 로 raw 환산해 비교, 결과에는 보정 여부(calibrated) 표시
+ */
+@Slf4j
+@Service
+public class PressureCalibrator {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "com.example.smart_pad.service.VectorFrameKernel";
+
+    private final DeviceCalibrationRepository calibrationRepository;
+    private final PressureUnits units;
+    private final FrameKernel kernel;
+    private final int contactThreshold;
+    private final int closureThreshold;
+
+    private final ConcurrentMap<Long, FrameCalibration> byDevice = new ConcurrentHashMap<>();
+    // 보정 없음 테이블 (크기별 1개)
+    private final ConcurrentMap<Integer, FrameCalibration> identities = new ConcurrentHashMap<>();
+
+    public PressureCalibrator(DeviceCalibrationRepository calibrationRepository,
+                              PressureUnits units,
+                              @Value("${sensor.calibration.vector-enabled:true}") boolean vectorEnabled,
+                              @Value("${sensor.frames.contact-threshold:10}") int contactThreshold,
+                              @Value("${sensor.calibration.closure-threshold:32}") int closureThreshold) {
+        this.calibrationRepository = calibrationRepository;
+        this.units = units;
+        this.kernel = selectKernel(vectorEnabled);
+        this.contactThreshold = Math.max(1, contactThreshold);
+        this.closureThreshold = Math.max(1, closureThreshold);
+        log.info("압력 보정 커널: {}", kernel.name());
+    }
+
+    /**
+     * 보정 테이블 적재 (기동 완료 후, DB 오류가 기동을 막지 않음 → 그동안 수집값은 raw 로 저장)
+     * - 적재 전에 save() 로 들어온 테이블은 덮어쓰지 않음
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            for (DeviceCalibration c : calibrationRepository.findAll()) {
+                byDevice.putIfAbsent(c.getDeviceId(), toCalibration(c));
+            }
+            log.info("장치 보정 테이블 {}개 적재", byDevice.size());
+        } catch (Exception e) {
+            log.warn("장치 보정 테이블 적재 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 장치 프레임 보정 (raw 배열을 mmHg 로 덮어씀)
+     * @param deviceId null 이면 보정 없음
+     */
+    public PressureFrame calibrate(Long patientId, Long deviceId, long timestamp, int rows, int cols, short[] raw,
+                                   int temperatureCenti, int humidityCenti) {
+        FrameCalibration c = (deviceId == null) ? null : byDevice.get(deviceId);
+        boolean calibrated = c != null && c.matches(rows, cols);
+        if (!calibrated) c = identity(rows, cols);
+        float factor = c.temperatureFactor(temperatureCenti / 100f);
+        PressureFrame.Stats stats = kernel.apply(raw, c, factor,
+                units.threshold(contactThreshold, calibrated), units.threshold(closureThreshold, calibrated), raw);
+        return PressureFrame.of(patientId, timestamp, rows, cols, raw,
+                Math.round(temperatureCenti / 100f), Math.round(humidityCenti / 100f), calibrated, stats);
+    }
+
+    /**
+     * 이미 보정된 셀(저장된 프레임)의 통계만 계산
+     */
+    public PressureFrame measure(Long patientId, long timestamp, int rows, int cols, short[] cells,
+                                 int temperature, int humidity, boolean calibrated) {
+        PressureFrame.Stats stats = kernel.apply(cells, identity(rows, cols), 1f,
+                units.threshold(contactThreshold, calibrated), units.threshold(closureThreshold, calibrated), cells);
+        return PressureFrame.of(patientId, timestamp, rows, cols, cells, temperature, humidity, calibrated, stats);
+    }
+
+    /**
+     * 단일 값 측정(pressure_raw) 보정: 장치에 1x1 테이블이 있을 때만 mmHg 로 변환 (calibrated = true)
+     */
+    public SensorReading calibrate(Long deviceId, SensorReading r, double temperature) {
+        FrameCalibration c = (deviceId == null) ? null : byDevice.get(deviceId);
+        if (c == null || !c.matches(1, 1)) return r;
+        int mmHg = FrameCalibration.toMmHg(r.pressure(), c.offset(0), c.gain(0), c.temperatureFactor((float) temperature));
+        return new SensorReading(r.patientId(), mmHg, r.temperature(), r.humidity(), r.timestamp(), true);
+    }
+
+    public DeviceCalibrationDto get(Long deviceId) {
+        return calibrationRepository.findById(deviceId).map(PressureCalibrator::toDto).orElse(null);
+    }
+
+    /**
+     * 보정 테이블 등록/교체 (커밋 후 다음 프레임부터 적용)
+     * @throws IllegalArgumentException 테이블 크기/값이 올바르지 않은 경우
+     */
+    @Transactional
+    public DeviceCalibrationDto save(Long deviceId, DeviceCalibrationDto request) {
+        if (request.getRows() == null || request.getCols() == null) {
+            throw new IllegalArgumentException("rows, cols 는 필수 입력 값입니다.");
+        }
+        float tc = (request.getTemperatureCoefficient() == null) ? 0f : request.getTemperatureCoefficient();
+        float ref = (request.getReferenceTemperature() == null) ? 25f : request.getReferenceTemperature();
+        FrameCalibration c = FrameCalibration.of(request.getRows(), request.getCols(),
+                request.getOffsets(), request.getGains(), tc, ref);
+
+        DeviceCalibration entity = calibrationRepository.findById(deviceId).orElseGet(DeviceCalibration::new);
+        entity.setDeviceId(deviceId);
+        entity.setRows(c.rows());
+        entity.setCols(c.cols());
+        entity.setOffsets(toBytes(request.getOffsets()));
+        entity.setGains(toBytes(request.getGains()));
+        entity.setTemperatureCoefficient(tc);
+        entity.setReferenceTemperature(ref);
+        entity.setUpdatedAt(LocalDateTime.now());
+        DeviceCalibration saved = calibrationRepository.save(entity);
+        AfterCommit.run(() -> byDevice.put(deviceId, c));
+        return toDto(saved);
+    }
+
+    /**
+     * 보정 테이블 삭제 (장치 해지 시에도 호출)
+     * @return 삭제 여부
+     */
+    @Transactional
+    public boolean remove(Long deviceId) {
+        boolean existed = byDevice.containsKey(deviceId);
+        if (calibrationRepository.existsById(deviceId)) {
+            calibrationRepository.deleteById(deviceId);
+            existed = true;
+        }
+        AfterCommit.run(() -> byDevice.remove(deviceId));
+        return existed;
+    }
+
+    private FrameCalibration identity(int rows, int cols) {
+        return identities.computeIfAbsent(rows * 256 + cols, k -> FrameCalibration.identity(rows, cols));
+    }
+
+    // Vector API 모듈이 없으면 VectorFrameKernel 을 로드하지 않음 (NoClassDefFoundError 방지)
+    static FrameKernel selectKernel(boolean vectorEnabled) {
+        if (!vectorEnabled) return new ScalarFrameKernel();
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            log.warn("JVM 에 {} 모듈이 없어 스칼라 보정 커널 사용 (java --add-modules {} -jar ... 로 실행하면 Vector API 사용)",
+                    VECTOR_MODULE, VECTOR_MODULE);
+            return new ScalarFrameKernel();
+        }
+        try {
+            Class<?> type = Class.forName(VECTOR_KERNEL);
+            if ((boolean) type.getDeclaredMethod("supported").invoke(null)) {
+                return (FrameKernel) type.getDeclaredConstructor().newInstance();
+            }
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Vector API 를 사용할 수 없어 스칼라 보정 커널 사용: {}", e.toString());
+        }
+        return new ScalarFrameKernel();
+    }
+
+    private static FrameCalibration toCalibration(DeviceCalibration c) {
+        return FrameCalibration.of(c.getRows(), c.getCols(), toFloats(c.getOffsets()), toFloats(c.getGains()),
+                c.getTemperatureCoefficient(), c.getReferenceTemperature());
+    }
+
+    private static DeviceCalibrationDto toDto(DeviceCalibration c) {
+        DeviceCalibrationDto dto = new DeviceCalibrationDto();
+        dto.setDeviceId(c.getDeviceId());
+        dto.setRows(c.getRows());
+        dto.setCols(c.getCols());
+        dto.setOffsets(toFloats(c.getOffsets()));
+        dto.setGains(toFloats(c.getGains()));
+        dto.setTemperatureCoefficient(c.getTemperatureCoefficient());
+        dto.setReferenceTemperature(c.getReferenceTemperature());
+        dto.setUpdatedAt(c.getUpdatedAt());
+        return dto;
+    }
+
+    private static byte[] toBytes(float[] values) {
+        ByteBuffer buf = ByteBuffer.allocate(values.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+        buf.asFloatBuffer().put(values);
+        return buf.array();
+    }
+
+    private static float[] toFloats(byte[] data) {
+        float[] values = new float[data.length / 4];
+        ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(values);
+        return values;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.smart_pad.service;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * 압력 매트릭스 셀을 저장용 압축 블록(BLOB)으로 인코딩/디코딩
+ *
+ * <pre>
+ * varint   version   (= 1)
+ * varint   rows, cols
+ * 이후 토큰 (행 우선, 직전 셀과의 차이):
+ *   (zigzag(d) << 1)     셀 1개, 직전 셀 + d
+ *   (n << 1) | 1         직전 셀과 같은 값이 n개 (n >= 2)
+ * </pre>
+ * - 접촉하지 않은 0 셀은 대부분 연속 → 긴 구간이 토큰 1~2바이트
+ * - 접촉 영역은 인접 셀 차이가 작아 셀당 1~2바이트 (원본 u16 2바이트 대비)
+ */
+public final class PressureFrameCodec {
+
+    public static final int VERSION = 1;
+
+    private PressureFrameCodec() {
+    }
+
+    public static byte[] encode(int rows, int cols, short[] cells) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + cells.length / 2);
+        writeVarint(out, VERSION);
+        writeVarint(out, rows);
+        writeVarint(out, cols);
+
+        int prev = 0;
+        int i = 0;
+        while (i < cells.length) {
+            int v = cells[i] & 0xFFFF;
+            if (v == prev) {
+                int run = 1;
+                while (i + run < cells.length && (cells[i + run] & 0xFFFF) == prev) run++;
+                if (run >= 2) {
+                    writeVarint(out, ((long) run << 1) | 1);
+                    i += run;
+                    continue;
+                }
+            }
+            long d = v - prev;
+            writeVarint(out, ((d << 1) ^ (d >> 63)) << 1);
+            prev = v;
+            i++;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param rows 기대하는 행 수 (블록 헤더와 다르면 예외)
+     * @throws IllegalArgumentException 버전/크기가 다르거나 블록이 손상된 경우
+     */
+    public static short[] decode(int rows, int cols, byte[] data) {
+        int[] pos = {0};
+        int version = (int) readVarint(data, pos);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 프레임 블록 버전입니다: " + version);
+        }
+        if (readVarint(data, pos) != rows || readVarint(data, pos) != cols) {
+            throw new IllegalArgumentException("프레임 블록 크기가 다릅니다.");
+        }
+        short[] cells = new short[rows * cols];
+        int prev = 0;
+        int i = 0;
+        while (i < cells.length) {
+            long token = readVarint(data, pos);
+            if ((token & 1) == 1) {
+                long run = token >>> 1;
+                if (run > cells.length - i) throw new IllegalArgumentException("프레임 블록이 손상되었습니다.");
+                for (long k = 0; k < run; k++) cells[i++] = (short) prev;
+            } else {
+                long z = token >>> 1;
+                prev += (int) ((z >>> 1) ^ -(z & 1));
+                cells[i++] = (short) prev;
+            }
+        }
+        return cells;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    private static long readVarint(byte[] b, int[] pos) {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (pos[0] >= b.length) throw new IllegalArgumentException("프레임 블록이 잘렸습니다.");
+            int x = b[pos[0]++] & 0xFF;
+            v |= (long) (x & 0x7F) << shift;
+            if ((x & 0x80) == 0) return v;
+        }
+        throw new IllegalArgumentException("잘못된 varint 입니다.");
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.PressureFrame;
+
+/**
+ * 압력 매트릭스 바이너리 프레임 디코더 (Content-Type: application/vnd.smartpad.frame)
+ *
+ * 프레임 1개 = 24바이트 헤더 + rows*cols*2 바이트 셀, little-endian, 바디에 여러 프레임을 이어 붙여 전송
+ * <pre>
+ * offset size 필드
+ *  0     1    version        (= 1)
+ *  1     1    rows           1~64
+ *  2     1    cols           1~64
+ *  3     1    flags          (예약, 0)
+ *  4     4    deviceId       u32  등록된 장치 ID (게이트웨이 키로 보낼 때 사용)
+ *  8     4    sequence       u32  장치별 증가 번호
+ * 12     8    timestamp      i64  epoch millis, 0 이면 서버 수신 시각
+ * 20     2    temperature    i16  0.01 °C 단위
+ * 22     2    humidity       u16  0.01 %RH 단위
+ * 24     2*n  cells          u16  ADC raw, 행 우선 (n = rows*cols)
+ * </pre>
+ * - 셀은 프레임마다 short[] 1개로 바로 복사 (셀 단위 객체 없음)
+ */
+public final class PressureFrameDecoder {
+
+    public static final String CONTENT_TYPE = "application/vnd.smartpad.frame";
+    public static final int HEADER_SIZE = 24;
+    public static final int VERSION = 1;
+
+    /** 디코딩된 프레임 1개를 원시값으로 전달받는 콜백 */
+    @FunctionalInterface
+    public interface FrameSink {
+        void accept(long deviceId, long sequence, long timestamp, int rows, int cols, short[] cells,
+                    int temperatureCenti, int humidityCenti);
+    }
+
+    private PressureFrameDecoder() {
+    }
+
+    /**
+     * @return 프레임 수
+     * @throws IllegalArgumentException 길이/크기/버전이 올바르지 않은 경우
+     */
+    public static int decode(byte[] body, FrameSink sink) {
+        int frames = 0;
+        int p = 0;
+        while (p < body.length) {
+            if (body.length - p < HEADER_SIZE) {
+                throw new IllegalArgumentException("프레임 헤더가 잘렸습니다.");
+            }
+            if ((body[p] & 0xFF) != VERSION) {
+                throw new IllegalArgumentException("지원하지 않는 프레임 버전입니다: " + (body[p] & 0xFF));
+            }
+            int rows = body[p + 1] & 0xFF;
+            int cols = body[p + 2] & 0xFF;
+            if (rows < 1 || cols < 1 || rows > PressureFrame.MAX_DIMENSION || cols > PressureFrame.MAX_DIMENSION) {
+                throw new IllegalArgumentException("프레임 크기가 올바르지 않습니다: " + rows + "x" + cols);
+            }
+            int n = rows * cols;
+            if (body.length - p - HEADER_SIZE < n * 2) {
+                throw new IllegalArgumentException("프레임 셀 데이터가 잘렸습니다.");
+            }
+
+            short[] cells = new short[n];
+            for (int i = 0, q = p + HEADER_SIZE; i < n; i++, q += 2) {
+                cells[i] = (short) u16(body, q);
+            }
+            sink.accept(u32(body, p + 4), u32(body, p + 8), i64(body, p + 12), rows, cols, cells,
+                    (short) u16(body, p + 20), u16(body, p + 22));
+            p += HEADER_SIZE + n * 2;
+            frames++;
+        }
+        return frames;
+    }
+
+    private static int u16(byte[] b, int p) {
+        return (b[p] & 0xFF) | (b[p + 1] & 0xFF) << 8;
+    }
+
+    private static long u32(byte[] b, int p) {
+        return (u16(b, p) | (long) u16(b, p + 2) << 16) & 0xFFFFFFFFL;
+    }
+
+    private static long i64(byte[] b, int p) {
+        return u32(b, p) | u32(b, p + 4) << 32;
+    }
+}
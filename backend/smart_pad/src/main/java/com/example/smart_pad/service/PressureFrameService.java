@@ -0,0 +1,197 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.controller.dto.PressureFrameResponse;
+import com.example.smart_pad.domain.PressureFrame;
+import com.example.smart_pad.domain.SensorFrame;
+import com.example.smart_pad.repository.SensorFrameRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 압력 매트릭스 프레임 처리
+ * <pre>
+ * /topic/frames/{patientId}   최신 프레임 (conflated, 전송 주기마다 환자당 최대 1개)
+ * </pre>
+ * - 환자별 최신 프레임 1장만 메모리에 보관 (latest)
+ * - 저장은 다운샘플링: store-interval-seconds 마다 환자당 1장을 압축 블록(PressureFrameCodec)으로 모아 flush
+ *   (실시간 프레임 전체는 저장하지 않음 → 셀 수 × 빈도만큼 DB 가 커지지 않음)
+ * - 저장 실패 시 반씩 나눠 다시 저장 → 문제 프레임만 버림 (DB 연결 오류면 나누지 않고 다음 flush 로 미룸)
+ * - 보관 기간(retention-days)이 지난 프레임은 청크 단위로 삭제
+ */
+@Slf4j
+@Service
+public class PressureFrameService {
+
+    public static final String FRAME_TOPIC_PREFIX = "/topic/frames/";
+
+    private final SensorFrameRepository frameRepository;
+    private final SensorBroadcaster broadcaster;
+    private final PressureCalibrator calibrator;
+    private final long storeIntervalMs;
+    private final int retentionDays;
+    private final int chunkSize;
+
+    private final ConcurrentMap<Long, PressureFrame> latest = new ConcurrentHashMap<>();
+    // 환자별 마지막으로 저장 대상이 된 프레임 시각
+    private final ConcurrentMap<Long, Long> lastStored = new ConcurrentHashMap<>();
+    // 아직 DB 에 쓰지 않은 저장 대상 프레임 (환자당 최대 1장)
+    private final ConcurrentMap<Long, PressureFrame> unsaved = new ConcurrentHashMap<>();
+    // 저장 실패로 버린 프레임 누적 수
+    private final AtomicLong dropped = new AtomicLong();
+
+    public PressureFrameService(SensorFrameRepository frameRepository,
+                                SensorBroadcaster broadcaster,
+                                PressureCalibrator calibrator,
+                                @Value("${sensor.frames.store-interval-seconds:60}") long storeIntervalSeconds,
+                                @Value("${sensor.frames.retention-days:7}") int retentionDays,
+                                @Value("${sensor.retention.chunk-size:1000}") int chunkSize) {
+        this.frameRepository = frameRepository;
+        this.broadcaster = broadcaster;
+        this.calibrator = calibrator;
+        this.storeIntervalMs = Math.max(1, storeIntervalSeconds) * 1000L;
+        this.retentionDays = Math.max(1, retentionDays);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * 수집된 프레임 반영 (장치 수집 스레드에서 호출, DB 접근 없음)
+     */
+    public void accept(PressureFrame frame) {
+        Long patientId = frame.patientId();
+        PressureFrame prev = latest.get(patientId);
+        if (prev == null || frame.timestamp() >= prev.timestamp()) {
+            latest.put(patientId, frame);
+            broadcaster.publish(FRAME_TOPIC_PREFIX + patientId, PressureFrameResponse.from(frame));
+        }
+
+        Long stored = lastStored.get(patientId);
+        if (stored == null || frame.timestamp() - stored >= storeIntervalMs) {
+            lastStored.put(patientId, frame.timestamp());
+            unsaved.put(patientId, frame);
+        }
+    }
+
+    /** 최신 프레임 (없으면 null) */
+    public PressureFrame latest(Long patientId) {
+        return latest.get(patientId);
+    }
+
+    /**
+     * [from, to) 의 저장된 프레임 (오래된 순, 최대 limit 장)
+     */
+    public List<PressureFrame> history(Long patientId, LocalDateTime from, LocalDateTime to, int limit) {
+        List<PressureFrame> out = new ArrayList<>();
+        for (SensorFrame f : frameRepository.findRange(patientId, from, to, PageRequest.of(0, limit))) {
+            short[] cells = PressureFrameCodec.decode(f.getRows(), f.getCols(), f.getData());
+            long ts = f.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            out.add(calibrator.measure(patientId, ts, f.getRows(), f.getCols(), cells,
+                    f.getTemperature() == null ? 0 : f.getTemperature(),
+                    f.getHumidity() == null ? 0 : f.getHumidity(),
+                    Boolean.TRUE.equals(f.getCalibrated())));
+        }
+        return out;
+    }
+
+    /**
+     * 저장 대상 프레임을 한 번에 저장
+     */
+    @Scheduled(fixedDelayString = "${sensor.frames.flush-interval-ms:5000}")
+    public void flush() {
+        if (unsaved.isEmpty()) return;
+        List<PressureFrame> batch = new ArrayList<>(unsaved.size());
+        for (Long patientId : new ArrayList<>(unsaved.keySet())) {
+            PressureFrame frame = unsaved.remove(patientId);
+            if (frame != null) batch.add(frame);
+        }
+        save(batch);
+    }
+
+    /** 저장 실패로 버린 프레임 누적 수 */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * 배치 저장, 실패하면 반씩 나눠 다시 저장 (엔티티는 시도마다 새로 만듦 → 롤백된 id 가 남지 않음)
+     */
+    private void save(List<PressureFrame> batch) {
+        try {
+            frameRepository.saveAll(batch.stream().map(PressureFrameService::toEntity).toList());
+        } catch (Exception e) {
+            if (isUnavailable(e)) {
+                // 프레임 문제가 아니므로 다음 flush 에서 다시 (그 사이 새 저장 대상이 생긴 환자는 새 프레임 우선)
+                batch.forEach(f -> unsaved.putIfAbsent(f.patientId(), f));
+                log.warn("압력 프레임 저장 지연 ({}장): {}", batch.size(), e.getMessage());
+                return;
+            }
+            if (batch.size() == 1) {
+                dropped.incrementAndGet();
+                log.error("압력 프레임 저장 실패로 버림 (환자 {}, 누적 {}장): {}",
+                        batch.get(0).patientId(), dropped.get(), e.getMessage(), e);
+                return;
+            }
+            int mid = batch.size() / 2;
+            save(batch.subList(0, mid));
+            save(batch.subList(mid, batch.size()));
+        }
+    }
+
+    // DB 연결/일시적 오류: 특정 프레임 때문이 아니므로 나눠서 다시 시도하지 않음
+    private static boolean isUnavailable(Exception e) {
+        return e instanceof CannotCreateTransactionException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransientDataAccessException;
+    }
+
+    /**
+     * 보관 기간이 지난 프레임 삭제
+     */
+    @Scheduled(fixedRate = 60 * 60_000L, initialDelay = 60_000L)
+    public void purge() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        long deleted = 0;
+        int n;
+        try {
+            do {
+                n = frameRepository.deleteChunkBefore(before, chunkSize);
+                deleted += n;
+            } while (n == chunkSize);
+        } catch (Exception e) {
+            log.error("압력 프레임 보관 정리 실패: {}", e.getMessage(), e);
+            return;
+        }
+        if (deleted > 0) log.info("압력 프레임 보관 정리: {}장 삭제", deleted);
+    }
+
+    private static SensorFrame toEntity(PressureFrame frame) {
+        SensorFrame f = new SensorFrame();
+        f.setPatientId(frame.patientId());
+        f.setTimestamp(frame.toReading().localTimestamp());
+        f.setRows(frame.rows());
+        f.setCols(frame.cols());
+        f.setPeak(frame.peak());
+        f.setCopRow(Double.isNaN(frame.copRow()) ? null : frame.copRow());
+        f.setCopCol(Double.isNaN(frame.copCol()) ? null : frame.copCol());
+        f.setContactArea(frame.contactArea());
+        f.setClosureArea(frame.closureArea());
+        f.setCalibrated(frame.calibrated());
+        f.setTemperature(frame.temperature());
+        f.setHumidity(frame.humidity());
+        f.setData(PressureFrameCodec.encode(frame.rows(), frame.cols(), frame.cells()));
+        return f;
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.controller.dto.RiskScoreResponse;
+import com.example.smart_pad.domain.RiskLevel;
+import com.example.smart_pad.domain.SensorReading;
+import com.example.smart_pad.service.PatientDirectory.PatientProfile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 서버 측 욕창 위험 점수 (환자별 1회 계산 → /topic/risk/{patientId} 로 전송)
+ * <pre>
+ * braden       0~40  PatientDetail 의 감각/활동/움직임(최상~하), 연령대, 체중
+ * pressure     0~25  압력 임계값 이상이 연속된 시간 (2시간에 최대)
+ * reposition   0~15  마지막 자세 변경 이후 시간 (2시간에 최대)
+ * temperature  0~10  최근 10분 평균 온도 33 → 37
+ * humidity     0~10  최근 10분 평균 습도 60 → 90
+ * </pre>
+ * - 측정값마다 O(1): 연속 하중/자세 변경은 시각 2개와 압력 기준선(EMA)만, 미세기후는 슬라이딩 윈도 합계를 증감
+ * - 자세 변경은 "지속된" 변화만 인정 (잡음 1~2건, 압력 증가는 무시)
+ *   하중 해제: 임계값의 80% 미만이 hold 동안 이어짐 (임계값~80% 사이는 하중 유지 → 히스테리시스)
+ *   하중 이동: 하중 상태에서 압력이 기준선보다 repositionDelta 이상 낮은 값이 hold 동안 이어짐
+ *             (기준선 - repositionDelta/2 위로 돌아오면 후보 취소, 기준선 + repositionDelta 이상은 기준선에 반영 안 함)
+ *   hold = HOLD_READINGS 건 이상이면서 risk.reposition-hold-seconds 이상, 자세 변경 시각은 변화가 시작된 시각
+ * - 압력 임계값/repositionDelta 는 mmHg, 보정되지 않은(raw) 측정값에는 PressureUnits 로 환산한 값을 적용
+ * - 리스너에서는 DB 를 조회하지 않음: 프로필은 PatientDirectory (아직 적재 전이면 '중' 으로 가정)
+ * - 계산한 점수는 AtRiskIndex(위험 환자 순위)에도 바로 반영
+ */
+@Component
+public class PressureRiskEngine implements SensorReadingListener {
+
+    public static final String RISK_TOPIC_PREFIX = "/topic/risk/";
+
+    static final int BRADEN_MAX = 40;
+    static final int PRESSURE_MAX = 25;
+    static final int REPOSITION_MAX = 15;
+    static final int TEMPERATURE_MAX = 10;
+    static final int HUMIDITY_MAX = 10;
+
+    // 압력/자세 점수가 최대가 되는 시간 (2시간 체위 변경 기준)
+    private static final long FULL_RISK_MS = 2 * 60 * 60_000L;
+    // 미세기후 평균 구간
+    private static final long WINDOW_MS = 10 * 60_000L;
+    // 마지막 측정 후 이 시간이 지나면 환자 상태 정리
+    private static final long IDLE_EVICT_MS = 60 * 60_000L;
+    private static final double TEMPERATURE_FROM = 33, TEMPERATURE_RANGE = 4;
+    private static final double HUMIDITY_FROM = 60, HUMIDITY_RANGE = 30;
+    private static final double BASELINE_ALPHA = 0.1;
+    // 하중 해제로 보는 수준 (임계값 대비)
+    private static final double RELEASE_RATIO = 0.8;
+    // 자세 변경으로 인정하기 위한 최소 연속 측정 건수
+    private static final int HOLD_READINGS = 3;
+
+    private final SensorBroadcaster broadcaster;
+    private final PatientDirectory patientDirectory;
+    private final AtRiskIndex atRiskIndex;
+    private final PressureUnits units;
+    private final int pressureThreshold;
+    private final int repositionDelta;
+    private final long holdMs;
+
+    private final ConcurrentMap<Long, PatientRisk> states = new ConcurrentHashMap<>();
+
+    public PressureRiskEngine(SensorBroadcaster broadcaster,
+                              PatientDirectory patientDirectory,
+                              AtRiskIndex atRiskIndex,
+                              PressureUnits units,
+                              @Value("${sensor.rollup.pressure-threshold:32}") int pressureThreshold,
+                              @Value("${risk.reposition-delta:10}") int repositionDelta,
+                              @Value("${risk.reposition-hold-seconds:10}") long holdSeconds) {
+        this.broadcaster = broadcaster;
+        this.patientDirectory = patientDirectory;
+        this.atRiskIndex = atRiskIndex;
+        this.units = units;
+        this.pressureThreshold = pressureThreshold;
+        this.repositionDelta = Math.max(1, repositionDelta);
+        this.holdMs = Math.max(0, holdSeconds) * 1000L;
+    }
+
+    @Override
+    public void onReadings(List<SensorReading> readings) {
+        Map<Long, PatientRisk> touched = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+        for (SensorReading r : readings) {
+            while (true) {
+                PatientRisk s = states.computeIfAbsent(r.patientId(), PatientRisk::new);
+                synchronized (s) {
+                    // 방금 유휴 정리된 상태면 새 상태로 다시
+                    if (s.evicted) continue;
+                    s.lastSeenMs = now;
+                    s.add(r, units.threshold(pressureThreshold, r.calibrated()),
+                            Math.max(1, units.threshold(repositionDelta, r.calibrated())), holdMs);
+                    touched.put(r.patientId(), s);
+                    break;
+                }
+            }
+        }
+
+        // 배치 안에서 환자당 1번만 계산/전송
+        for (PatientRisk s : touched.values()) {
+            int braden = bradenPoints(patientDirectory.get(s.patientId));
+            RiskScoreResponse score;
+            synchronized (s) {
+                // 그 사이 정리됐으면 위험 환자 순위에 다시 넣지 않음 (정리된 상태는 다시 제거되지 않음)
+                if (s.evicted) continue;
+                score = s.score(braden);
+                s.latest = score;
+                atRiskIndex.update(score);
+            }
+            broadcaster.publish(RISK_TOPIC_PREFIX + s.patientId, score);
+        }
+    }
+
+    /**
+     * 현재 위험 점수 (측정값이 없으면 null)
+     */
+    public RiskScoreResponse current(Long patientId) {
+        PatientRisk s = states.get(patientId);
+        return (s == null) ? null : s.latest;
+    }
+
+    /**
+     * 유휴 환자 정리
+     */
+    @Scheduled(fixedRate = 60_000)
+    public void evictIdle() {
+        evictIdle(System.currentTimeMillis());
+    }
+
+    void evictIdle(long now) {
+        for (PatientRisk s : states.values()) {
+            synchronized (s) {
+                if (now - s.lastSeenMs <= IDLE_EVICT_MS) continue;
+                s.evicted = true;
+                states.remove(s.patientId, s);
+                atRiskIndex.remove(s.patientId);
+            }
+        }
+    }
+
+    /**
+     * 프로필 → braden 점수 (0~BRADEN_MAX)
+     * - 감각/활동/움직임: 최상 0, 상 1, 중 2, 하 3 (정보 없으면 중) → 합계 0~9 를 0~30 으로
+     * - 연령대: 61~80살 +3, 81살 이상 +5 / 체중: 45kg 미만 또는 100kg 초과 +5
+     */
+    static int bradenPoints(PatientProfile d) {
+        if (d == null) return (int) Math.round(30 * 6 / 9.0);
+        int deficit = deficit(d.sensoryPerception()) + deficit(d.activityLevel()) + deficit(d.movementLevel());
+        int points = (int) Math.round(30 * deficit / 9.0);
+        if ("81살 이상".equals(d.ageRange())) points += 5;
+        else if ("61~80살".equals(d.ageRange())) points += 3;
+        Double w = d.weight();
+        if (w != null && (w < 45 || w > 100)) points += 5;
+        return Math.min(BRADEN_MAX, points);
+    }
+
+    private static int deficit(String level) {
+        if (level == null) return 2;
+        return switch (level.trim()) {
+            case "최상" -> 0;
+            case "상" -> 1;
+            case "하" -> 3;
+            default -> 2;
+        };
+    }
+
+    // value 가 from 이상일 때부터 from + range 까지 0 → max 로 선형 증가
+    private static int scale(double value, double from, double range, int max) {
+        double x = (value - from) / range;
+        return (int) Math.round(max * Math.max(0, Math.min(1, x)));
+    }
+
+    private static final class PatientRisk {
+        final Long patientId;
+        long lastSeenMs;
+        // 유휴 정리로 맵에서 빠짐 (이 상태에 더 쓰지 않음)
+        boolean evicted;
+        volatile RiskScoreResponse latest;
+
+        long lastTs;
+        long loadedSince = -1;     // 임계값 이상 하중이 시작된 시각 (-1 = 하중 없음)
+        long lastReposition = -1;
+        double baseline;           // 하중 중 압력 기준선 (EMA)
+        // 진행 중인 하중 해제 / 하중 이동 후보 (시작 시각 -1 = 없음, 연속 건수)
+        long releaseSince = -1;
+        int releaseCount;
+        long shiftSince = -1;
+        int shiftCount;
+
+        // 미세기후 슬라이딩 윈도 (시각순 링 버퍼 + 합계)
+        long[] ts = new long[64];
+        int[] temperature = new int[64];
+        int[] humidity = new int[64];
+        int head, size;
+        long temperatureSum, humiditySum;
+
+        PatientRisk(Long patientId) {
+            this.patientId = patientId;
+        }
+
+        void add(SensorReading r, int threshold, int repositionDelta, long holdMs) {
+            // 늦게 도착한 측정값은 현재 시각으로 취급 (시간이 거꾸로 가지 않도록)
+            long t = Math.max(r.timestamp(), lastTs);
+            lastTs = t;
+            int p = r.pressure();
+            if (lastReposition < 0) lastReposition = t;
+
+            if (p >= threshold) {
+                releaseSince = -1;
+                if (loadedSince < 0) {
+                    loadedSince = t;
+                    baseline = p;
+                    shiftSince = -1;
+                } else {
+                    trackShift(t, p, repositionDelta, holdMs);
+                }
+            } else if (loadedSince >= 0 && p < threshold * RELEASE_RATIO) {
+                if (releaseSince < 0) {
+                    releaseSince = t;
+                    releaseCount = 0;
+                }
+                if (++releaseCount >= HOLD_READINGS && t - releaseSince >= holdMs) {
+                    // 하중 해제
+                    loadedSince = -1;
+                    lastReposition = releaseSince;
+                    releaseSince = -1;
+                    shiftSince = -1;
+                    baseline = p;
+                }
+            } else {
+                // 하중 중 임계값 ~ 해제 수준 사이: 하중 유지, 해제 후보 취소
+                releaseSince = -1;
+            }
+
+            push(t, r.temperature(), r.humidity());
+            while (size > 0 && ts[head] <= t - WINDOW_MS) {
+                temperatureSum -= temperature[head];
+                humiditySum -= humidity[head];
+                head = (head + 1) % ts.length;
+                size--;
+            }
+        }
+
+        // 하중 상태의 압력 하락이 hold 동안 이어지면 하중 이동
+        // 기준선은 ±repositionDelta 안의 값만 따라감 → 증가 후 원래 수준으로 돌아와도 자세 변경이 아님
+        private void trackShift(long t, int p, int repositionDelta, long holdMs) {
+            if (p <= baseline - repositionDelta) {
+                if (shiftSince < 0) {
+                    shiftSince = t;
+                    shiftCount = 0;
+                }
+                if (++shiftCount >= HOLD_READINGS && t - shiftSince >= holdMs) {
+                    // 같은 부위 연속 하중도 새로 시작
+                    lastReposition = shiftSince;
+                    loadedSince = shiftSince;
+                    shiftSince = -1;
+                    baseline = p;
+                }
+                return;
+            }
+            if (shiftSince >= 0) {
+                if (p <= baseline - repositionDelta / 2.0) return; // 히스테리시스 구간: 후보 유지
+                shiftSince = -1;
+            }
+            if (p < baseline + repositionDelta) baseline += BASELINE_ALPHA * (p - baseline);
+        }
+
+        RiskScoreResponse score(int braden) {
+            long loadedMs = (loadedSince < 0) ? 0 : lastTs - loadedSince;
+            long sinceRepositionMs = lastTs - lastReposition;
+            double temperatureAvg = (size == 0) ? 0 : (double) temperatureSum / size;
+            double humidityAvg = (size == 0) ? 0 : (double) humiditySum / size;
+
+            int pressurePts = scale(loadedMs, 0, FULL_RISK_MS, PRESSURE_MAX);
+            int repositionPts = scale(sinceRepositionMs, 0, FULL_RISK_MS, REPOSITION_MAX);
+            int temperaturePts = scale(temperatureAvg, TEMPERATURE_FROM, TEMPERATURE_RANGE, TEMPERATURE_MAX);
+            int humidityPts = scale(humidityAvg, HUMIDITY_FROM, HUMIDITY_RANGE, HUMIDITY_MAX);
+            int score = braden + pressurePts + repositionPts + temperaturePts + humidityPts;
+
+            return RiskScoreResponse.builder()
+                    .patientId(patientId)
+                    .score(score)
+                    .level(RiskLevel.of(score))
+                    .braden(braden)
+                    .pressure(pressurePts)
+                    .reposition(repositionPts)
+                    .temperature(temperaturePts)
+                    .humidity(humidityPts)
+                    .loadedSeconds(loadedMs / 1000)
+                    .sinceRepositionSeconds(sinceRepositionMs / 1000)
+                    .temperatureAvg(temperatureAvg)
+                    .humidityAvg(humidityAvg)
+                    .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(lastTs), ZoneId.systemDefault()))
+                    .build();
+        }
+
+        private void push(long t, int temp, int hum) {
+            if (size == ts.length) grow();
+            int tail = (head + size) % ts.length;
+            ts[tail] = t;
+            temperature[tail] = temp;
+            humidity[tail] = hum;
+            temperatureSum += temp;
+            humiditySum += hum;
+            size++;
+        }
+
+        // 측정 주기가 짧은 장치용: 용량 2배 (상각 O(1))
+        private void grow() {
+            int n = ts.length;
+            long[] nts = new long[n * 2];
+            int[] nt = new int[n * 2];
+            int[] nh = new int[n * 2];
+            for (int i = 0; i < size; i++) {
+                int j = (head + i) % n;
+                nts[i] = ts[j];
+                nt[i] = temperature[j];
+                nh[i] = humidity[j];
+            }
+            ts = nts;
+            temperature = nt;
+            humidity = nh;
+            head = 0;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.smart_pad.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 압력 값의 단위 구분
+ * - 보정 테이블이 적용된 값은 mmHg, 아니면 장치 ADC raw (sensor_data.pressure_calibrated 로 구분)
+ * - 압력 임계값(집계 pressure_high_count, 위험도 하중/자세 변경, 알림 규칙, 프레임 접촉/폐쇄 면적)은 모두 mmHg 로 설정하고
+ *   raw 값과 비교할 때는 sensor.pressure.raw-per-mmhg 를 곱한 값을 사용
+ * - raw-per-mmhg 기본값 1 = 보정 전처럼 raw 값을 그대로 비교
+ */
+@Component
+public class PressureUnits {
+
+    public static final String MMHG = "mmHg";
+    public static final String RAW = "raw";
+
+    private final double rawPerMmHg;
+
+    public PressureUnits(@Value("${sensor.pressure.raw-per-mmhg:1.0}") double rawPerMmHg) {
+        this.rawPerMmHg = (rawPerMmHg > 0) ? rawPerMmHg : 1.0;
+    }
+
+    /**
+     * mmHg 임계값을 측정값 단위로 변환
+     * @param calibrated 측정값이 mmHg 인지 여부
+     */
+    public int threshold(int mmHg, boolean calibrated) {
+        return calibrated ? mmHg : raw(mmHg);
+    }
+
+    /** mmHg 임계값의 raw 환산값 */
+    public int raw(int mmHg) {
+        return (int) Math.round(mmHg * rawPerMmHg);
+    }
+
+    public static String unitOf(boolean calibrated) {
+        return calibrated ? MMHG : RAW;
+    }
+}
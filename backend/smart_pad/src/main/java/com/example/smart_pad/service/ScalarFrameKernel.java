@@ -0,0 +1,22 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.PressureFrame;
+
+/**
+ * 스칼라 보정 커널 (Vector API 를 쓸 수 없을 때의 기본 경로)
+ */
+final class ScalarFrameKernel implements FrameKernel {
+
+    @Override
+    public PressureFrame.Stats apply(short[] raw, FrameCalibration calibration, float factor,
+                                     int contactThreshold, int closureThreshold, short[] out) {
+        Accumulator acc = new Accumulator();
+        FrameKernel.scalar(raw, calibration, factor, contactThreshold, closureThreshold, out, 0, raw.length, acc);
+        return acc.toStats();
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
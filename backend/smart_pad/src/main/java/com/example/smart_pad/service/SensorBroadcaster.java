@@ -0,0 +1,164 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.controller.dto.SensorDataResponse;
+import com.example.smart_pad.domain.SensorReading;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 실시간 전송 전담 (WebSocket/STOMP)
+ * - 커밋이 끝난 측정값만 전송 (SensorIngestPipeline 리스너 → DB 트랜잭션이 전송을 기다리지 않음)
+ * - 엔티티가 아닌 가벼운 DTO를 한 번만 JSON 직렬화해 byte[] 로 전송 (목적지가 여러 개여도 재사용)
+ * - 토픽별 대기 슬롯 1개: 전송이 밀리면 같은 토픽의 이전 값은 최신 값으로 덮어씀(conflation)
+ *   → 큐 길이는 토픽 수를 넘지 않음
+ * - 덮어쓸 수 없는 순서형 메시지(publishInOrder)는 같은 전송 스레드가 순서대로 직렬화/전송
+ *   (호출 스레드에서 직렬화/브로커 처리를 하지 않음), MAX_PENDING_EVENTS 를 넘으면 버림
+ */
+@Slf4j
+@Component
+public class SensorBroadcaster implements SensorReadingListener, SmartLifecycle {
+
+    public static final String SENSOR_TOPIC_PREFIX = "/topic/sensordata/";
+
+    // 전송 대기 중인 순서형 메시지 상한 (전송이 밀릴 때 메모리 보호)
+    private static final int MAX_PENDING_EVENTS = 10_000;
+
+    private record Event(String destination, Object payload) {}
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    // 토픽 → 아직 보내지 않은 최신 페이로드
+    private final ConcurrentMap<String, byte[]> pending = new ConcurrentHashMap<>();
+    // 대기 페이로드가 있는 토픽 (토픽당 최대 1번 들어감) 또는 순서형 메시지(Event)
+    private final BlockingQueue<Object> ready = new LinkedBlockingQueue<>();
+    private final AtomicInteger pendingEvents = new AtomicInteger();
+
+    private volatile Thread dispatcher;
+
+    public SensorBroadcaster(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void onReadings(List<SensorReading> readings) {
+        for (SensorReading r : readings) {
+            publish(SENSOR_TOPIC_PREFIX + r.patientId(), SensorDataResponse.from(r));
+        }
+    }
+
+    /**
+     * 최신 값만 의미 있는 상태성 메시지 (conflation 대상)
+     */
+    public void publish(String destination, Object payload) {
+        publishSerialized(destination, serialize(payload));
+    }
+
+    /**
+     * 이미 직렬화된 페이로드 전송 (같은 바이트를 여러 목적지에 보낼 때)
+     */
+    public void publishSerialized(String destination, byte[] json) {
+        if (json == null) return;
+        if (pending.put(destination, json) == null) {
+            ready.offer(destination);
+        }
+    }
+
+    /**
+     * 덮어쓸 수 없는 순서형 메시지 (예: 변경분) - 전송 스레드가 넣은 순서대로 직렬화/전송
+     * @return 대기 메시지가 상한을 넘어 버렸으면 false (호출 측은 다음 메시지를 전체 값으로 보내야 함)
+     */
+    public boolean publishInOrder(String destination, Object payload) {
+        if (pendingEvents.incrementAndGet() > MAX_PENDING_EVENTS) {
+            pendingEvents.decrementAndGet();
+            return false;
+        }
+        ready.offer(new Event(destination, payload));
+        return true;
+    }
+
+    /**
+     * 이미 직렬화된 이벤트성 메시지 즉시 전송 (같은 바이트를 여러 목적지에 보낼 때)
+     */
+    public void publishSerializedNow(String destination, byte[] json) {
+        if (json != null) send(destination, json);
+    }
+
+    public byte[] serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("실시간 전송 직렬화 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void send(String destination, byte[] json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = MessageBuilder.createMessage(json, accessor.getMessageHeaders());
+        messagingTemplate.send(destination, message);
+    }
+
+    private void dispatchLoop() {
+        while (dispatcher == Thread.currentThread()) {
+            try {
+                Object item = ready.take();
+                if (item instanceof Event e) {
+                    pendingEvents.decrementAndGet();
+                    byte[] json = serialize(e.payload());
+                    if (json != null) send(e.destination(), json);
+                } else {
+                    String destination = (String) item;
+                    byte[] json = pending.remove(destination);
+                    if (json != null) send(destination, json);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                log.warn("실시간 전송 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    // ===== SmartLifecycle =====
+
+    @Override
+    public synchronized void start() {
+        if (dispatcher != null) return;
+        Thread t = new Thread(this::dispatchLoop, "sensor-broadcast");
+        t.setDaemon(true);
+        dispatcher = t;
+        t.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        Thread t = dispatcher;
+        dispatcher = null;
+        if (t != null) t.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return dispatcher != null;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.SensorReading;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 환자 1명의 일정 구간 측정값을 하나의 압축 블록(BLOB)으로 인코딩/디코딩
+ *
+ * <pre>
+ * varint   version        (= 2)
+ * varint   count
+ * 1바이트   단위 플래그      0 = 모두 raw, 1 = 모두 mmHg(보정), 2 = 측정값마다 1바이트 (값 뒤에 기록)
+ * 8바이트   첫 timestamp    epoch millis, little-endian
+ * zigzag   첫 pressure / temperature / humidity
+ * 이후 측정값마다:
+ * zigzag   timestamp delta-of-delta  (간격이 일정하면 0 → 1바이트)
+ * zigzag   pressure / temperature / humidity 직전 값과의 차이
+ * </pre>
+ * - 값은 정수라 XOR 대신 차분 + zigzag varint 사용 (천천히 변하는 센서값은 대부분 1바이트)
+ * - 1Hz 기준 측정값당 약 4~6바이트 (sensor_data 행 + 인덱스 100바이트 이상 대비)
+ * - 버전 1 블록(단위 플래그 없음)은 모두 raw 로 디코딩
+ */
+public final class SensorChunkCodec {
+
+    public static final int VERSION = 2;
+
+    private static final int UNITS_RAW = 0, UNITS_CALIBRATED = 1, UNITS_MIXED = 2;
+
+    private SensorChunkCodec() {
+    }
+
+    /**
+     * @param readings 같은 환자의 측정값, timestamp 오름차순
+     */
+    public static byte[] encode(List<SensorReading> readings) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + readings.size() * 5);
+        writeVarint(out, VERSION);
+        writeVarint(out, readings.size());
+        if (readings.isEmpty()) return out.toByteArray();
+
+        SensorReading first = readings.get(0);
+        int units = first.calibrated() ? UNITS_CALIBRATED : UNITS_RAW;
+        for (SensorReading r : readings) {
+            if (r.calibrated() != first.calibrated()) {
+                units = UNITS_MIXED;
+                break;
+            }
+        }
+        out.write(units);
+        long ts = first.timestamp();
+        for (int i = 0; i < 8; i++) {
+            out.write((int) (ts >>> (8 * i)) & 0xFF);
+        }
+        writeSigned(out, first.pressure());
+        writeSigned(out, first.temperature());
+        writeSigned(out, first.humidity());
+        if (units == UNITS_MIXED) out.write(first.calibrated() ? 1 : 0);
+
+        long prevTs = ts;
+        long prevDelta = 0;
+        int p = first.pressure(), t = first.temperature(), h = first.humidity();
+        for (int i = 1; i < readings.size(); i++) {
+            SensorReading r = readings.get(i);
+            long delta = r.timestamp() - prevTs;
+            writeSigned(out, delta - prevDelta);
+            writeSigned(out, (long) r.pressure() - p);
+            writeSigned(out, (long) r.temperature() - t);
+            writeSigned(out, (long) r.humidity() - h);
+            if (units == UNITS_MIXED) out.write(r.calibrated() ? 1 : 0);
+            prevTs = r.timestamp();
+            prevDelta = delta;
+            p = r.pressure();
+            t = r.temperature();
+            h = r.humidity();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return timestamp 오름차순 측정값
+     * @throws IllegalArgumentException 버전이 다르거나 블록이 손상된 경우
+     */
+    public static List<SensorReading> decode(Long patientId, byte[] data) {
+        Reader in = new Reader(data);
+        int version = (int) in.varint();
+        if (version != 1 && version != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 청크 버전입니다: " + version);
+        }
+        int count = (int) in.varint();
+        List<SensorReading> out = new ArrayList<>(count);
+        if (count == 0) return out;
+        int units = (version == 1) ? UNITS_RAW : in.u8();
+        if (units > UNITS_MIXED) throw new IllegalArgumentException("잘못된 단위 플래그입니다: " + units);
+
+        long ts = 0;
+        for (int i = 0; i < 8; i++) {
+            ts |= (long) in.u8() << (8 * i);
+        }
+        int p = (int) in.signed(), t = (int) in.signed(), h = (int) in.signed();
+        out.add(new SensorReading(patientId, p, t, h, ts, calibrated(in, units)));
+
+        long delta = 0;
+        for (int i = 1; i < count; i++) {
+            delta += in.signed();
+            ts += delta;
+            p += (int) in.signed();
+            t += (int) in.signed();
+            h += (int) in.signed();
+            out.add(new SensorReading(patientId, p, t, h, ts, calibrated(in, units)));
+        }
+        return out;
+    }
+
+    private static boolean calibrated(Reader in, int units) {
+        return (units == UNITS_MIXED) ? in.u8() != 0 : units == UNITS_CALIBRATED;
+    }
+
+    private static void writeSigned(ByteArrayOutputStream out, long v) {
+        writeVarint(out, (v << 1) ^ (v >> 63));
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    private static final class Reader {
+        private final byte[] b;
+        private int pos;
+
+        Reader(byte[] b) {
+            this.b = b;
+        }
+
+        int u8() {
+            if (pos >= b.length) throw new IllegalArgumentException("청크 데이터가 잘렸습니다.");
+            return b[pos++] & 0xFF;
+        }
+
+        long varint() {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int x = u8();
+                v |= (long) (x & 0x7F) << shift;
+                if ((x & 0x80) == 0) return v;
+            }
+            throw new IllegalArgumentException("잘못된 varint 입니다.");
+        }
+
+        long signed() {
+            long v = varint();
+            return (v >>> 1) ^ -(v & 1);
+        }
+    }
+}
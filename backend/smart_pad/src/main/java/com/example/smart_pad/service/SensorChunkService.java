@@ -0,0 +1,158 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.SensorChunk;
+import com.example.smart_pad.domain.SensorData;
+import com.example.smart_pad.domain.SensorReading;
+import com.example.smart_pad.repository.SensorChunkRepository;
+import com.example.smart_pad.repository.SensorDataRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * (선택) 압축 청크 저장소 - sensor.storage.chunks.enabled=true 일 때만 동작
+ * - SensorRetentionSweeper 가 원본을 지우기 전에 compact 호출:
+ *   완료된 chunkMinutes 구간의 원본을 환자별로 SensorChunkCodec 블록 1행으로 저장
+ * - 청크로 옮겨지지 않은 원본은 삭제하지 않음 (chunkedTo 이전만 삭제 대상)
+ * - 늦게 도착하는 측정값을 위해 sensor.ingest.grace-minutes 전에 끝난 구간만 청크로 만듦
+ *   (집계와 같은 유예 → 유예 안의 원본은 청크에도 집계에도 빠지지 않고 삭제되지도 않음)
+ * - 조회(readChunks)는 구간과 겹치는 청크만 읽어 디코딩 → 원본 행을 장기간 보관하지 않고도 측정값 단위 이력 제공
+ */
+@Service
+public class SensorChunkService {
+
+    private final SensorDataRepository sensorDataRepository;
+    private final SensorChunkRepository chunkRepository;
+    private final boolean enabled;
+    private final int chunkMinutes;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final long graceMinutes;
+
+    /** 이 시각 이전 원본은 청크에 반영됨 (null = 아직 한 번도 실행하지 않음) */
+    private volatile LocalDateTime chunkedTo;
+
+    public SensorChunkService(SensorDataRepository sensorDataRepository,
+                              SensorChunkRepository chunkRepository,
+                              @Value("${sensor.storage.chunks.enabled:false}") boolean enabled,
+                              @Value("${sensor.storage.chunks.minutes:10}") int chunkMinutes,
+                              @Value("${sensor.storage.chunks.retention-days:30}") int retentionDays,
+                              @Value("${sensor.retention.chunk-size:1000}") int chunkSize,
+                              @Value("${sensor.ingest.grace-minutes:5}") long graceMinutes) {
+        this.sensorDataRepository = sensorDataRepository;
+        this.chunkRepository = chunkRepository;
+        this.enabled = enabled;
+        // 구간이 매시 정각에 맞도록 60의 약수만 허용
+        this.chunkMinutes = (chunkMinutes > 0 && 60 % chunkMinutes == 0) ? chunkMinutes : 10;
+        this.retentionDays = retentionDays;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.graceMinutes = Math.max(1, graceMinutes);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** 청크에 반영된 시각 (비활성화 상태면 null) */
+    public LocalDateTime chunkedTo() {
+        return enabled ? chunkedTo : null;
+    }
+
+    /**
+     * 유예 시간 전에 끝난 구간의 원본을 청크로 저장
+     * @return 저장된 청크 수
+     */
+    public synchronized int compact(LocalDateTime now) {
+        if (!enabled) return 0;
+        LocalDateTime cutoff = floor(now.minusMinutes(graceMinutes));
+        LocalDateTime from = (chunkedTo != null) ? chunkedTo : initialFrom();
+        if (from == null) {
+            chunkedTo = cutoff;
+            return 0;
+        }
+
+        int written = 0;
+        for (LocalDateTime start = from; start.isBefore(cutoff); start = start.plusMinutes(chunkMinutes)) {
+            LocalDateTime end = start.plusMinutes(chunkMinutes);
+            written += writeWindow(start, end);
+            // 구간마다 저장 후 진행 → 중간에 실패해도 완료된 구간은 다시 만들지 않음
+            chunkedTo = end;
+        }
+        return written;
+    }
+
+    /**
+     * 보관 기간이 지난 청크 삭제
+     * @return 삭제된 행 수
+     */
+    public long purge(LocalDateTime now) {
+        if (!enabled) return 0;
+        LocalDateTime before = now.minusDays(retentionDays);
+        long deleted = 0;
+        int n;
+        do {
+            n = chunkRepository.deleteChunkBefore(before, chunkSize);
+            deleted += n;
+        } while (n == chunkSize);
+        return deleted;
+    }
+
+    /**
+     * [from, to) 의 청크 측정값 (timestamp 오름차순)
+     */
+    public List<SensorReading> readChunks(Long patientId, LocalDateTime from, LocalDateTime to) {
+        long fromMs = toEpochMs(from);
+        long toMs = toEpochMs(to);
+        List<SensorReading> out = new ArrayList<>();
+        for (SensorChunk c : chunkRepository.findOverlapping(patientId, from, to)) {
+            for (SensorReading r : SensorChunkCodec.decode(patientId, c.getData())) {
+                if (r.timestamp() >= fromMs && r.timestamp() < toMs) out.add(r);
+            }
+        }
+        return out;
+    }
+
+    private int writeWindow(LocalDateTime start, LocalDateTime end) {
+        Map<Long, List<SensorReading>> byPatient = new LinkedHashMap<>();
+        for (SensorData d : sensorDataRepository.findWindow(start, end)) {
+            byPatient.computeIfAbsent(d.getPatient().getId(), id -> new ArrayList<>()).add(SensorReading.from(d));
+        }
+        if (byPatient.isEmpty()) return 0;
+
+        List<SensorChunk> chunks = new ArrayList<>(byPatient.size());
+        byPatient.forEach((patientId, readings) -> {
+            SensorChunk c = new SensorChunk();
+            c.setPatientId(patientId);
+            c.setChunkStart(start);
+            c.setChunkEnd(end);
+            c.setSampleCount(readings.size());
+            c.setData(SensorChunkCodec.encode(readings));
+            chunks.add(c);
+        });
+        chunkRepository.saveAll(chunks);
+        return chunks.size();
+    }
+
+    // 재시작 시: 마지막 청크 다음부터, 청크가 없으면 가장 오래된 원본이 속한 구간부터
+    private LocalDateTime initialFrom() {
+        LocalDateTime lastEnd = chunkRepository.findMaxChunkEnd();
+        if (lastEnd != null) return lastEnd;
+        LocalDateTime oldest = sensorDataRepository.findMinTimestamp();
+        return (oldest == null) ? null : floor(oldest);
+    }
+
+    private LocalDateTime floor(LocalDateTime t) {
+        return t.truncatedTo(ChronoUnit.HOURS).plusMinutes((t.getMinute() / chunkMinutes) * (long) chunkMinutes);
+    }
+
+    private static long toEpochMs(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
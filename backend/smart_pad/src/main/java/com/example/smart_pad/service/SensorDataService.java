@@ -1,90 +1,240 @@
 package com.example.smart_pad.service;
 
+import com.example.smart_pad.controller.dto.SensorAggregateResponse;
 import com.example.smart_pad.domain.PatientDetail;
 import com.example.smart_pad.domain.SensorData;
+import com.example.smart_pad.domain.SensorReading;
+import com.example.smart_pad.repository.PatientDetailRepository;
 import com.example.smart_pad.repository.SensorDataRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
 public class SensorDataService {
 
     private final SensorDataRepository sensorDataRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final PatientDetailRepository patientDetailRepository;
+    private final EntityManager entityManager;
+    private final SensorRollupService rollupService;
+    private final SensorChunkService chunkService;
 
-    // 보존 상한: 10분 ~= 600초 (1초 간격 수집)
+    // 조회 상한: 10분 ~= 600초 (1초 간격 수집, SensorRetentionSweeper 보관 상한과 동일)
     private static final int MAX_KEEP = 600;
 
+    // hibernate.jdbc.batch_size 와 맞춰 flush/clear 주기로 사용
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int jdbcBatchSize;
+
     /**
-     * 센서 데이터 저장 + 실시간 전송 + 보관 정책(10분 초과/600개 초과) 정리
+     * 여러 환자의 센서 데이터를 한 트랜잭션에서 JDBC 배치 INSERT로 저장
+     * - SensorIngestPipeline writer 스레드가 마이크로 배치 단위로 호출
+     * - 환자는 getReferenceById 프록시로만 참조 (추가 SELECT 없음, 존재 여부는 호출 측에서 확인)
+     * - jdbcBatchSize 단위로 flush/clear → 영속성 컨텍스트가 배치 크기 이상 커지지 않음
+     * - 실시간 전송은 커밋 이후 SensorBroadcaster 가 담당 (트랜잭션 안에서 전송하지 않음)
+     * - 보관 정책은 SensorRetentionSweeper 가 주기적으로 적용 (저장 경로에서는 삭제하지 않음)
+     *
+     * @return 저장된 건수
      */
     @Transactional
-    public SensorData saveAndProcessSensorData(Integer pressure,
-                                               Integer temperature,
-                                               Integer humidity,
-                                               PatientDetail patient) {
+    public int saveBatch(List<SensorReading> readings) {
+        if (readings.isEmpty()) return 0;
 
-        // 1) 생성 & 저장 (timestamp는 now)
-        SensorData d = new SensorData();
-        d.setPressure(pressure);
-        d.setTemperature(temperature);
-        d.setHumidity(humidity);
-        d.setTimestamp(LocalDateTime.now());
-        d.setPatient(patient);
+        Map<Long, PatientDetail> patients = new HashMap<>();
+        List<SensorData> chunk = new ArrayList<>(jdbcBatchSize);
 
-        SensorData saved = sensorDataRepository.save(d);
+        for (SensorReading r : readings) {
+            PatientDetail patient = patients.computeIfAbsent(
+                    r.patientId(), patientDetailRepository::getReferenceById);
 
-        // 2) 실시간 전송 (WebSocketConfig의 broker 설정과 경로 일치)
-        messagingTemplate.convertAndSend("/topic/sensordata/" + patient.getId(), saved);
+            SensorData d = new SensorData();
+            d.setPressure(r.pressure());
+            d.setPressureCalibrated(r.calibrated());
+            d.setTemperature(r.temperature());
+            d.setHumidity(r.humidity());
+            d.setTimestamp(r.localTimestamp());
+            d.setPatient(patient);
+            chunk.add(d);
 
-        // 3) 보관 정책 적용
-        pruneOldAndExcess(patient);
+            if (chunk.size() >= jdbcBatchSize) {
+                flushChunk(chunk);
+                // clear 이후 프록시는 detach 되므로 다음 청크에서 다시 참조
+                patients.clear();
+            }
+        }
+        flushChunk(chunk);
+        return readings.size();
+    }
 
-        return saved;
+    /**
+     * 주어진 PatientDetail PK 중 존재하는 것만 반환 (배치 전체에 대해 쿼리 1회)
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> findExistingPatientIds(Collection<Long> patientIds) {
+        if (patientIds.isEmpty()) return Set.of();
+        return new HashSet<>(patientDetailRepository.findExistingIds(patientIds));
     }
 
     /**
      * 환자 기준 최신 N개 조회 (timestamp DESC)
+     * - LatestReadingCache 가 캐시 미스 시 링 버퍼를 채우는 용도
      */
     @Transactional(readOnly = true)
-    public List<SensorData> getLatestForPatient(PatientDetail patient, int limit) {
+    public List<SensorReading> loadRecent(Long patientId, int limit) {
         int pageSize = Math.max(1, Math.min(limit, MAX_KEEP));
-        var page = sensorDataRepository.findByPatient(
-                patient,
+        var page = sensorDataRepository.findByPatient_Id(
+                patientId,
                 PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "timestamp"))
         );
-        return page.getContent();
+        return page.getContent().stream().map(SensorReading::from).toList();
     }
 
     /**
-     * 10분 초과 데이터 삭제 + 600개 초과분 삭제(오래된 것부터)
+     * 기간 구간 집계 (DB에서 GROUP BY, 구간 수만큼만 읽음)
+     * - bucket 이 1시간/1분의 배수면 집계 테이블에서 조회 → 모니터링 기간이 길어도 조회 비용 일정
+     *   아직 집계되지 않은 최근 구간(rolledUpTo 이후)은 원본에서 계산해 같은 구간끼리 합침
+     * - 구간 기준 시각(origin): 집계 테이블 사용 시 from 을 시/분 단위로 내림, 아니면 from
+     *   → [origin + i*bucket, origin + (i+1)*bucket)
+     * @return 측정값이 있는 구간만, 시간순 최대 limit 개
      */
-    private void pruneOldAndExcess(PatientDetail patient) {
-        // 10분 초과 데이터 일괄 삭제
-        sensorDataRepository.deleteByPatientAndTimestampBefore(
-                patient,
-                LocalDateTime.now().minusMinutes(10)
-        );
+    @Transactional(readOnly = true)
+    public List<SensorAggregateResponse> aggregateRange(Long patientId, LocalDateTime from, LocalDateTime to,
+                                                        long bucketSeconds, int limit) {
+        int threshold = rollupService.getPressureThreshold();
+        int rawThreshold = rollupService.getRawPressureThreshold();
+        ChronoUnit tier = SensorRollupService.tierFor(bucketSeconds);
+        LocalDateTime rolledUpTo = rollupService.rolledUpTo();
 
-        // 600개 초과 시 오래된 데이터 삭제
-        long count = sensorDataRepository.countByPatient(patient);
-        if (count > MAX_KEEP) {
-            int toRemove = (int) (count - MAX_KEEP);
-            var oldPage = sensorDataRepository.findByPatient(
-                    patient,
-                    PageRequest.of(0, toRemove, Sort.by(Sort.Direction.ASC, "timestamp"))
-            );
-            if (!oldPage.isEmpty()) {
-                sensorDataRepository.deleteAll(oldPage.getContent());
+        TreeMap<Long, Bucket> buckets = new TreeMap<>();
+        LocalDateTime origin = from;
+        LocalDateTime rawFrom = from;
+        if (tier != null && rolledUpTo != null && from.isBefore(rolledUpTo)) {
+            origin = from.truncatedTo(tier);
+            rawFrom = to.isBefore(rolledUpTo) ? to : rolledUpTo;
+            merge(buckets, rollupService.aggregate(tier, patientId, origin, origin, rawFrom, bucketSeconds, limit));
+        }
+        if (rawFrom.isBefore(to)) {
+            merge(buckets, sensorDataRepository.aggregateBuckets(
+                    patientId, origin, rawFrom, to, bucketSeconds, threshold, rawThreshold, limit));
+        }
+
+        List<SensorAggregateResponse> out = new ArrayList<>(Math.min(buckets.size(), limit));
+        for (var e : buckets.entrySet()) {
+            if (out.size() == limit) break;
+            LocalDateTime start = origin.plusSeconds(e.getKey() * bucketSeconds);
+            LocalDateTime end = start.plusSeconds(bucketSeconds);
+            out.add(e.getValue().toResponse(start, end.isAfter(to) ? to : end));
+        }
+        return out;
+    }
+
+    /**
+     * 기간 측정값 원본 이력 (timestamp 오름차순, 최대 limit 개)
+     * - 청크 저장소가 켜져 있으면 chunkedTo 이전은 압축 청크를 디코딩, 이후는 원본 행에서 조회
+     */
+    @Transactional(readOnly = true)
+    public List<SensorReading> history(Long patientId, LocalDateTime from, LocalDateTime to, int limit) {
+        List<SensorReading> out = new ArrayList<>();
+        LocalDateTime rawFrom = from;
+        LocalDateTime chunkedTo = chunkService.chunkedTo();
+        if (chunkedTo != null && from.isBefore(chunkedTo)) {
+            LocalDateTime split = to.isBefore(chunkedTo) ? to : chunkedTo;
+            for (SensorReading r : chunkService.readChunks(patientId, from, split)) {
+                if (out.size() == limit) return out;
+                out.add(r);
             }
+            rawFrom = split;
         }
+        if (rawFrom.isBefore(to) && out.size() < limit) {
+            for (SensorData d : sensorDataRepository.findRange(
+                    patientId, rawFrom, to, PageRequest.of(0, limit - out.size()))) {
+                out.add(SensorReading.from(d));
+            }
+        }
+        return out;
+    }
+
+    private static void merge(TreeMap<Long, Bucket> buckets, List<SensorDataRepository.BucketRow> rows) {
+        for (SensorDataRepository.BucketRow row : rows) {
+            buckets.computeIfAbsent(row.getBucketIndex(), k -> new Bucket()).add(row);
+        }
+    }
+
+    /**
+     * 집계 테이블/원본에서 나온 같은 구간 결과를 합치는 누적기 (평균은 건수 가중)
+     */
+    private static final class Bucket {
+        long count;
+        long highCount;
+        Integer pMin, pMax, tMin, tMax, hMin, hMax;
+        double pSum, tSum, hSum;
+
+        void add(SensorDataRepository.BucketRow row) {
+            long n = row.getCnt();
+            if (n == 0) return;
+            count += n;
+            highCount += (row.getPressureHighCount() == null) ? 0 : row.getPressureHighCount();
+            pMin = min(pMin, row.getPressureMin());
+            pMax = max(pMax, row.getPressureMax());
+            tMin = min(tMin, row.getTemperatureMin());
+            tMax = max(tMax, row.getTemperatureMax());
+            hMin = min(hMin, row.getHumidityMin());
+            hMax = max(hMax, row.getHumidityMax());
+            pSum += avg(row.getPressureAvg()) * n;
+            tSum += avg(row.getTemperatureAvg()) * n;
+            hSum += avg(row.getHumidityAvg()) * n;
+        }
+
+        SensorAggregateResponse toResponse(LocalDateTime start, LocalDateTime end) {
+            return SensorAggregateResponse.builder()
+                    .from(start)
+                    .to(end)
+                    .count((int) count)
+                    .pressureMin(orZero(pMin)).pressureMax(orZero(pMax)).pressureAvg(pSum / count)
+                    .temperatureMin(orZero(tMin)).temperatureMax(orZero(tMax)).temperatureAvg(tSum / count)
+                    .humidityMin(orZero(hMin)).humidityMax(orZero(hMax)).humidityAvg(hSum / count)
+                    .pressureHighCount(highCount)
+                    .build();
+        }
+
+        private static Integer min(Integer a, Integer b) {
+            return (a == null) ? b : (b == null) ? a : Integer.valueOf(Math.min(a, b));
+        }
+
+        private static Integer max(Integer a, Integer b) {
+            return (a == null) ? b : (b == null) ? a : Integer.valueOf(Math.max(a, b));
+        }
+
+        private static double avg(Double v) {
+            return (v == null) ? 0 : v;
+        }
+
+        private static int orZero(Integer v) {
+            return (v == null) ? 0 : v;
+        }
+    }
+
+    private void flushChunk(List<SensorData> chunk) {
+        if (chunk.isEmpty()) return;
+        sensorDataRepository.saveAll(chunk);
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
     }
 }
@@ -0,0 +1,181 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.controller.dto.SensorDataResponse;
+import com.example.smart_pad.domain.SensorReading;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-Sent Events 실시간 스트림 (STOMP 를 쓰지 않는 대시보드/브라우저용)
+ * - LatestReadingCache 가 순번을 발급한 직후 환자별 순번 순서대로 전달받음
+ * - 측정값 1건당 JSON 직렬화 1번, 같은 환자 구독자들이 공유
+ * - 구독자마다 가상 스레드 1개 + 작은 큐: 느린 연결이 writer 스레드를 막지 않고,
+ *   대기 중인 스트림은 플랫폼 스레드를 점유하지 않음 (요청 스레드는 SseEmitter 로 즉시 반환)
+ * - 이벤트 id = "{기동 epoch}-{순번}" → Last-Event-ID 로 재연결하면 링 버퍼에서 순번 이후를 이어서 전송
+ *   (측정 시각은 같은 ms 에 여러 건이거나 순서가 뒤바뀌어 도착할 수 있어 id 로 쓰지 않음)
+ *   재시작 전 id 면 이 프로세스에서 버퍼에 들어온 측정값 전체를 전송
+ * - 큐가 넘치면 연결을 끊음 → 클라이언트가 Last-Event-ID 로 재연결해 빠진 부분을 받음
+ */
+@Slf4j
+@Component
+public class SensorEventStream {
+
+    private static final String EVENT_NAME = "sensor";
+    private static final int QUEUE_CAPACITY = 256;
+    // 프록시가 유휴 연결을 끊지 않도록 보내는 주석(heartbeat) 간격
+    private static final long HEARTBEAT_MS = 20_000L;
+    // 스트림이 열려 있는 동안 링 버퍼가 유휴 정리되지 않도록 갱신하는 간격
+    private static final long TOUCH_MS = 60_000L;
+
+    private final LatestReadingCache latestReadingCache;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+
+    private final ConcurrentMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public SensorEventStream(LatestReadingCache latestReadingCache,
+                             ObjectMapper objectMapper,
+                             @Value("${sensor.sse.timeout-ms:1800000}") long timeoutMs) {
+        this.latestReadingCache = latestReadingCache;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        latestReadingCache.addSequencedListener(this::onReading);
+    }
+
+    /**
+     * 환자 스트림 구독
+     * @param lastEventId 재연결 시 마지막으로 받은 이벤트 id (없거나 알 수 없는 형식이면 새 측정값부터)
+     */
+    public SseEmitter subscribe(Long patientId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber s = new Subscriber(patientId, emitter);
+
+        // 이어받기 목록보다 먼저 등록 → 그 사이 들어온 측정값은 큐에 쌓이고 순번으로 중복 제거
+        subscribers.computeIfAbsent(patientId, id -> ConcurrentHashMap.newKeySet()).add(s);
+        emitter.onCompletion(() -> remove(s));
+        emitter.onTimeout(() -> remove(s));
+        emitter.onError(e -> remove(s));
+
+        Long resumeAfter = parseEventId(lastEventId);
+        long afterSeq = (resumeAfter != null) ? resumeAfter : latestReadingCache.version(patientId);
+        Thread.ofVirtual().name("sse-" + patientId).start(() -> s.run(afterSeq));
+        return emitter;
+    }
+
+    private void onReading(long seq, SensorReading r) {
+        if (subscribers.isEmpty()) return;
+        Set<Subscriber> set = subscribers.get(r.patientId());
+        if (set == null || set.isEmpty()) return;
+        Event event = toEvent(seq, r);
+        if (event == null) return;
+        for (Subscriber s : set) {
+            if (!s.queue.offer(event)) {
+                // 따라오지 못하는 연결 → 끊고 재연결 시 Last-Event-ID 로 복구
+                s.emitter.complete();
+                remove(s);
+            }
+        }
+    }
+
+    /**
+     * Last-Event-ID → 이어받을 기준 순번
+     * @return 형식이 다르면 null, 다른 기동(epoch)의 id 면 0
+     */
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null) return null;
+        String id = lastEventId.trim();
+        int dash = id.lastIndexOf('-');
+        if (dash <= 0) return null;
+        try {
+            long seq = Long.parseLong(id.substring(dash + 1));
+            return id.substring(0, dash).equals(latestReadingCache.epoch()) ? seq : 0L;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Event toEvent(long seq, SensorReading r) {
+        try {
+            return new Event(seq, objectMapper.writeValueAsString(SensorDataResponse.from(r)));
+        } catch (JsonProcessingException e) {
+            log.warn("SSE 직렬화 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void remove(Subscriber s) {
+        s.closed = true;
+        Set<Subscriber> set = subscribers.get(s.patientId);
+        if (set != null) {
+            set.remove(s);
+            if (set.isEmpty()) subscribers.remove(s.patientId, set);
+        }
+    }
+
+    private record Event(long seq, String json) {}
+
+    private final class Subscriber {
+        final Long patientId;
+        final SseEmitter emitter;
+        final BlockingQueue<Event> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+        volatile boolean closed;
+        long lastSentSeq;
+
+        Subscriber(Long patientId, SseEmitter emitter) {
+            this.patientId = patientId;
+            this.emitter = emitter;
+        }
+
+        void run(long afterSeq) {
+            lastSentSeq = afterSeq;
+            try {
+                // 버퍼가 없으면 여기서 만들어짐 → 이후 측정값은 순번과 함께 보관되어 재연결 시 이어받기 가능
+                for (LatestReadingCache.Sequenced r : latestReadingCache.since(patientId, afterSeq)) {
+                    Event e = toEvent(r.seq(), r.reading());
+                    if (e != null && e.seq() > lastSentSeq) send(e);
+                }
+                long touchedAt = System.currentTimeMillis();
+                while (!closed) {
+                    Event e = queue.poll(HEARTBEAT_MS, TimeUnit.MILLISECONDS);
+                    if (e == null) {
+                        emitter.send(SseEmitter.event().comment(""));
+                    } else if (e.seq() > lastSentSeq) {
+                        send(e);
+                    }
+                    long now = System.currentTimeMillis();
+                    if (now - touchedAt >= TOUCH_MS) {
+                        latestReadingCache.touch(patientId);
+                        touchedAt = now;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트 연결 종료
+                remove(this);
+            } catch (InterruptedException e) {
+                remove(this);
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void send(Event e) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(latestReadingCache.epoch() + "-" + e.seq())
+                    .name(EVENT_NAME)
+                    .data(e.json(), MediaType.APPLICATION_JSON));
+            lastSentSeq = e.seq();
+        }
+    }
+}
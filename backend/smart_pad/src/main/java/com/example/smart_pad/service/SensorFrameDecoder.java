@@ -0,0 +1,77 @@
+package com.example.smart_pad.service;
+
+/**
+ * ESP32 바이너리 수집 프레임 디코더 (Content-Type: application/octet-stream)
+ *
+ * 프레임 1개 = 24바이트 고정, little-endian, 바디에 여러 프레임을 이어 붙여 전송
+ * <pre>
+ * offset size 필드
+ *  0     1    version        (= 1)
+ *  1     1    flags          (예약, 0)
+ *  2     2    pressure       u16  ADC raw (pressure_raw)
+ *  4     4    deviceId       u32  등록된 장치 ID (게이트웨이 키로 보낼 때 사용)
+ *  8     4    sequence       u32  장치별 증가 번호 (응답의 lastSequence 로 확인)
+ * 12     8    timestamp      i64  epoch millis, 0 이면 서버 수신 시각
+ * 20     2    temperature    i16  0.01 °C 단위
+ * 22     2    humidity       u16  0.01 %RH 단위
+ * </pre>
+ * - JSON 대비 약 1/4 크기, 파싱은 바이트 배열에서 바로 읽어 중간 객체를 만들지 않음
+ */
+public final class SensorFrameDecoder {
+
+    public static final String CONTENT_TYPE = "application/octet-stream";
+    public static final int FRAME_SIZE = 24;
+    public static final int VERSION = 1;
+
+    /** 디코딩된 프레임 1개를 원시값으로 전달받는 콜백 */
+    @FunctionalInterface
+    public interface FrameSink {
+        void accept(long deviceId, long sequence, long timestamp,
+                    int pressure, int temperatureCenti, int humidityCenti);
+    }
+
+    private SensorFrameDecoder() {
+    }
+
+    /**
+     * body[offset, offset+length) 의 프레임을 순서대로 sink 에 전달
+     * @return 프레임 수
+     * @throws IllegalArgumentException 길이가 프레임 크기의 배수가 아니거나 버전이 다른 경우
+     */
+    public static int decode(byte[] body, int offset, int length, FrameSink sink) {
+        if (length % FRAME_SIZE != 0) {
+            throw new IllegalArgumentException("프레임 길이가 올바르지 않습니다. (" + FRAME_SIZE + "바이트 단위)");
+        }
+        int frames = length / FRAME_SIZE;
+        for (int i = 0, p = offset; i < frames; i++, p += FRAME_SIZE) {
+            if ((body[p] & 0xFF) != VERSION) {
+                throw new IllegalArgumentException("지원하지 않는 프레임 버전입니다: " + (body[p] & 0xFF));
+            }
+            sink.accept(
+                    u32(body, p + 4),
+                    u32(body, p + 8),
+                    i64(body, p + 12),
+                    u16(body, p + 2),
+                    (short) u16(body, p + 20),
+                    u16(body, p + 22)
+            );
+        }
+        return frames;
+    }
+
+    public static int decode(byte[] body, FrameSink sink) {
+        return decode(body, 0, body.length, sink);
+    }
+
+    private static int u16(byte[] b, int p) {
+        return (b[p] & 0xFF) | (b[p + 1] & 0xFF) << 8;
+    }
+
+    private static long u32(byte[] b, int p) {
+        return (u16(b, p) | (long) u16(b, p + 2) << 16) & 0xFFFFFFFFL;
+    }
+
+    private static long i64(byte[] b, int p) {
+        return u32(b, p) | u32(b, p + 4) << 32;
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.SensorReading;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 센서 데이터 write-behind 수집 파이프라인
+ * - 요청 스레드는 유한 큐에 넣기만 하고 바로 202 응답 (DB 지연과 분리)
+ * - writer 스레드들이 큐를 마이크로 배치로 비워 SensorDataService.saveBatch 로 저장
+ * - 커밋이 끝난 배치는 SensorReadingListener 들에게 전달 (메모리 캐시 등)
+ * - 배치 저장이 실패하면 반으로 나눠 다시 저장 → 문제 행(삭제된 환자 등)만 버리고 나머지는 저장
+ * - DB 연결 실패/일시적 오류는 행과 무관하므로 나누지 않고 배치 전체를 backoff 후 재시도
+ *   (retry-attempts 를 다 쓰면 버림, 그동안 큐가 차면 호출 측은 503), 버린 건수는 dropped()
+ * - 큐가 가득 차면 offer 가 false → 호출 측에서 503(backpressure) 응답
+ * - 종료 시 새 입력을 막고 남은 큐를 모두 저장한 뒤 종료 (graceful drain)
+ */
+@Slf4j
+@Component
+public class SensorIngestPipeline implements SmartLifecycle {
+
+    // 재시도 대기 상한 (writer 가 너무 오래 멈추지 않도록)
+    private static final long MAX_RETRY_BACKOFF_MS = 5_000L;
+
+    private final SensorDataService sensorDataService;
+    private final List<SensorReadingListener> listeners;
+    private final BlockingQueue<SensorReading> queue;
+    private final int writerThreads;
+    private final int batchSize;
+    private final long shutdownTimeoutMs;
+    private final int retryAttempts;
+    private final long retryBackoffMs;
+
+    private final List<Thread> writers = new ArrayList<>();
+    // 저장 실패로 버린 측정값 누적 건수
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean accepting = false;
+    private volatile boolean running = false;
+
+    public SensorIngestPipeline(SensorDataService sensorDataService,
+                                List<SensorReadingListener> listeners,
+                                @Value("${sensor.ingest.queue-capacity:10000}") int queueCapacity,
+                                @Value("${sensor.ingest.writer-threads:2}") int writerThreads,
+                                @Value("${sensor.ingest.batch-size:500}") int batchSize,
+                                @Value("${sensor.ingest.shutdown-timeout-ms:10000}") long shutdownTimeoutMs,
+                                @Value("${sensor.ingest.retry-attempts:3}") int retryAttempts,
+                                @Value("${sensor.ingest.retry-backoff-ms:200}") long retryBackoffMs) {
+        this.sensorDataService = sensorDataService;
+        this.listeners = listeners;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writerThreads = Math.max(1, writerThreads);
+        this.batchSize = Math.max(1, batchSize);
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.retryAttempts = Math.max(0, retryAttempts);
+        this.retryBackoffMs = Math.max(1, retryBackoffMs);
+    }
+
+    /**
+     * 측정값 1건 적재
+     * @return 큐가 가득 찼거나 종료 중이면 false
+     */
+    public boolean offer(SensorReading reading) {
+        return accepting && queue.offer(reading);
+    }
+
+    /**
+     * 여러 측정값을 순서대로 적재
+     * @return 적재된 건수 (앞에서부터 연속, 나머지는 큐 포화로 거절 → 클라이언트가 뒷부분만 재전송)
+     */
+    public int offerAll(List<SensorReading> readings) {
+        int accepted = 0;
+        for (SensorReading r : readings) {
+            if (!offer(r)) break;
+            accepted++;
+        }
+        return accepted;
+    }
+
+    /** 현재 큐에 쌓인 건수 */
+    public int backlog() {
+        return queue.size();
+    }
+
+    /** 저장 실패로 버린 측정값 누적 건수 */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    // ===== writer =====
+
+    private void writeLoop() {
+        List<SensorReading> batch = new ArrayList<>(batchSize);
+        while (true) {
+            try {
+                SensorReading first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    // 종료 요청 + 큐가 비었으면 writer 종료
+                    if (!running && queue.isEmpty()) return;
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // 강제 종료: 남은 것은 가능한 만큼 저장하고 종료
+                queue.drainTo(batch);
+                flush(batch);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<SensorReading> batch) {
+        if (batch.isEmpty()) return;
+        List<SensorReading> committed = save(batch);
+        batch.clear();
+        if (committed.isEmpty()) return;
+        for (SensorReadingListener listener : listeners) {
+            try {
+                listener.onReadings(committed);
+            } catch (Exception e) {
+                log.warn("{} 처리 실패: {}", listener.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 배치 저장, 실패하면 반씩 나눠 다시 저장 (문제 행 1건 → 추가 트랜잭션 약 2·log2(배치 크기)번)
+     * @return 저장(커밋)된 측정값
+     */
+    private List<SensorReading> save(List<SensorReading> batch) {
+        try {
+            saveRetrying(batch);
+            return List.copyOf(batch);
+        } catch (Exception e) {
+            if (batch.size() == 1 || isUnavailable(e)) {
+                dropped.addAndGet(batch.size());
+                log.error("센서 데이터 {}건 저장 실패로 버림 (누적 {}건): {}",
+                        batch.size(), dropped.get(), e.getMessage(), e);
+                return List.of();
+            }
+            int mid = batch.size() / 2;
+            List<SensorReading> saved = new ArrayList<>(save(batch.subList(0, mid)));
+            saved.addAll(save(batch.subList(mid, batch.size())));
+            return saved;
+        }
+    }
+
+    /**
+     * DB 연결/일시적 오류면 같은 배치를 backoff(2배씩 증가) 후 최대 retryAttempts 번 다시 저장
+     * - 그 밖의 오류, 재시도 소진, 대기 중 인터럽트(강제 종료)는 마지막 예외를 그대로 던짐
+     */
+    private void saveRetrying(List<SensorReading> batch) {
+        long backoff = retryBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sensorDataService.saveBatch(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (!isUnavailable(e) || attempt > retryAttempts) throw e;
+                log.warn("센서 데이터 {}건 저장 지연, {}ms 후 재시도 ({}/{}): {}",
+                        batch.size(), backoff, attempt, retryAttempts, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+    }
+
+    // DB 연결/일시적 오류: 특정 행 때문이 아니므로 나눠서 다시 시도하지 않음 (재시도 대상)
+    private static boolean isUnavailable(Exception e) {
+        return e instanceof CannotCreateTransactionException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransientDataAccessException;
+    }
+
+    // ===== SmartLifecycle =====
+
+    @Override
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        for (int i = 0; i < writerThreads; i++) {
+            Thread t = new Thread(this::writeLoop, "sensor-writer-" + i);
+            t.setDaemon(false);
+            t.start();
+            writers.add(t);
+        }
+        accepting = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+        accepting = false;
+        running = false;
+
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMs;
+        for (Thread t : writers) {
+            try {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining > 0) t.join(remaining);
+                if (t.isAlive()) t.interrupt();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        writers.clear();
+        if (!queue.isEmpty()) {
+            log.warn("종료 시간 초과로 센서 데이터 {}건을 저장하지 못했습니다.", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버보다 먼저 시작하고 나중에 종료 → 마지막 요청까지 받은 뒤 큐를 비운다
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
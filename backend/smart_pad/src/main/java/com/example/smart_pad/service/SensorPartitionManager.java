@@ -0,0 +1,157 @@
+package com.example.smart_pad.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * sensor_data 시간 파티션 관리 (sensor.partitioning.enabled=true, MySQL RANGE COLUMNS(timestamp))
+ * - 사전 준비: sql/sensor_data_partitioning.sql 로 테이블을 파티션 테이블로 1회 변환
+ * - 앞으로 쓸 파티션을 미리 생성: 비어 있는 pmax 를 REORGANIZE 해서 intervalMinutes 단위 파티션 추가
+ * - 보관 정책: 상한이 경계 이전인 파티션을 DROP PARTITION (행 단위 DELETE 없음 → undo/잠금 없음)
+ * - 경계 시각은 DB에 저장된 시간대(hibernate.jdbc.time_zone) 기준으로 변환해서 DDL 에 사용
+ */
+@Slf4j
+@Component
+public class SensorPartitionManager {
+
+    private static final String TABLE = "sensor_data";
+    private static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter NAME = DateTimeFormatter.ofPattern("'p'yyyyMMddHHmm");
+    private static final DateTimeFormatter LITERAL = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int intervalMinutes;
+    private final int ahead;
+    private final ZoneId dbZone;
+
+    private volatile boolean warnedNotPartitioned = false;
+
+    public SensorPartitionManager(JdbcTemplate jdbcTemplate,
+                                  @Value("${sensor.partitioning.enabled:false}") boolean enabled,
+                                  @Value("${sensor.partitioning.interval-minutes:60}") int intervalMinutes,
+                                  @Value("${sensor.partitioning.ahead:24}") int ahead,
+                                  @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:}") String jdbcTimeZone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        // 파티션 경계가 매일 같은 시각에 맞도록 하루(1440분)의 약수만 허용
+        this.intervalMinutes = (intervalMinutes > 0 && 1440 % intervalMinutes == 0) ? intervalMinutes : 60;
+        this.ahead = Math.max(1, ahead);
+        this.dbZone = jdbcTimeZone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(jdbcTimeZone);
+    }
+
+    /** 파티션 경계 1개 (이름, 상한 - DB 저장 시각 기준, pmax 는 null) */
+    record Partition(String name, LocalDateTime upperBound) {}
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        scheduledEnsure();
+    }
+
+    @Scheduled(fixedDelayString = "${sensor.partitioning.check-interval-ms:600000}",
+               initialDelayString = "${sensor.partitioning.check-interval-ms:600000}")
+    public void scheduledEnsure() {
+        if (!enabled) return;
+        try {
+            int created = ensureAhead(LocalDateTime.now());
+            if (created > 0) log.info("sensor_data 파티션 {}개 생성", created);
+        } catch (Exception e) {
+            log.error("sensor_data 파티션 생성 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * now 이후 ahead 개 구간까지 파티션이 있도록 pmax 를 나눔
+     * @return 새로 만든 파티션 수
+     */
+    public synchronized int ensureAhead(LocalDateTime now) {
+        List<Partition> partitions = partitions();
+        if (partitions.isEmpty()) return 0;
+
+        LocalDateTime last = null;
+        for (Partition p : partitions) {
+            if (p.upperBound() != null && (last == null || p.upperBound().isAfter(last))) last = p.upperBound();
+        }
+        LocalDateTime target = floor(toDb(now)).plusMinutes((long) intervalMinutes * (ahead + 1));
+        LocalDateTime next = (last == null) ? floor(toDb(now)).plusMinutes(intervalMinutes) : last.plusMinutes(intervalMinutes);
+
+        List<String> defs = new ArrayList<>();
+        for (; !next.isAfter(target); next = next.plusMinutes(intervalMinutes)) {
+            defs.add("PARTITION " + next.minusMinutes(intervalMinutes).format(NAME)
+                    + " VALUES LESS THAN ('" + next.format(LITERAL) + "')");
+        }
+        if (defs.isEmpty()) return 0;
+
+        defs.add("PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + MAX_PARTITION
+                + " INTO (" + String.join(", ", defs) + ")");
+        return defs.size() - 1;
+    }
+
+    /**
+     * 상한이 before 이하인 파티션을 통째로 삭제 (before 는 애플리케이션 시각)
+     * @return 삭제한 파티션 수
+     */
+    public synchronized int dropBefore(LocalDateTime before) {
+        LocalDateTime bound = toDb(before);
+        List<String> names = new ArrayList<>();
+        for (Partition p : partitions()) {
+            // pmax(상한 없음)는 남음 → 파티션이 하나도 없는 상태는 되지 않음
+            if (p.upperBound() != null && !p.upperBound().isAfter(bound)) names.add(p.name());
+        }
+        if (names.isEmpty()) return 0;
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + String.join(", ", names));
+        return names.size();
+    }
+
+    List<Partition> partitions() {
+        List<Partition> out = jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+                        "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, i) -> new Partition(rs.getString(1), parseBound(rs.getString(2))),
+                TABLE);
+        boolean hasMax = out.stream().anyMatch(p -> MAX_PARTITION.equals(p.name()));
+        if (!hasMax) {
+            if (!warnedNotPartitioned) {
+                log.warn("sensor_data 가 파티션 테이블이 아니거나 {} 파티션이 없습니다. sql/sensor_data_partitioning.sql 을 먼저 적용하세요.",
+                        MAX_PARTITION);
+                warnedNotPartitioned = true;
+            }
+            return List.of();
+        }
+        return out;
+    }
+
+    // '2025-01-01 00:00:00' → LocalDateTime, MAXVALUE → null
+    private static LocalDateTime parseBound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) return null;
+        return LocalDateTime.parse(description.replace("'", "").trim(), LITERAL);
+    }
+
+    private LocalDateTime toDb(LocalDateTime appTime) {
+        return appTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(dbZone).toLocalDateTime();
+    }
+
+    private LocalDateTime floor(LocalDateTime t) {
+        long minuteOfDay = t.getHour() * 60L + t.getMinute();
+        return t.truncatedTo(ChronoUnit.DAYS).plusMinutes(minuteOfDay / intervalMinutes * intervalMinutes);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.SensorReading;
+
+import java.util.List;
+
+/**
+ * 저장(커밋)이 끝난 측정값을 전달받는 확장 지점
+ * - SensorIngestPipeline writer 스레드에서 마이크로 배치 단위로 호출
+ * - 구현체는 빠르게 반환해야 함 (DB 조회/블로킹 I/O 금지)
+ */
+public interface SensorReadingListener {
+
+    void onReadings(List<SensorReading> readings);
+}
@@ -0,0 +1,134 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.repository.SensorDataRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 센서 데이터 보관 정책(10분 / 환자당 최대 600개) 백그라운드 정리
+ * - 저장할 때마다 삭제하던 방식 대신 주기적으로 한 번에 처리 (정책은 주기만큼 늦게 적용됨)
+ * - 삭제 전에 SensorRollupService 로 분/시간 집계를 먼저 만들고, 집계된 시각 이전 원본만 삭제
+ *   (청크 저장소가 켜져 있으면 SensorChunkService 로 압축 청크도 먼저 만들고 그 이전만 삭제)
+ *   두 경계 모두 sensor.ingest.grace-minutes 만큼 늦게 진행 → 유예 안에 늦게 도착한 원본은 지우지 않음
+ * - 환자별로 "시간 기준 경계"와 "개수 기준 경계" 중 늦은 시각 이전 행을 집합 DELETE
+ * - DELETE ... LIMIT chunkSize 를 반복 → 한 트랜잭션이 잡는 행 잠금 수를 제한
+ * - 보관 기간이 지난 집계 행도 같은 주기에 정리
+ * - 파티션 모드(sensor.partitioning.enabled)에서는 행 단위 DELETE 대신 SensorPartitionManager 가
+ *   경계 이전 파티션을 통째로 DROP (개수 기준 상한은 적용하지 않음)
+ */
+@Slf4j
+@Component
+public class SensorRetentionSweeper {
+
+    private final SensorDataRepository sensorDataRepository;
+    private final SensorRollupService rollupService;
+    private final SensorChunkService chunkService;
+    private final SensorPartitionManager partitionManager;
+    private final int rawWindowMinutes;
+    private final int maxKeep;
+    private final int chunkSize;
+
+    public SensorRetentionSweeper(SensorDataRepository sensorDataRepository,
+                                  SensorRollupService rollupService,
+                                  SensorChunkService chunkService,
+                                  SensorPartitionManager partitionManager,
+                                  @Value("${sensor.retention.raw-window-minutes:10}") int rawWindowMinutes,
+                                  @Value("${sensor.retention.max-keep:600}") int maxKeep,
+                                  @Value("${sensor.retention.chunk-size:1000}") int chunkSize) {
+        this.sensorDataRepository = sensorDataRepository;
+        this.rollupService = rollupService;
+        this.chunkService = chunkService;
+        this.partitionManager = partitionManager;
+        this.rawWindowMinutes = rawWindowMinutes;
+        this.maxKeep = Math.max(1, maxKeep);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * 한 번의 정리 결과
+     * (환자 수, 삭제 행 수, 삭제 파티션 수, 갱신된 집계 행 수, 삭제된 집계 행 수, 소요 시간)
+     */
+    public record SweepResult(int patients, long rowsDeleted, int partitionsDropped,
+                              int rollupRows, long rollupRowsPurged, long elapsedMs) {}
+
+    @Scheduled(fixedDelayString = "${sensor.retention.sweep-interval-ms:30000}",
+               initialDelayString = "${sensor.retention.sweep-interval-ms:30000}")
+    public void scheduledSweep() {
+        try {
+            SweepResult result = sweep();
+            if (result.rowsDeleted() > 0 || result.partitionsDropped() > 0 || result.rollupRowsPurged() > 0) {
+                log.info("센서 데이터 보관 정리: 환자 {}명, {}행/파티션 {}개 삭제, 집계 {}행 갱신/{}행 삭제, {}ms",
+                        result.patients(), result.rowsDeleted(), result.partitionsDropped(), result.rollupRows(),
+                        result.rollupRowsPurged(), result.elapsedMs());
+            } else {
+                log.debug("센서 데이터 보관 정리: 삭제 없음 ({}ms)", result.elapsedMs());
+            }
+        } catch (Exception e) {
+            log.error("센서 데이터 보관 정리 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    public SweepResult sweep() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime ageCutoff = now.minusMinutes(rawWindowMinutes);
+
+        // 원본을 지우기 전에 집계(+청크) → 모두 반영된 시각 이전 원본만 삭제 대상 (null 이면 삭제 없음)
+        SensorRollupService.RollupResult rollup = rollupService.rollUp(now);
+        LocalDateTime deletableBefore = rollup.rolledUpTo();
+        if (chunkService.isEnabled()) {
+            chunkService.compact(now);
+            LocalDateTime chunkedTo = chunkService.chunkedTo();
+            if (chunkedTo == null || (deletableBefore != null && chunkedTo.isBefore(deletableBefore))) {
+                deletableBefore = chunkedTo;
+            }
+        }
+
+        long purged = rollupService.purge(now) + chunkService.purge(now);
+        int rollupRows = rollup.minuteRows() + rollup.hourRows();
+
+        if (partitionManager.isEnabled()) {
+            int dropped = 0;
+            if (deletableBefore != null) {
+                dropped = partitionManager.dropBefore(ageCutoff.isBefore(deletableBefore) ? ageCutoff : deletableBefore);
+            }
+            return new SweepResult(0, 0, dropped, rollupRows, purged, (System.nanoTime() - started) / 1_000_000);
+        }
+
+        List<Long> patientIds = sensorDataRepository.findDistinctPatientIds();
+        long deleted = 0;
+        for (Long patientId : patientIds) {
+            deleted += sweepPatient(patientId, ageCutoff, deletableBefore);
+        }
+        return new SweepResult(patientIds.size(), deleted, 0, rollupRows, purged,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private long sweepPatient(Long patientId, LocalDateTime ageCutoff, LocalDateTime deletableBefore) {
+        LocalDateTime before = ageCutoff;
+
+        // maxKeep 번째로 최신인 시각 → 그보다 오래된 행은 개수 초과분
+        List<LocalDateTime> boundary = sensorDataRepository.findTimestampsDesc(
+                patientId, PageRequest.of(maxKeep - 1, 1));
+        if (!boundary.isEmpty() && boundary.get(0).isAfter(before)) {
+            before = boundary.get(0);
+        }
+        // 아직 집계/압축되지 않은 원본은 남김
+        if (deletableBefore == null) return 0;
+        if (before.isAfter(deletableBefore)) before = deletableBefore;
+
+        long deleted = 0;
+        int n;
+        do {
+            n = sensorDataRepository.deleteChunkBefore(patientId, before, chunkSize);
+            deleted += n;
+        } while (n == chunkSize);
+        return deleted;
+    }
+}
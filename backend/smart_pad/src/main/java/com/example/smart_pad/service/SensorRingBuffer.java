@@ -0,0 +1,130 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.SensorReading;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 환자 1명의 최근 측정값 고정 크기 링 버퍼
+ * - 필드별 원시 배열(int/long/boolean)로 보관 → 객체/박싱 없이 600개 ≈ 12KB
+ * - 최초 조회 시 DB 이력으로 한 번 채움(ensureLoaded), 이후에는 수집 경로의 append 로만 갱신
+ * - append 된 값은 순번(seq, LatestReadingCache 발급)을 함께 보관, DB 이력은 순번 0
+ */
+final class SensorRingBuffer {
+
+    private final long patientId;
+    private final int[] pressure;
+    private final int[] temperature;
+    private final int[] humidity;
+    private final long[] timestamp;
+    private final boolean[] calibrated;
+    private final long[] seq;
+
+    private int head; // 다음에 쓸 위치
+    private int size;
+
+    private final Object loadLock = new Object();
+    private volatile boolean loaded;
+    // 마지막 조회 시각 (LatestReadingCache 유휴 정리 기준)
+    private volatile long lastAccessMs = System.currentTimeMillis();
+
+    SensorRingBuffer(long patientId, int capacity) {
+        this.patientId = patientId;
+        this.pressure = new int[capacity];
+        this.temperature = new int[capacity];
+        this.humidity = new int[capacity];
+        this.timestamp = new long[capacity];
+        this.calibrated = new boolean[capacity];
+        this.seq = new long[capacity];
+    }
+
+    void touch(long nowMs) {
+        lastAccessMs = nowMs;
+    }
+
+    long lastAccessMs() {
+        return lastAccessMs;
+    }
+
+    synchronized void append(SensorReading r, long sequence) {
+        put(r, sequence);
+    }
+
+    private void put(SensorReading r, long sequence) {
+        pressure[head] = r.pressure();
+        temperature[head] = r.temperature();
+        humidity[head] = r.humidity();
+        timestamp[head] = r.timestamp();
+        calibrated[head] = r.calibrated();
+        seq[head] = sequence;
+        head = (head + 1) % timestamp.length;
+        if (size < timestamp.length) size++;
+    }
+
+    /**
+     * 최신순 최대 limit 개
+     */
+    synchronized List<SensorReading> latest(int limit) {
+        int n = Math.min(limit, size);
+        List<SensorReading> out = new ArrayList<>(n);
+        int cap = timestamp.length;
+        for (int i = 1; i <= n; i++) {
+            out.add(reading((head - i + cap) % cap));
+        }
+        return out;
+    }
+
+    /**
+     * 순번이 afterSeq 보다 큰 값 (오래된 순)
+     */
+    synchronized List<LatestReadingCache.Sequenced> since(long afterSeq) {
+        List<LatestReadingCache.Sequenced> out = new ArrayList<>();
+        int cap = timestamp.length;
+        for (int i = size; i >= 1; i--) {
+            int idx = (head - i + cap) % cap;
+            if (seq[idx] > afterSeq) out.add(new LatestReadingCache.Sequenced(seq[idx], reading(idx)));
+        }
+        return out;
+    }
+
+    private SensorReading reading(int idx) {
+        return new SensorReading(patientId, pressure[idx], temperature[idx], humidity[idx], timestamp[idx],
+                calibrated[idx]);
+    }
+
+    /**
+     * 아직 DB 이력을 채우지 않았다면 loader(최신순 이력)로 채움
+     * - 로딩 중 append 된 값은 유지하고, 그보다 오래된 이력만 앞쪽에 채움
+     * - DB 조회 동안 append 가 막히지 않도록 별도 락 사용
+     */
+    void ensureLoaded(Supplier<List<SensorReading>> loader) {
+        if (loaded) return;
+        synchronized (loadLock) {
+            if (loaded) return;
+            List<SensorReading> historyNewestFirst = loader.get();
+            synchronized (this) {
+                merge(historyNewestFirst);
+                loaded = true;
+            }
+        }
+    }
+
+    private void merge(List<SensorReading> historyNewestFirst) {
+        List<LatestReadingCache.Sequenced> appended = since(0); // 오래된 순
+        long oldestAppended = appended.isEmpty() ? Long.MAX_VALUE : appended.get(0).reading().timestamp();
+
+        List<SensorReading> older = new ArrayList<>();
+        int room = timestamp.length - appended.size();
+        for (SensorReading r : historyNewestFirst) {
+            if (older.size() >= room) break;
+            if (r.timestamp() < oldestAppended) older.add(r);
+        }
+
+        head = 0;
+        size = 0;
+        for (int i = older.size() - 1; i >= 0; i--) put(older.get(i), 0L);
+        for (LatestReadingCache.Sequenced e : appended) put(e.reading(), e.seq());
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.SensorReading;
+import com.example.smart_pad.repository.SensorDataRepository;
+import com.example.smart_pad.repository.SensorRollupHourRepository;
+import com.example.smart_pad.repository.SensorRollupMinuteRepository;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 센서 데이터 단계별 보관 (원본 → 1분 집계 → 1시간 집계)
+ * - SensorRetentionSweeper 가 원본을 지우기 전에 rollUp 호출 → 집계되지 않은 원본은 삭제하지 않음
+ * - 1분 집계: 원본 [rolledUpTo, 현재 분 - grace) 을 INSERT ... SELECT 로 한 번에 집계
+ *   pressure_high_count 는 보정 여부별 임계값(mmHg / raw 환산)으로 계산
+ * - 1시간 집계: 방금 갱신된 분 집계가 속한 시간들을 다시 합쳐 덮어씀
+ * - 단계별 보관 기간: sensor.rollup.minute-retention-days / hour-retention-days
+ * - 늦게 도착하는 측정값(장치 버퍼 재전송, write-behind 큐 대기)을 위해 집계 경계를
+ *   sensor.ingest.grace-minutes 만큼 늦춤 → 유예 안의 원본은 집계되지 않았으므로 삭제되지도 않음
+ * - 유예보다 더 늦게 도착해 이미 집계된 분에 들어온 측정값은 집계에 반영되지 않음 (lateReadings 로 집계, 경고 로그)
+ */
+@Slf4j
+@Service
+public class SensorRollupService implements SensorReadingListener {
+
+    // 시간 집계를 분 집계로 다시 계산하므로 분 집계는 최소 이만큼 보관
+    private static final Duration MIN_MINUTE_RETENTION = Duration.ofHours(2);
+
+    private final SensorDataRepository sensorDataRepository;
+    private final SensorRollupMinuteRepository minuteRepository;
+    private final SensorRollupHourRepository hourRepository;
+    // pressure_high_count 기준 (mmHg / 보정되지 않은 값용 raw 환산)
+    @Getter
+    private final int pressureThreshold;
+    @Getter
+    private final int rawPressureThreshold;
+    private final Duration minuteRetention;
+    private final Duration hourRetention;
+    private final int chunkSize;
+    private final long graceMinutes;
+
+    /** 이 시각 이전 원본은 분 집계에 반영됨 (null = 아직 한 번도 집계하지 않음) */
+    private volatile LocalDateTime rolledUpTo;
+    // rolledUpTo 의 epoch ms (수집 경로에서 비교용, 없으면 Long.MIN_VALUE)
+    private volatile long rolledUpToMs = Long.MIN_VALUE;
+    // 이미 집계된 분에 도착해 집계에서 빠진 측정값 수 (누적 / 마지막 경고 시점)
+    private final AtomicLong lateReadings = new AtomicLong();
+    private long lateReported;
+
+    public SensorRollupService(SensorDataRepository sensorDataRepository,
+                               SensorRollupMinuteRepository minuteRepository,
+                               SensorRollupHourRepository hourRepository,
+                               PressureUnits units,
+                               @Value("${sensor.rollup.pressure-threshold:32}") int pressureThreshold,
+                               @Value("${sensor.rollup.minute-retention-days:7}") int minuteRetentionDays,
+                               @Value("${sensor.rollup.hour-retention-days:365}") int hourRetentionDays,
+                               @Value("${sensor.retention.chunk-size:1000}") int chunkSize,
+                               @Value("${sensor.ingest.grace-minutes:5}") long graceMinutes) {
+        this.sensorDataRepository = sensorDataRepository;
+        this.minuteRepository = minuteRepository;
+        this.hourRepository = hourRepository;
+        this.pressureThreshold = pressureThreshold;
+        this.rawPressureThreshold = units.raw(pressureThreshold);
+        Duration minute = Duration.ofDays(minuteRetentionDays);
+        this.minuteRetention = minute.compareTo(MIN_MINUTE_RETENTION) < 0 ? MIN_MINUTE_RETENTION : minute;
+        this.hourRetention = Duration.ofDays(hourRetentionDays);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.graceMinutes = Math.max(1, graceMinutes);
+    }
+
+    @Override
+    public void onReadings(List<SensorReading> readings) {
+        long boundary = rolledUpToMs;
+        for (SensorReading r : readings) {
+            if (r.timestamp() < boundary) lateReadings.incrementAndGet();
+        }
+    }
+
+    /** 한 번의 집계 결과 (갱신된 분/시간 집계 행 수) */
+    public record RollupResult(int minuteRows, int hourRows, LocalDateTime rolledUpTo) {}
+
+    /**
+     * 유예 시간 전에 끝난 분까지 원본을 집계
+     * @return 이번 실행 결과 (rolledUpTo 이전 원본은 삭제해도 됨)
+     */
+    public synchronized RollupResult rollUp(LocalDateTime now) {
+        reportLate();
+        LocalDateTime cutoff = now.truncatedTo(ChronoUnit.MINUTES).minusMinutes(graceMinutes);
+        LocalDateTime from = (rolledUpTo != null) ? rolledUpTo : initialFrom();
+        if (from == null || !from.isBefore(cutoff)) {
+            // 원본이 없으면 집계할 것도 없음 → 현재 경계까지 처리된 것으로 간주
+            if (from == null) advance(cutoff);
+            return new RollupResult(0, 0, rolledUpTo);
+        }
+
+        int minuteRows = minuteRepository.rollUpRaw(from, cutoff, pressureThreshold, rawPressureThreshold);
+        int hourRows = hourRepository.rollUpMinutes(from.truncatedTo(ChronoUnit.HOURS), cutoff);
+        advance(cutoff);
+        return new RollupResult(minuteRows, hourRows, cutoff);
+    }
+
+    /** 집계 경계보다 늦게 도착해 집계에서 빠진 측정값 누적 건수 */
+    public long lateReadings() {
+        return lateReadings.get();
+    }
+
+    /**
+     * 보관 기간이 지난 집계 행 삭제
+     * @return 삭제된 행 수
+     */
+    public long purge(LocalDateTime now) {
+        long deleted = 0;
+        int n;
+        do {
+            n = minuteRepository.deleteChunkBefore(now.minus(minuteRetention), chunkSize);
+            deleted += n;
+        } while (n == chunkSize);
+        do {
+            n = hourRepository.deleteChunkBefore(now.minus(hourRetention), chunkSize);
+            deleted += n;
+        } while (n == chunkSize);
+        return deleted;
+    }
+
+    /**
+     * 기간 조회에 쓸 집계 단계: bucket 이 1시간의 배수면 HOURS, 1분의 배수면 MINUTES, 아니면 null(원본)
+     */
+    public static ChronoUnit tierFor(long bucketSeconds) {
+        if (bucketSeconds % 3600 == 0) return ChronoUnit.HOURS;
+        if (bucketSeconds % 60 == 0) return ChronoUnit.MINUTES;
+        return null;
+    }
+
+    /**
+     * 집계 테이블에서 구간 조회 (tier = HOURS → 1시간 집계, 그 외 → 1분 집계)
+     */
+    public List<SensorDataRepository.BucketRow> aggregate(ChronoUnit tier, Long patientId, LocalDateTime origin,
+                                                          LocalDateTime from, LocalDateTime to,
+                                                          long bucketSeconds, int limit) {
+        return (tier == ChronoUnit.HOURS)
+                ? hourRepository.aggregateBuckets(patientId, origin, from, to, bucketSeconds, limit)
+                : minuteRepository.aggregateBuckets(patientId, origin, from, to, bucketSeconds, limit);
+    }
+
+    /** 분 집계가 반영된 시각 (이후 구간은 원본에서 조회) */
+    public LocalDateTime rolledUpTo() {
+        return rolledUpTo;
+    }
+
+    private void advance(LocalDateTime cutoff) {
+        rolledUpTo = cutoff;
+        rolledUpToMs = cutoff.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private void reportLate() {
+        long late = lateReadings.get();
+        if (late > lateReported) {
+            log.warn("집계 경계({}분 유예)보다 늦게 도착한 측정값 {}건은 분/시간 집계에 반영되지 않음 (누적 {}건)",
+                    graceMinutes, late - lateReported, late);
+            lateReported = late;
+        }
+    }
+
+    // 재시작 시: 마지막 분 집계 다음 분부터, 집계가 없으면 가장 오래된 원본부터
+    private LocalDateTime initialFrom() {
+        LocalDateTime lastBucket = minuteRepository.findMaxBucketStart();
+        if (lastBucket != null) return lastBucket.plusMinutes(1);
+        LocalDateTime oldest = sensorDataRepository.findMinTimestamp();
+        return (oldest == null) ? null : oldest.truncatedTo(ChronoUnit.MINUTES);
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.controller.dto.SensorAggregateResponse;
+import com.example.smart_pad.controller.dto.SensorDeltaResponse;
+import com.example.smart_pad.domain.SensorReading;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 구독 옵션별 실시간 스트림 (토픽 경로로 선택)
+ * <pre>
+ * /topic/sensordata/{patientId}         모든 측정값, 전체 필드 (SensorBroadcaster)
+ * /topic/sensordata/{patientId}/delta   모든 측정값, 바뀐 필드만 (주기적으로 전체 필드 key 프레임)
+ * /topic/sensordata/{patientId}/5s      5초 구간 min/max/avg
+ * /topic/sensordata/{patientId}/30s     30초 구간 min/max/avg
+ * </pre>
+ * - 집계 상태는 (환자, 주기)당 1개 → 구독자가 몇 명이든 계산/직렬화는 한 번
+ * - delta 는 구독자가 있을 때만 만들고, 전송 스레드에서 순서대로 직렬화/전송 (수집 writer 스레드는 적재만)
+ *   구독자가 없던 동안/전송 대기 초과로 건너뛰었거나 새 구독자가 들어오면 다음 프레임은 전체 필드 key 프레임
+ * - 구간은 측정 시각 기준으로 정렬, 다음 구간 측정값이 오거나 tick 에서 구간이 지나면 전송
+ */
+@Component
+public class SensorStreamAggregator implements SensorReadingListener {
+
+    /** 집계 주기 (토픽 접미사) */
+    enum Rate {
+        FIVE_SECONDS("/5s", 5_000L),
+        THIRTY_SECONDS("/30s", 30_000L);
+
+        final String suffix;
+        final long periodMs;
+
+        Rate(String suffix, long periodMs) {
+            this.suffix = suffix;
+            this.periodMs = periodMs;
+        }
+    }
+
+    private static final Rate[] RATES = Rate.values();
+    private static final String DELTA_SUFFIX = "/delta";
+    // delta 스트림에서 전체 필드 프레임을 보내는 간격 (측정값 수)
+    private static final int KEY_FRAME_INTERVAL = 30;
+    // 마지막 측정 후 이 시간이 지나면 환자 상태 정리
+    private static final long IDLE_EVICT_MS = 10 * 60_000L;
+
+    private final SensorBroadcaster broadcaster;
+    private final TopicSubscriptions subscriptions;
+    private final ConcurrentMap<Long, PatientStream> streams = new ConcurrentHashMap<>();
+
+    public SensorStreamAggregator(SensorBroadcaster broadcaster, TopicSubscriptions subscriptions) {
+        this.broadcaster = broadcaster;
+        this.subscriptions = subscriptions;
+    }
+
+    @Override
+    public void onReadings(List<SensorReading> readings) {
+        for (SensorReading r : readings) {
+            PatientStream s = streams.computeIfAbsent(r.patientId(), PatientStream::new);
+            synchronized (s) {
+                s.lastSeenMs = System.currentTimeMillis();
+                publishDelta(s, r);
+                for (Window w : s.windows) {
+                    long start = r.timestamp() - Math.floorMod(r.timestamp(), w.rate.periodMs);
+                    if (w.count > 0 && start > w.start) {
+                        publishWindow(s.patientId, w);
+                    }
+                    // 이미 지난 구간의 늦은 측정값은 현재 구간에 합침
+                    if (w.count == 0) w.start = start;
+                    w.add(r);
+                }
+            }
+        }
+    }
+
+    /**
+     * delta 토픽 새 구독 → 해당 환자의 다음 프레임을 key 프레임으로 (새 구독자는 이전 값을 모름)
+     */
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        String destination = StompHeaderAccessor.wrap(event.getMessage()).getDestination();
+        if (destination == null || !destination.startsWith(SensorBroadcaster.SENSOR_TOPIC_PREFIX)
+                || !destination.endsWith(DELTA_SUFFIX)) {
+            return;
+        }
+        Long patientId;
+        try {
+            patientId = Long.valueOf(destination.substring(SensorBroadcaster.SENSOR_TOPIC_PREFIX.length(),
+                    destination.length() - DELTA_SUFFIX.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return;
+        }
+        PatientStream s = streams.get(patientId);
+        if (s == null) return;
+        synchronized (s) {
+            s.hasLast = false;
+        }
+    }
+
+    /**
+     * 측정 시각 기준 구간이 끝났는데 다음 측정값이 오지 않은 구간 전송 + 유휴 환자 정리
+     */
+    @Scheduled(fixedRate = 1000)
+    public void tick() {
+        long now = System.currentTimeMillis();
+        for (PatientStream s : streams.values()) {
+            synchronized (s) {
+                for (Window w : s.windows) {
+                    if (w.count > 0 && w.start + w.rate.periodMs <= now) {
+                        publishWindow(s.patientId, w);
+                    }
+                }
+                if (now - s.lastSeenMs > IDLE_EVICT_MS) {
+                    streams.remove(s.patientId, s);
+                }
+            }
+        }
+    }
+
+    // 순서가 중요한 변경분이라 conflation 없이 순서대로 전송
+    private void publishDelta(PatientStream s, SensorReading r) {
+        String destination = SensorBroadcaster.SENSOR_TOPIC_PREFIX + s.patientId + DELTA_SUFFIX;
+        if (!subscriptions.hasSubscribers(destination)) {
+            s.hasLast = false;
+            return;
+        }
+        boolean key = !s.hasLast || s.sinceKey >= KEY_FRAME_INTERVAL;
+        SensorDeltaResponse delta = new SensorDeltaResponse(
+                key ? Boolean.TRUE : null,
+                key || r.pressure() != s.lastPressure ? r.pressure() : null,
+                key || r.temperature() != s.lastTemperature ? r.temperature() : null,
+                key || r.humidity() != s.lastHumidity ? r.humidity() : null,
+                r.localTimestamp());
+        if (!broadcaster.publishInOrder(destination, delta)) {
+            s.hasLast = false;
+            return;
+        }
+
+        s.hasLast = true;
+        s.sinceKey = key ? 1 : s.sinceKey + 1;
+        s.lastPressure = r.pressure();
+        s.lastTemperature = r.temperature();
+        s.lastHumidity = r.humidity();
+    }
+
+    private void publishWindow(Long patientId, Window w) {
+        broadcaster.publish(SensorBroadcaster.SENSOR_TOPIC_PREFIX + patientId + w.rate.suffix, w.toResponse());
+        w.reset();
+    }
+
+    private static LocalDateTime toLocal(long epochMs) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneId.systemDefault());
+    }
+
+    private static final class PatientStream {
+        final Long patientId;
+        final Window[] windows = new Window[RATES.length];
+        long lastSeenMs;
+
+        boolean hasLast;
+        int sinceKey;
+        int lastPressure;
+        int lastTemperature;
+        int lastHumidity;
+
+        PatientStream(Long patientId) {
+            this.patientId = patientId;
+            for (int i = 0; i < RATES.length; i++) {
+                windows[i] = new Window(RATES[i]);
+            }
+        }
+    }
+
+    private static final class Window {
+        final Rate rate;
+        long start;
+        int count;
+        int pMin, pMax, tMin, tMax, hMin, hMax;
+        long pSum, tSum, hSum;
+
+        Window(Rate rate) {
+            this.rate = rate;
+        }
+
+        void add(SensorReading r) {
+            if (count == 0) {
+                pMin = pMax = r.pressure();
+                tMin = tMax = r.temperature();
+                hMin = hMax = r.humidity();
+            } else {
+                pMin = Math.min(pMin, r.pressure());
+                pMax = Math.max(pMax, r.pressure());
+                tMin = Math.min(tMin, r.temperature());
+                tMax = Math.max(tMax, r.temperature());
+                hMin = Math.min(hMin, r.humidity());
+                hMax = Math.max(hMax, r.humidity());
+            }
+            pSum += r.pressure();
+            tSum += r.temperature();
+            hSum += r.humidity();
+            count++;
+        }
+
+        SensorAggregateResponse toResponse() {
+            return SensorAggregateResponse.builder()
+                    .from(toLocal(start))
+                    .to(toLocal(start + rate.periodMs))
+                    .count(count)
+                    .pressureMin(pMin).pressureMax(pMax).pressureAvg((double) pSum / count)
+                    .temperatureMin(tMin).temperatureMax(tMax).temperatureAvg((double) tSum / count)
+                    .humidityMin(hMin).humidityMax(hMax).humidityAvg((double) hSum / count)
+                    .build();
+        }
+
+        void reset() {
+            count = 0;
+            pSum = tSum = hSum = 0;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.smart_pad.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 목적지별 STOMP 구독 수
+ * - 구독자가 없는 토픽은 만들거나 직렬화하지 않도록 (예: /topic/sensordata/{patientId}/delta)
+ * - SUBSCRIBE / UNSUBSCRIBE / DISCONNECT 이벤트로만 갱신 (구독이 거부되면 이벤트가 없어 세지 않음)
+ */
+@Component
+public class TopicSubscriptions {
+
+    // 세션 → (구독 id → 목적지)
+    private final ConcurrentMap<String, ConcurrentMap<String, String>> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Integer> counts = new ConcurrentHashMap<>();
+
+    public boolean hasSubscribers(String destination) {
+        return counts.containsKey(destination);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+        String destination = accessor.getDestination();
+        if (sessionId == null || subscriptionId == null || destination == null) return;
+
+        String previous = sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+        if (previous != null) decrement(previous);
+        counts.merge(destination, 1, Integer::sum);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subs = (accessor.getSessionId() == null) ? null : sessions.get(accessor.getSessionId());
+        if (subs == null || accessor.getSubscriptionId() == null) return;
+        String destination = subs.remove(accessor.getSubscriptionId());
+        if (destination != null) decrement(destination);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subs = sessions.remove(event.getSessionId());
+        if (subs != null) subs.values().forEach(this::decrement);
+    }
+
+    private void decrement(String destination) {
+        counts.computeIfPresent(destination, (d, n) -> n > 1 ? n - 1 : null);
+    }
+}
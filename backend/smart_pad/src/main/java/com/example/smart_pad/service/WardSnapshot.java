@@ -0,0 +1,163 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.config.SchedulingConfig;
+import com.example.smart_pad.controller.dto.RiskScoreResponse;
+import com.example.smart_pad.controller.dto.SensorDataResponse;
+import com.example.smart_pad.controller.dto.WardPatientResponse;
+import com.example.smart_pad.controller.dto.WardUpdateResponse;
+import com.example.smart_pad.domain.SensorReading;
+import com.example.smart_pad.repository.SensorDataRepository;
+import com.example.smart_pad.service.PatientDirectory.PatientProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 병동 현황 메모리 스냅샷 (환자별 최신 측정값 1건)
+ * <pre>
+ * /topic/ward/{wardId}   tick 마다 상태가 바뀐 환자만 모은 변경분 1개 (WardUpdateResponse)
+ * </pre>
+ * - 수집 경로(커밋 후)에서 환자별 최신 측정값만 교체, 시작 시 환자별 최신 원본을 쿼리 1번으로 적재
+ * - 현황 조회는 PatientDirectory(프로필) + 이 스냅샷 + PressureRiskEngine(위험도) 를 합쳐 DB 조회 없이 응답
+ *   → 병상 수와 관계없이 요청 1번
+ * - 병동 토픽: 측정값은 환자를 변경 표시만 하고, tick(ward.tick-ms)에서 병동별로 모아 직렬화 1번 + 전송 1번
+ *   → 메시지 수는 병상 × 측정값이 아니라 tick 수에 비례 (tick 안의 여러 측정값은 최신 상태 1개로 합쳐짐)
+ * - 변경분은 서로 덮어쓸 수 없어 SensorBroadcaster 의 conflation 없이 즉시 전송, 병동별 seq 가 건너뛰면
+ *   클라이언트는 /api/ward/overview 로 전체를 다시 받음
+ */
+@Slf4j
+@Component
+public class WardSnapshot implements SensorReadingListener {
+
+    private final SensorDataRepository sensorDataRepository;
+    private final PatientDirectory patientDirectory;
+    private final PressureRiskEngine pressureRiskEngine;
+    private final SensorBroadcaster broadcaster;
+
+    private final ConcurrentMap<Long, SensorReading> latest = new ConcurrentHashMap<>();
+    // 마지막 tick 이후 측정값이 들어온 환자
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<String, AtomicLong> sequences = new ConcurrentHashMap<>();
+
+    public WardSnapshot(SensorDataRepository sensorDataRepository,
+                        PatientDirectory patientDirectory,
+                        PressureRiskEngine pressureRiskEngine,
+                        SensorBroadcaster broadcaster) {
+        this.sensorDataRepository = sensorDataRepository;
+        this.patientDirectory = patientDirectory;
+        this.pressureRiskEngine = pressureRiskEngine;
+        this.broadcaster = broadcaster;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLatest() {
+        try {
+            for (SensorDataRepository.LatestRow row : sensorDataRepository.findLatestPerPatient()) {
+                put(toReading(row));
+            }
+            log.info("병동 현황 최신 측정값 {}명 적재", latest.size());
+        } catch (Exception e) {
+            log.warn("병동 현황 최신 측정값 적재 실패: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onReadings(List<SensorReading> readings) {
+        for (SensorReading r : readings) {
+            put(r);
+            dirty.add(r.patientId());
+        }
+    }
+
+    /**
+     * 병동별 변경분 전송 (변경이 없는 병동은 보내지 않음)
+     */
+    @Scheduled(fixedRateString = "${ward.tick-ms:1000}", scheduler = SchedulingConfig.WARD_SCHEDULER)
+    public void tick() {
+        if (dirty.isEmpty()) return;
+        Map<String, List<WardPatientResponse>> byWard = new HashMap<>();
+        List<Long> unresolved = new ArrayList<>();
+        for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+            Long patientId = it.next();
+            it.remove();
+            // 표시를 지운 뒤 상태를 읽음 → 그 사이 들어온 측정값은 이번 또는 다음 tick 에 반영
+            PatientProfile p = patientDirectory.get(patientId);
+            if (p == null) {
+                // 프로필이 아직 없음(가입 직후 등) → 다음 tick 에 다시 (순회가 끝난 뒤 표시)
+                unresolved.add(patientId);
+                continue;
+            }
+            byWard.computeIfAbsent(p.ward(), w -> new ArrayList<>()).add(toResponse(p));
+        }
+        dirty.addAll(unresolved);
+
+        LocalDateTime now = LocalDateTime.now();
+        byWard.forEach((ward, patients) -> {
+            patients.sort(Comparator.comparing(WardPatientResponse::getPatientId));
+            WardUpdateResponse update = new WardUpdateResponse(ward,
+                    sequences.computeIfAbsent(ward, w -> new AtomicLong()).incrementAndGet(), now, patients);
+            broadcaster.publishSerializedNow(AlertEngine.WARD_TOPIC_PREFIX + ward, broadcaster.serialize(update));
+        });
+    }
+
+    /** 환자의 최신 측정값 (없으면 null) */
+    public SensorReading latest(Long patientId) {
+        return latest.get(patientId);
+    }
+
+    /**
+     * 병동 현황 (환자 PK 순)
+     * @param ward null 이면 전체 병동
+     */
+    public List<WardPatientResponse> overview(String ward) {
+        List<WardPatientResponse> out = new ArrayList<>();
+        for (PatientProfile p : patientDirectory.all()) {
+            if (ward == null || ward.equals(p.ward())) out.add(toResponse(p));
+        }
+        out.sort(Comparator.comparing(WardPatientResponse::getPatientId));
+        return out;
+    }
+
+    private static SensorReading toReading(SensorDataRepository.LatestRow row) {
+        return new SensorReading(row.getPatientId(),
+                row.getPressure() == null ? 0 : row.getPressure(),
+                row.getTemperature() == null ? 0 : row.getTemperature(),
+                row.getHumidity() == null ? 0 : row.getHumidity(),
+                row.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                Boolean.TRUE.equals(row.getPressureCalibrated()));
+    }
+
+    WardPatientResponse toResponse(PatientProfile p) {
+        SensorReading r = latest.get(p.patientId());
+        RiskScoreResponse risk = pressureRiskEngine.current(p.patientId());
+        return WardPatientResponse.builder()
+                .patientId(p.patientId())
+                .userId(p.userId())
+                .name(p.name())
+                .ward(p.ward())
+                .ageRange(p.ageRange())
+                .latest(r == null ? null : SensorDataResponse.from(r))
+                .risk(risk)
+                .build();
+    }
+
+    // 늦게 도착한(더 오래된) 측정값이 최신 값을 덮어쓰지 않도록
+    private void put(SensorReading r) {
+        latest.merge(r.patientId(), r, (old, cur) -> cur.timestamp() >= old.timestamp() ? cur : old);
+    }
+}
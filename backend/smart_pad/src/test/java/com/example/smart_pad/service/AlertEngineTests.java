@@ -0,0 +1,93 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.controller.dto.AlertResponse;
+import com.example.smart_pad.domain.RiskLevel;
+import com.example.smart_pad.domain.SensorReading;
+import com.example.smart_pad.repository.PatientDetailRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AlertEngineTests {
+
+	private static final long T0 = 1_700_000_000_000L;
+
+	private final SensorBroadcaster broadcaster = mock(SensorBroadcaster.class);
+	private final AlertEngine engine = new AlertEngine(broadcaster,
+			new PatientDirectory(mock(PatientDetailRepository.class)), new PressureUnits(1.0),
+			"no-relief:pressure>=32:2:HIGH", 5, 10);
+
+	@Test
+	void firesOnceAfterDurationAndResolvesAfterGrace() {
+		when(broadcaster.serialize(any())).thenReturn(new byte[]{'{', '}'});
+
+		engine.onReadings(List.of(reading(40, 0), reading(40, 60), reading(40, 119)));
+		assertTrue(engine.active(1L, null).isEmpty());
+
+		// 2분 경과 → 1번만 발생 (이후 측정값은 중복 제거)
+		engine.onReadings(List.of(reading(40, 120), reading(40, 121), reading(40, 180)));
+		List<AlertResponse> active = engine.active(1L, null);
+		assertEquals(1, active.size());
+		assertEquals("FIRING", active.get(0).getState());
+		assertEquals(RiskLevel.HIGH, active.get(0).getSeverity());
+		verify(broadcaster, times(1)).publishSerializedNow(eq("/topic/alerts/1"), any());
+		verify(broadcaster, times(1)).publishSerializedNow(eq("/topic/ward/default/alerts"), any());
+
+		// grace(10초) 안의 일시적인 해제는 무시
+		engine.onReadings(List.of(reading(0, 181), reading(40, 185)));
+		assertEquals(1, engine.active(1L, null).size());
+
+		engine.onReadings(List.of(reading(0, 190), reading(0, 200)));
+		assertTrue(engine.active(1L, null).isEmpty());
+		verify(broadcaster, times(2)).publishSerializedNow(eq("/topic/alerts/1"), any());
+
+		// cooldown(5분) 안에서는 조건이 다시 2분 이어져도 재발생하지 않음
+		engine.onReadings(List.of(reading(40, 210), reading(40, 340)));
+		assertTrue(engine.active(1L, null).isEmpty());
+		engine.onReadings(List.of(reading(40, 420)));
+		assertEquals(1, engine.active(1L, null).size());
+	}
+
+	@Test
+	void evictingAFiringPatientPublishesResolved() {
+		when(broadcaster.serialize(any())).thenReturn(new byte[]{'{', '}'});
+		ArgumentCaptor<AlertResponse> events = ArgumentCaptor.forClass(AlertResponse.class);
+
+		engine.onReadings(List.of(reading(40, 0), reading(40, 120)));
+		assertEquals(1, engine.active(1L, null).size());
+
+		// 측정값이 끊긴 채 유휴 정리 → 발생 중이던 알림을 RESOLVED 로 닫음
+		engine.evictIdle(System.currentTimeMillis() + 2 * 60 * 60_000L);
+		assertTrue(engine.active(1L, null).isEmpty());
+		verify(broadcaster, times(2)).serialize(events.capture());
+		assertEquals("RESOLVED", events.getAllValues().get(1).getState());
+		assertEquals(events.getAllValues().get(0).getId(), events.getAllValues().get(1).getId());
+		verify(broadcaster, times(2)).publishSerializedNow(eq("/topic/alerts/1"), any());
+
+		// 정리 후 다시 들어온 측정값은 새 상태에서 평가
+		engine.onReadings(List.of(reading(40, 7300), reading(40, 7420)));
+		assertEquals(1, engine.active(1L, null).size());
+	}
+
+	@Test
+	void rejectsMalformedRules() {
+		assertEquals(2, AlertRule.parseAll("a:humidity>=80:30, b:temperature<=30:5:LOW").size());
+		assertThrows(IllegalArgumentException.class, () -> AlertRule.parseAll("a:humidity>80:30"));
+		assertThrows(IllegalArgumentException.class, () -> AlertRule.parseAll("a:weight>=80:30"));
+	}
+
+	private static SensorReading reading(int pressure, int seconds) {
+		return new SensorReading(1L, pressure, 30, 50, T0 + seconds * 1000L);
+	}
+}
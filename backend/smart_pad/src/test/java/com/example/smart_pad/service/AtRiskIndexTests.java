@@ -0,0 +1,100 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.controller.dto.AtRiskPatientResponse;
+import com.example.smart_pad.controller.dto.RiskScoreResponse;
+import com.example.smart_pad.repository.PatientDetailRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class AtRiskIndexTests {
+
+	private final SensorBroadcaster broadcaster = mock(SensorBroadcaster.class);
+	private final AtRiskIndex index = new AtRiskIndex(new PatientDirectory(mock(PatientDetailRepository.class)), broadcaster);
+
+	@Test
+	void ranksByScoreThenLoadedTimeAndReordersOnUpdate() {
+		index.update(risk(1L, 40, 100));
+		index.update(risk(2L, 70, 10));
+		index.update(risk(3L, 40, 900));
+		index.tick();
+		assertEquals(List.of(2L, 3L, 1L), ids(index.top(10)));
+		assertEquals(1, index.top(1).size());
+
+		// 점수가 바뀐 환자만 다시 자리 잡음 (이전 항목은 남지 않음)
+		index.update(risk(1L, 90, 120));
+		index.update(risk(2L, 20, 0));
+		index.remove(3L);
+		index.tick();
+		assertEquals(List.of(1L, 2L), ids(index.top(10)));
+		assertEquals(1, index.top(10).get(0).getRank());
+
+		// 바뀐 것이 없으면 다시 보내지 않음
+		index.tick();
+		verify(broadcaster, times(2)).publish(eq(AtRiskIndex.AT_RISK_TOPIC), any());
+		index.remove(1L);
+		index.remove(2L);
+		index.tick();
+		assertTrue(index.top(5).isEmpty());
+	}
+
+	@Test
+	void concurrentUpdatesAndRemovesLeaveOneEntryPerPatient() throws Exception {
+		int threads = 4;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> done = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			int seed = t;
+			done.add(pool.submit(() -> {
+				Random random = new Random(seed);
+				start.await();
+				for (int i = 0; i < 20_000; i++) {
+					long id = 1 + random.nextInt(20);
+					if (random.nextInt(4) == 0) index.remove(id);
+					else index.update(risk(id, random.nextInt(100), random.nextInt(1000)));
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> f : done) f.get(30, TimeUnit.SECONDS);
+		pool.shutdown();
+
+		// 같은 환자의 갱신/삭제가 겹쳐도 순위에는 환자당 최대 1개
+		index.tick();
+		List<Long> ranked = ids(index.top(AtRiskIndex.MAX_LIMIT));
+		assertEquals(ranked.size(), new HashSet<>(ranked).size());
+		assertTrue(ranked.size() <= 20);
+
+		// 모두 삭제하면 남는 항목이 없어야 함 (이전 점수 항목이 순위에 새지 않음)
+		for (long id = 1; id <= 20; id++) index.remove(id);
+		index.update(risk(99L, 1, 0));
+		index.tick();
+		assertEquals(List.of(99L), ids(index.top(AtRiskIndex.MAX_LIMIT)));
+	}
+
+	private static List<Long> ids(List<AtRiskPatientResponse> top) {
+		return top.stream().map(AtRiskPatientResponse::getPatientId).toList();
+	}
+
+	private static RiskScoreResponse risk(Long patientId, int score, long loadedSeconds) {
+		return RiskScoreResponse.builder().patientId(patientId).score(score).loadedSeconds(loadedSeconds).build();
+	}
+}
@@ -0,0 +1,55 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.PressureFrame;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class FrameKernelTests {
+
+	@Test
+	void appliesOffsetGainAndTemperatureCompensation() {
+		// 셀 0: (500 - 100) * 0.1 = 40, 셀 1: offset 보다 작으면 0
+		FrameCalibration c = FrameCalibration.of(1, 2, new float[]{100, 100}, new float[]{0.1f, 0.1f}, 0.01f, 25f);
+		short[] cells = {500, 50};
+		PressureFrame.Stats stats = new ScalarFrameKernel().apply(cells, c, c.temperatureFactor(25f), 10, 32, cells);
+		assertArrayEquals(new short[]{40, 0}, cells);
+		assertEquals(40, stats.peak());
+		assertEquals(1, stats.closureArea());
+
+		// 기준보다 10°C 높으면 감도 10% 증가 → 값은 1/1.1 배
+		assertEquals(36, FrameCalibration.toMmHg(500, 100, 0.1f, c.temperatureFactor(35f)));
+	}
+
+	@Test
+	void vectorKernelMatchesScalar() {
+		// VectorFrameKernel 은 vector 소스 세트 → 애플리케이션과 같은 경로(리플렉션)로 로드
+		FrameKernel vector = PressureCalibrator.selectKernel(true);
+		assumeTrue(!(vector instanceof ScalarFrameKernel));
+		Random random = new Random(42);
+		FrameKernel scalar = new ScalarFrameKernel();
+
+		for (int[] size : new int[][]{{1, 1}, {3, 5}, {16, 16}, {32, 48}, {64, 64}}) {
+			int rows = size[0], cols = size[1], n = rows * cols;
+			float[] offset = new float[n], gain = new float[n];
+			short[] raw = new short[n];
+			for (int i = 0; i < n; i++) {
+				offset[i] = random.nextFloat() * 200;
+				gain[i] = 0.02f + random.nextFloat() * 0.2f;
+				raw[i] = (short) (random.nextInt(8) == 0 ? 65535 : random.nextInt(4096));
+			}
+			FrameCalibration c = FrameCalibration.of(rows, cols, offset, gain, 0.003f, 25f);
+			float factor = c.temperatureFactor(33.5f);
+
+			short[] a = new short[n], b = new short[n];
+			PressureFrame.Stats expected = scalar.apply(raw, c, factor, 10, 32, a);
+			PressureFrame.Stats actual = vector.apply(raw, c, factor, 10, 32, b);
+			assertArrayEquals(a, b);
+			assertEquals(expected, actual);
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.SensorReading;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class LatestReadingCacheTests {
+
+	private static final long T0 = 1_700_000_000_000L;
+
+	private final SensorDataService service = mock(SensorDataService.class);
+	private final LatestReadingCache cache = new LatestReadingCache(service, 4);
+
+	@Test
+	void cacheMissMergesHistoryBehindReadingsAppendedDuringLoad() {
+		// DB 이력을 읽는 동안 새 측정값(T0+10)이 커밋됨, 이력에는 이미 같은 시각 행이 포함
+		doAnswer(inv -> {
+			cache.onReadings(List.of(reading(10)));
+			return List.of(reading(10), reading(9), reading(8), reading(7), reading(6));
+		}).when(service).loadRecent(1L, 4);
+
+		List<SensorReading> latest = cache.latest(1L, 10);
+
+		// 새 측정값 + 그보다 오래된 이력만 (중복 없음, 용량 4)
+		assertEquals(List.of(T0 + 10, T0 + 9, T0 + 8, T0 + 7),
+				latest.stream().map(SensorReading::timestamp).toList());
+		// 이후 조회는 DB 를 다시 읽지 않고 새 측정값이 앞에 붙음
+		cache.onReadings(List.of(reading(11)));
+		assertEquals(T0 + 11, cache.latest(1L, 1).get(0).timestamp());
+		verify(service, times(1)).loadRecent(1L, 4);
+	}
+
+	@Test
+	void newReadingBumpsVersionAndWakesLongPollWaiters() {
+		CompletableFuture<Long> waiting = cache.awaitNewer(1L, 0);
+		CompletableFuture<Long> cancelled = cache.awaitNewer(1L, 0);
+		CompletableFuture<Long> otherPatient = cache.awaitNewer(2L, 0);
+		cache.cancelWait(1L, cancelled);
+		assertFalse(waiting.isDone());
+
+		cache.onReadings(List.of(reading(1)));
+
+		assertEquals(1L, cache.version(1L));
+		assertEquals(1L, waiting.getNow(null));
+		assertTrue(cancelled.isCancelled());
+		assertFalse(otherPatient.isDone());
+		// 이미 알고 있는 버전보다 새 값이 있으면 기다리지 않음, 같으면 다음 측정값까지 대기
+		assertEquals(1L, cache.awaitNewer(1L, 0).getNow(null));
+		assertFalse(cache.awaitNewer(1L, 1).isDone());
+	}
+
+	private static SensorReading reading(int offset) {
+		return new SensorReading(1L, offset, 30, 50, T0 + offset);
+	}
+}
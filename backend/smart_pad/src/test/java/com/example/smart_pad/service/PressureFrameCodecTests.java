@@ -0,0 +1,59 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.PressureFrame;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PressureFrameCodecTests {
+
+	@Test
+	void roundTripsSparseAndNoisyFrames() {
+		short[] sparse = new short[32 * 32];
+		for (int r = 10; r < 14; r++) {
+			for (int c = 8; c < 20; c++) sparse[r * 32 + c] = (short) (100 + r + c);
+		}
+		sparse[sparse.length - 1] = (short) 65535;
+		byte[] blob = PressureFrameCodec.encode(32, 32, sparse);
+		assertArrayEquals(sparse, PressureFrameCodec.decode(32, 32, blob));
+		// 대부분 0 인 프레임 → 원본(셀당 2바이트)보다 훨씬 작음
+		assertTrue(blob.length < sparse.length / 4);
+
+		short[] noisy = new short[16 * 8];
+		Random random = new Random(7);
+		for (int i = 0; i < noisy.length; i++) noisy[i] = (short) random.nextInt(65536);
+		assertArrayEquals(noisy, PressureFrameCodec.decode(16, 8, PressureFrameCodec.encode(16, 8, noisy)));
+
+		assertThrows(IllegalArgumentException.class, () -> PressureFrameCodec.decode(32, 16, blob));
+	}
+
+	@Test
+	void computesPeakCentreOfPressureAndContactArea() {
+		// 2x3, 오른쪽 아래로 압력이 몰린 프레임
+		short[] cells = {0, 0, 5, 0, 10, 30};
+		PressureFrame f = measure(cells);
+		assertEquals(30, f.peak());
+		assertEquals(45, f.total());
+		assertEquals(2, f.contactArea());
+		assertEquals(40.0 / 45, f.copRow(), 1e-9);
+		assertEquals((10 + 5 * 2 + 30 * 2) / 45.0, f.copCol(), 1e-9);
+		assertEquals(30, f.toReading().pressure());
+		assertEquals(1, f.closureArea());
+		assertEquals(7.5, f.mean(), 1e-9);
+
+		PressureFrame empty = measure(new short[6]);
+		assertTrue(Double.isNaN(empty.copRow()));
+		assertThrows(IllegalArgumentException.class,
+				() -> PressureFrame.of(1L, 0L, 2, 3, new short[5], 0, 0, false, new PressureFrame.Stats(0, 0, 0, 0, 0, 0)));
+	}
+
+	private static PressureFrame measure(short[] cells) {
+		PressureFrame.Stats stats = new ScalarFrameKernel().apply(cells, FrameCalibration.identity(2, 3), 1f, 10, 30, cells);
+		return PressureFrame.of(1L, 0L, 2, 3, cells, 30, 50, false, stats);
+	}
+}
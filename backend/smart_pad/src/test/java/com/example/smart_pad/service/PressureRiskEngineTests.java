@@ -0,0 +1,109 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.controller.dto.RiskScoreResponse;
+import com.example.smart_pad.domain.RiskLevel;
+import com.example.smart_pad.domain.SensorReading;
+import com.example.smart_pad.repository.PatientDetailRepository;
+import com.example.smart_pad.service.PatientDirectory.PatientProfile;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PressureRiskEngineTests {
+
+	private final AtRiskIndex atRiskIndex = mock(AtRiskIndex.class);
+	private final PressureRiskEngine engine = new PressureRiskEngine(
+			mock(SensorBroadcaster.class), new PatientDirectory(mock(PatientDetailRepository.class)),
+			atRiskIndex, new PressureUnits(1.0), 32, 10, 10);
+
+	@Test
+	void sustainedLoadRaisesRiskUntilOffloaded() {
+		long ts = 1_700_000_000_000L;
+		List<SensorReading> batch = new ArrayList<>();
+		// 2시간 동안 같은 하중, 35도 / 습도 75%
+		for (int i = 0; i <= 7200; i++) {
+			batch.add(new SensorReading(1L, 40, 35, 75, ts + i * 1000L));
+		}
+		engine.onReadings(batch);
+
+		RiskScoreResponse risk = engine.current(1L);
+		assertEquals(20, risk.getBraden()); // 프로필 조회 전: 모두 '중'
+		assertEquals(PressureRiskEngine.PRESSURE_MAX, risk.getPressure());
+		assertEquals(PressureRiskEngine.REPOSITION_MAX, risk.getReposition());
+		assertEquals(5, risk.getTemperature());
+		assertEquals(5, risk.getHumidity());
+		assertEquals(70, risk.getScore());
+		assertEquals(RiskLevel.HIGH, risk.getLevel());
+
+		// 하중 해제가 hold(10초) 동안 이어짐 → 연속 하중/자세 변경 항목 초기화
+		batch.clear();
+		for (int i = 1; i <= 11; i++) {
+			batch.add(new SensorReading(1L, 0, 35, 75, ts + (7200 + i) * 1000L));
+		}
+		engine.onReadings(batch);
+		risk = engine.current(1L);
+		assertEquals(0, risk.getPressure());
+		assertEquals(0, risk.getReposition());
+		assertEquals(0, risk.getLoadedSeconds());
+		assertEquals(30, risk.getScore());
+	}
+
+	@Test
+	void noiseAndIncreasesAreNotRepositions() {
+		long ts = 1_700_000_000_000L;
+		List<SensorReading> batch = new ArrayList<>();
+		for (int i = 0; i < 600; i++) {
+			int p = 45;
+			if (i == 100 || i == 101) p = 0;        // 짧은 하중 해제 잡음
+			if (i >= 200 && i < 260) p = 80;        // 압력 증가
+			if (i == 300 || i == 301) p = 25;       // 짧은 하락
+			if (i >= 400 && i < 405) p = 28;        // 해제 수준(25.6) 위 → 하중 유지
+			batch.add(new SensorReading(2L, p, 30, 50, ts + i * 1000L));
+		}
+		engine.onReadings(batch);
+		assertEquals(599, engine.current(2L).getSinceRepositionSeconds());
+		assertEquals(599, engine.current(2L).getLoadedSeconds());
+
+		// 기준선보다 낮은 하중이 hold 동안 이어짐 → 하중 이동 (시작 시각부터)
+		batch.clear();
+		for (int i = 600; i < 620; i++) {
+			batch.add(new SensorReading(2L, 34, 30, 50, ts + i * 1000L));
+		}
+		engine.onReadings(batch);
+		assertEquals(19, engine.current(2L).getSinceRepositionSeconds());
+		assertEquals(19, engine.current(2L).getLoadedSeconds());
+	}
+
+	@Test
+	void idleEvictionDropsTheIndexEntryAndNextReadingStartsFresh() {
+		long ts = 1_700_000_000_000L;
+		engine.onReadings(List.of(new SensorReading(3L, 40, 30, 50, ts)));
+
+		engine.evictIdle(System.currentTimeMillis() + 2 * 60 * 60_000L);
+		assertNull(engine.current(3L));
+		verify(atRiskIndex).remove(3L);
+
+		engine.onReadings(List.of(new SensorReading(3L, 40, 30, 50, ts + 1000)));
+		assertEquals(0, engine.current(3L).getLoadedSeconds());
+		verify(atRiskIndex, times(2)).update(any());
+	}
+
+	@Test
+	void bradenPointsFollowProfile() {
+		PatientProfile best = new PatientProfile(1L, 1L, "a", PatientDirectory.DEFAULT_WARD,
+				65.0, "21~40살", "최상", "최상", "최상");
+		assertEquals(0, PressureRiskEngine.bradenPoints(best));
+
+		PatientProfile worst = new PatientProfile(2L, 2L, "b", PatientDirectory.DEFAULT_WARD,
+				40.0, "81살 이상", "하", "하", "하");
+		assertEquals(PressureRiskEngine.BRADEN_MAX, PressureRiskEngine.bradenPoints(worst));
+	}
+}
@@ -0,0 +1,54 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.SensorReading;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SensorChunkCodecTests {
+
+	@Test
+	void roundTripsIrregularReadings() {
+		List<SensorReading> in = new ArrayList<>();
+		long ts = 1_700_000_000_000L;
+		for (int i = 0; i < 600; i++) {
+			ts += (i % 50 == 0) ? 1_337 : 1_000;
+			in.add(new SensorReading(3L, 40 + (i % 7) * 3, 31 - (i % 2), 55 + (i / 100), ts));
+		}
+		in.add(new SensorReading(3L, Integer.MIN_VALUE, Integer.MAX_VALUE, -1, ts + 1));
+
+		byte[] data = SensorChunkCodec.encode(in);
+
+		assertEquals(in, SensorChunkCodec.decode(3L, data));
+		// 1Hz 연속 측정값은 측정값당 몇 바이트 수준
+		assertTrue(data.length < in.size() * 6, "encoded size " + data.length);
+	}
+
+	@Test
+	void roundTripsEmptyAndRejectsTruncated() {
+		assertEquals(List.of(), SensorChunkCodec.decode(1L, SensorChunkCodec.encode(List.of())));
+
+		byte[] data = SensorChunkCodec.encode(List.of(new SensorReading(1L, 1, 2, 3, 4L)));
+		byte[] truncated = Arrays.copyOf(data, data.length - 1);
+		assertThrows(IllegalArgumentException.class, () -> SensorChunkCodec.decode(1L, truncated));
+	}
+
+	@Test
+	void keepsPressureUnitsAndReadsVersion1AsRaw() {
+		List<SensorReading> mixed = List.of(new SensorReading(1L, 40, 30, 50, 1_000L, true),
+				new SensorReading(1L, 400, 30, 50, 2_000L, false));
+		assertEquals(mixed, SensorChunkCodec.decode(1L, SensorChunkCodec.encode(mixed)));
+		List<SensorReading> calibrated = List.of(new SensorReading(1L, 40, 30, 50, 1_000L, true));
+		assertEquals(calibrated, SensorChunkCodec.decode(1L, SensorChunkCodec.encode(calibrated)));
+
+		// 버전 1: 단위 플래그 없음, timestamp 1000 / pressure 1, temperature 2, humidity 3 (zigzag)
+		byte[] v1 = {1, 1, (byte) 0xE8, 3, 0, 0, 0, 0, 0, 0, 2, 4, 6};
+		assertEquals(List.of(new SensorReading(1L, 1, 2, 3, 1_000L)), SensorChunkCodec.decode(1L, v1));
+	}
+}
@@ -0,0 +1,75 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.controller.dto.SensorAggregateResponse;
+import com.example.smart_pad.repository.PatientDetailRepository;
+import com.example.smart_pad.repository.SensorDataRepository;
+import com.example.smart_pad.repository.SensorDataRepository.BucketRow;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SensorDataServiceTests {
+
+	private static final LocalDateTime DAY = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+	private final SensorDataRepository repository = mock(SensorDataRepository.class);
+	private final SensorRollupService rollupService = mock(SensorRollupService.class);
+	private final SensorDataService service = new SensorDataService(repository, mock(PatientDetailRepository.class),
+			mock(EntityManager.class), rollupService, mock(SensorChunkService.class));
+
+	@Test
+	void aggregateRangeMergesRollupAndRawBucketsAcrossRolledUpTo() {
+		LocalDateTime from = DAY.plusHours(10).plusMinutes(7);
+		LocalDateTime to = DAY.plusHours(12).plusMinutes(30);
+		LocalDateTime rolledUpTo = DAY.plusHours(12).plusMinutes(10);
+		LocalDateTime origin = DAY.plusHours(10);
+		when(rollupService.getPressureThreshold()).thenReturn(32);
+		when(rollupService.getRawPressureThreshold()).thenReturn(32);
+		when(rollupService.rolledUpTo()).thenReturn(rolledUpTo);
+		// 집계 테이블: 10시 구간, 12시 구간 앞부분 (12:10 까지)
+		when(rollupService.aggregate(ChronoUnit.HOURS, 1L, origin, origin, rolledUpTo, 3600, 100))
+				.thenReturn(List.of(row(0, 2, 10, 20, 15.0, 0), row(2, 1, 30, 30, 30.0, 0)));
+		// 원본: 아직 집계되지 않은 12:10 ~ 12:30
+		when(repository.aggregateBuckets(1L, origin, rolledUpTo, to, 3600, 32, 32, 100))
+				.thenReturn(List.of(row(2, 3, 40, 60, 50.0, 3)));
+
+		List<SensorAggregateResponse> out = service.aggregateRange(1L, from, to, 3600, 100);
+
+		assertEquals(2, out.size());
+		assertEquals(origin, out.get(0).getFrom());
+		assertEquals(2, out.get(0).getCount());
+		SensorAggregateResponse merged = out.get(1);
+		assertEquals(DAY.plusHours(12), merged.getFrom());
+		assertEquals(to, merged.getTo());
+		assertEquals(4, merged.getCount());
+		assertEquals(30, merged.getPressureMin());
+		assertEquals(60, merged.getPressureMax());
+		// 건수 가중 평균: (30*1 + 50*3) / 4
+		assertEquals(45.0, merged.getPressureAvg(), 1e-9);
+		assertEquals(3L, merged.getPressureHighCount());
+	}
+
+	private static BucketRow row(long index, long cnt, int pMin, int pMax, double pAvg, long high) {
+		return new BucketRow() {
+			public Long getBucketIndex() { return index; }
+			public Long getCnt() { return cnt; }
+			public Integer getPressureMin() { return pMin; }
+			public Integer getPressureMax() { return pMax; }
+			public Double getPressureAvg() { return pAvg; }
+			public Integer getTemperatureMin() { return 30; }
+			public Integer getTemperatureMax() { return 30; }
+			public Double getTemperatureAvg() { return 30.0; }
+			public Integer getHumidityMin() { return 50; }
+			public Integer getHumidityMax() { return 50; }
+			public Double getHumidityAvg() { return 50.0; }
+			public Long getPressureHighCount() { return high; }
+		};
+	}
+}
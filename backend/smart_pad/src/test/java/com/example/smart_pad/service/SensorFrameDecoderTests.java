@@ -0,0 +1,49 @@
+package com.example.smart_pad.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SensorFrameDecoderTests {
+
+	private static byte[] frame(long deviceId, long seq, long ts, int pressure, int tempCenti, int humCenti) {
+		return ByteBuffer.allocate(SensorFrameDecoder.FRAME_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+				.put((byte) SensorFrameDecoder.VERSION)
+				.put((byte) 0)
+				.putShort((short) pressure)
+				.putInt((int) deviceId)
+				.putInt((int) seq)
+				.putLong(ts)
+				.putShort((short) tempCenti)
+				.putShort((short) humCenti)
+				.array();
+	}
+
+	@Test
+	void decodesConsecutiveFrames() {
+		byte[] a = frame(7, 4_000_000_000L, 1_700_000_000_123L, 4095, -512, 6543);
+		byte[] b = frame(8, 1, 0, 0, 2310, 0);
+		byte[] body = ByteBuffer.allocate(a.length + b.length).put(a).put(b).array();
+
+		List<long[]> out = new ArrayList<>();
+		int n = SensorFrameDecoder.decode(body, (deviceId, seq, ts, p, t, h) ->
+				out.add(new long[] {deviceId, seq, ts, p, t, h}));
+
+		assertEquals(2, n);
+		assertArrayEquals(new long[] {7, 4_000_000_000L, 1_700_000_000_123L, 4095, -512, 6543}, out.get(0));
+		assertArrayEquals(new long[] {8, 1, 0, 0, 2310, 0}, out.get(1));
+	}
+
+	@Test
+	void rejectsPartialFrame() {
+		assertThrows(IllegalArgumentException.class,
+				() -> SensorFrameDecoder.decode(new byte[SensorFrameDecoder.FRAME_SIZE + 1], (d, s, t, p, tc, hc) -> { }));
+	}
+}
@@ -0,0 +1,75 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.SensorReading;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class SensorIngestPipelineTests {
+
+	@Test
+	void failedBatchDropsOnlyTheOffendingRows() {
+		SensorDataService service = mock(SensorDataService.class);
+		// 환자 99 는 삭제된 환자 → 포함된 배치는 FK 위반
+		doAnswer(inv -> {
+			List<SensorReading> batch = inv.getArgument(0);
+			if (batch.stream().anyMatch(r -> r.patientId() == 99L)) {
+				throw new DataIntegrityViolationException("fk");
+			}
+			return batch.size();
+		}).when(service).saveBatch(anyList());
+
+		List<SensorReading> committed = Collections.synchronizedList(new ArrayList<>());
+		SensorIngestPipeline pipeline = new SensorIngestPipeline(service, List.of(committed::addAll),
+				1000, 1, 500, 5000, 3, 1);
+
+		List<SensorReading> readings = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			readings.add(new SensorReading(i % 10 == 7 ? 99L : 1L, i, 30, 50, 1_700_000_000_000L + i));
+		}
+		pipeline.start();
+		assertEquals(100, pipeline.offerAll(readings));
+		pipeline.stop();
+
+		assertEquals(90, committed.size());
+		assertTrue(committed.stream().allMatch(r -> r.patientId() == 1L));
+		assertEquals(10, pipeline.dropped());
+	}
+
+	@Test
+	void transientFailureRetriesTheWholeBatch() {
+		SensorDataService service = mock(SensorDataService.class);
+		// 처음 두 번은 일시적 오류 (잠금 대기 시간 초과 등)
+		AtomicInteger calls = new AtomicInteger();
+		doAnswer(inv -> {
+			if (calls.incrementAndGet() <= 2) throw new QueryTimeoutException("timeout");
+			return inv.<List<SensorReading>>getArgument(0).size();
+		}).when(service).saveBatch(anyList());
+
+		List<SensorReading> committed = Collections.synchronizedList(new ArrayList<>());
+		SensorIngestPipeline pipeline = new SensorIngestPipeline(service, List.of(committed::addAll),
+				1000, 1, 500, 5000, 3, 1);
+
+		List<SensorReading> readings = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			readings.add(new SensorReading(1L, i, 30, 50, 1_700_000_000_000L + i));
+		}
+		pipeline.start();
+		assertEquals(20, pipeline.offerAll(readings));
+		pipeline.stop();
+
+		assertEquals(20, committed.size());
+		assertEquals(0, pipeline.dropped());
+	}
+}
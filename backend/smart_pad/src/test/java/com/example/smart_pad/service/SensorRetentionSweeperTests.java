@@ -0,0 +1,73 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.repository.SensorDataRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SensorRetentionSweeperTests {
+
+	private final SensorDataRepository repository = mock(SensorDataRepository.class);
+	private final SensorRollupService rollupService = mock(SensorRollupService.class);
+	private final SensorChunkService chunkService = mock(SensorChunkService.class);
+	private final SensorPartitionManager partitionManager = mock(SensorPartitionManager.class);
+
+	@Test
+	void deletesBeforeTheLaterOfAgeAndCountBoundaryCappedAtRollup() {
+		LocalDateTime start = LocalDateTime.now();
+		// 집계는 5분 전까지 (유예)
+		LocalDateTime rolledUpTo = start.minusMinutes(5);
+		when(rollupService.rollUp(any())).thenReturn(new SensorRollupService.RollupResult(0, 0, rolledUpTo));
+		when(repository.findDistinctPatientIds()).thenReturn(List.of(1L, 2L, 3L));
+		// 환자 1: 600번째 최신 행이 7분 전 → 개수 기준 경계
+		LocalDateTime nth1 = start.minusMinutes(7);
+		when(repository.findTimestampsDesc(1L, PageRequest.of(599, 1))).thenReturn(List.of(nth1));
+		// 환자 2: 600번째 최신 행이 3분 전 → 집계 경계(5분 전)로 제한
+		when(repository.findTimestampsDesc(2L, PageRequest.of(599, 1))).thenReturn(List.of(start.minusMinutes(3)));
+		// 환자 3: 600개 미만 → 시간 기준 경계(10분 전)
+		when(repository.findTimestampsDesc(3L, PageRequest.of(599, 1))).thenReturn(List.of());
+
+		sweeper(600).sweep();
+		LocalDateTime end = LocalDateTime.now();
+
+		verify(repository).deleteChunkBefore(1L, nth1, 1000);
+		verify(repository).deleteChunkBefore(2L, rolledUpTo, 1000);
+		ArgumentCaptor<LocalDateTime> before = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(repository).deleteChunkBefore(eq(3L), before.capture(), eq(1000));
+		assertFalse(before.getValue().isBefore(start.minusMinutes(10)));
+		assertFalse(before.getValue().isAfter(end.minusMinutes(10)));
+	}
+
+	@Test
+	void keepsEverythingUntilRolledUpAndClampsMaxKeep() {
+		when(rollupService.rollUp(any())).thenReturn(new SensorRollupService.RollupResult(0, 0, null));
+		when(repository.findDistinctPatientIds()).thenReturn(List.of(1L));
+		when(repository.findTimestampsDesc(eq(1L), any())).thenReturn(List.of());
+
+		SensorRetentionSweeper.SweepResult result = sweeper(0).sweep();
+
+		assertEquals(1, result.patients());
+		assertEquals(0, result.rowsDeleted());
+		// max-keep=0 이어도 PageRequest 는 0번째 페이지부터
+		verify(repository).findTimestampsDesc(1L, PageRequest.of(0, 1));
+		verify(repository, never()).deleteChunkBefore(anyLong(), any(), anyInt());
+	}
+
+	private SensorRetentionSweeper sweeper(int maxKeep) {
+		return new SensorRetentionSweeper(repository, rollupService, chunkService, partitionManager, 10, maxKeep, 1000);
+	}
+}
@@ -0,0 +1,63 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.SensorReading;
+import com.example.smart_pad.repository.SensorDataRepository;
+import com.example.smart_pad.repository.SensorRollupHourRepository;
+import com.example.smart_pad.repository.SensorRollupMinuteRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SensorRollupServiceTests {
+
+	private static final LocalDateTime NOON = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+	private final SensorDataRepository sensorDataRepository = mock(SensorDataRepository.class);
+	private final SensorRollupMinuteRepository minuteRepository = mock(SensorRollupMinuteRepository.class);
+	private final SensorRollupHourRepository hourRepository = mock(SensorRollupHourRepository.class);
+	private final SensorRollupService rollupService = new SensorRollupService(sensorDataRepository,
+			minuteRepository, hourRepository, new PressureUnits(1.0), 32, 7, 365, 1000, 5);
+
+	@Test
+	void rollsUpOnlyMinutesThatEndedBeforeTheGrace() {
+		when(sensorDataRepository.findMinTimestamp()).thenReturn(NOON.minusMinutes(2).plusSeconds(20));
+
+		// 12:07:30 → 12:02 까지만 (현재 분 - 5분 유예)
+		assertEquals(NOON.plusMinutes(2), rollupService.rollUp(NOON.plusMinutes(7).plusSeconds(30)).rolledUpTo());
+		verify(minuteRepository).rollUpRaw(NOON.minusMinutes(2), NOON.plusMinutes(2), 32, 32);
+		verify(hourRepository).rollUpMinutes(NOON.minusHours(1), NOON.plusMinutes(2));
+
+		// 같은 분 안에서는 경계가 그대로 → 다시 집계하지 않음
+		assertEquals(NOON.plusMinutes(2), rollupService.rollUp(NOON.plusMinutes(7).plusSeconds(50)).rolledUpTo());
+		verify(minuteRepository, times(1)).rollUpRaw(any(), any(), anyInt(), anyInt());
+
+		assertEquals(NOON.plusMinutes(4), rollupService.rollUp(NOON.plusMinutes(9)).rolledUpTo());
+		verify(minuteRepository).rollUpRaw(NOON.plusMinutes(2), NOON.plusMinutes(4), 32, 32);
+		assertEquals(NOON.plusMinutes(4), rollupService.rolledUpTo());
+	}
+
+	@Test
+	void countsOnlyReadingsArrivingBehindTheWatermark() {
+		when(sensorDataRepository.findMinTimestamp()).thenReturn(NOON);
+		rollupService.rollUp(NOON.plusMinutes(10));
+
+		// 경계(12:05) 이전 = 이미 집계된 분에 늦게 도착, 유예 안(12:05 이후)은 다음 집계에 포함
+		rollupService.onReadings(List.of(reading(NOON.plusMinutes(4)), reading(NOON.plusMinutes(6))));
+
+		assertEquals(1, rollupService.lateReadings());
+	}
+
+	private static SensorReading reading(LocalDateTime at) {
+		return new SensorReading(1L, 40, 30, 50, at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.controller.dto.WardUpdateResponse;
+import com.example.smart_pad.domain.PatientDetail;
+import com.example.smart_pad.domain.SensorReading;
+import com.example.smart_pad.repository.PatientDetailRepository;
+import com.example.smart_pad.repository.SensorDataRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WardSnapshotTests {
+
+	private static final long T0 = 1_700_000_000_000L;
+
+	private final SensorBroadcaster broadcaster = mock(SensorBroadcaster.class);
+	private final PatientDirectory directory = new PatientDirectory(mock(PatientDetailRepository.class));
+	private final WardSnapshot snapshot = new WardSnapshot(mock(SensorDataRepository.class), directory,
+			mock(PressureRiskEngine.class), broadcaster);
+
+	@Test
+	void publishesOneConflatedDiffPerWardPerTick() {
+		directory.update(patient(1L, "A"));
+		directory.update(patient(2L, "A"));
+		directory.update(patient(3L, "B"));
+		ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+		when(broadcaster.serialize(payloads.capture())).thenReturn(new byte[]{'{', '}'});
+
+		// 한 tick 안의 여러 측정값 → 환자별 최신 1개, 병동별 메시지 1개
+		snapshot.onReadings(List.of(reading(1L, 10, 0), reading(1L, 20, 1), reading(3L, 30, 1)));
+		snapshot.onReadings(List.of(reading(1L, 15, 0)));
+		snapshot.tick();
+
+		verify(broadcaster, times(1)).publishSerializedNow(eq("/topic/ward/A"), any());
+		verify(broadcaster, times(1)).publishSerializedNow(eq("/topic/ward/B"), any());
+		WardUpdateResponse a = payloads.getAllValues().stream().map(WardUpdateResponse.class::cast)
+				.filter(u -> u.getWard().equals("A")).findFirst().orElseThrow();
+		assertEquals(1, a.getSeq());
+		assertEquals(1, a.getPatients().size());
+		assertEquals(20, a.getPatients().get(0).getLatest().getPressure());
+
+		// 변경이 없으면 전송하지 않음
+		snapshot.tick();
+		verify(broadcaster, times(2)).publishSerializedNow(anyString(), any());
+		assertEquals(3, snapshot.overview(null).size());
+		assertEquals(2, snapshot.overview("A").size());
+		verify(broadcaster, never()).publishSerialized(anyString(), any());
+	}
+
+	@Test
+	void keepsPatientDirtyUntilItsProfileIsKnown() {
+		when(broadcaster.serialize(any())).thenReturn(new byte[]{'{', '}'});
+
+		// 프로필이 아직 없는 환자 → 이번 tick 은 보내지 않고 다음 tick 에 다시
+		snapshot.onReadings(List.of(reading(5L, 40, 0)));
+		snapshot.tick();
+		verify(broadcaster, never()).publishSerializedNow(anyString(), any());
+
+		directory.update(patient(5L, "C"));
+		snapshot.tick();
+		verify(broadcaster, times(1)).publishSerializedNow(eq("/topic/ward/C"), any());
+	}
+
+	private static PatientDetail patient(Long id, String ward) {
+		PatientDetail d = new PatientDetail();
+		d.setId(id);
+		d.setWard(ward);
+		return d;
+	}
+
+	private static SensorReading reading(Long patientId, int pressure, int seconds) {
+		return new SensorReading(patientId, pressure, 30, 50, T0 + seconds * 1000L);
+	}
+}
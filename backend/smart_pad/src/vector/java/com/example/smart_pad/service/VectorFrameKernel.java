@@ -0,0 +1,74 @@
+package com.example.smart_pad.service;
+
+import com.example.smart_pad.domain.PressureFrame;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * JDK Vector API 보정 커널
+ * - 레인 수만큼 셀을 한 번에: u16 → int → float, (raw - offset) * gain * k, 0~65535 로 자르고 반올림 → int → u16 저장
+ * - 같은 루프에서 최대값/합계는 벡터 누적, 압력 중심 모멘트/접촉·폐쇄 셀 수는 반복마다 축약
+ * - 연산 순서가 스칼라 경로와 같아 결과가 비트 단위로 같음 (FMA 미사용)
+ * - 이 클래스는 jdk.incubator.vector 모듈이 있을 때만 리플렉션으로 로드 (PressureCalibrator 참고)
+ * - vector 소스 세트에서 따로 컴파일 (--add-modules 는 이 파일 컴파일에만 적용, build.gradle 참고)
+ */
+final class VectorFrameKernel implements FrameKernel {
+
+    private static final VectorSpecies<Float> F = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> I = IntVector.SPECIES_PREFERRED;
+    // float 와 같은 레인 수의 short (비트 폭 절반)
+    private static final VectorSpecies<Short> S =
+            VectorSpecies.of(short.class, VectorShape.forBitSize(F.vectorBitSize() / 2));
+
+    /** 레인이 4개 미만이면 스칼라보다 이득이 없음 */
+    static boolean supported() {
+        return F.length() >= 4 && F.length() == I.length() && F.length() == S.length();
+    }
+
+    @Override
+    public PressureFrame.Stats apply(short[] raw, FrameCalibration c, float factor,
+                                     int contactThreshold, int closureThreshold, short[] out) {
+        int n = raw.length;
+        int upper = F.loopBound(n);
+        IntVector peak = IntVector.zero(I);
+        IntVector total = IntVector.zero(I);
+        Accumulator acc = new Accumulator();
+
+        int i = 0;
+        for (; i < upper; i += F.length()) {
+            IntVector r = ((IntVector) ShortVector.fromArray(S, raw, i).convertShape(VectorOperators.S2I, I, 0))
+                    .and(0xFFFF);
+            FloatVector v = ((FloatVector) r.convert(VectorOperators.I2F, 0))
+                    .sub(FloatVector.fromArray(F, c.offset, i))
+                    .mul(FloatVector.fromArray(F, c.gain, i))
+                    .mul(factor)
+                    .max(0f)
+                    .min(65535f)
+                    .add(0.5f);
+            IntVector mm = (IntVector) v.convert(VectorOperators.F2I, 0);
+            ((ShortVector) mm.convertShape(VectorOperators.I2S, S, 0)).intoArray(out, i);
+
+            peak = peak.max(mm);
+            // 레인당 최대 (4096 / 레인 수) × 65535 → int 범위 안
+            total = total.add(mm);
+            acc.rowMoment += mm.mul(IntVector.fromArray(I, c.rowIndex, i)).reduceLanesToLong(VectorOperators.ADD);
+            acc.colMoment += mm.mul(IntVector.fromArray(I, c.colIndex, i)).reduceLanesToLong(VectorOperators.ADD);
+            acc.contactArea += mm.compare(VectorOperators.GE, contactThreshold).trueCount();
+            acc.closureArea += mm.compare(VectorOperators.GE, closureThreshold).trueCount();
+        }
+        acc.peak = peak.reduceLanes(VectorOperators.MAX);
+        acc.total = total.reduceLanesToLong(VectorOperators.ADD);
+
+        FrameKernel.scalar(raw, c, factor, contactThreshold, closureThreshold, out, i, n, acc);
+        return acc.toStats();
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + F.length() + "x32";
+    }
+}